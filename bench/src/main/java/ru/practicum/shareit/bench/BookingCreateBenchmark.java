@@ -0,0 +1,107 @@
+package ru.practicum.shareit.bench;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.item.model.Item;
+
+/**
+ * Создание бронирования с разными способами логирования, память на операцию показывает {@code -prof gc}.
+ * {@code entity} повторяет прежнюю строку лога с {@code toString} бронирования, {@code audit} пишет
+ * журнал аудита с идентификаторами для каждого запроса, {@code sampled} - для 1% запросов.
+ * Сообщения выводятся в консоль, поэтому вывод стоит перенаправить:
+ * {@code java -jar benchmarks.jar BookingCreateBenchmark -prof gc -rf json > /dev/null}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BookingCreateBenchmark {
+    private static final Long USER_ID = 1L;
+
+    private static final int USERS = 100;
+
+    private static final Logger ENTITY_LOG = LoggerFactory.getLogger(BookingServiceImpl.class);
+
+    @Param({"entity", "audit", "sampled"})
+    private String logging;
+
+    private ConfigurableApplicationContext context;
+
+    private BookingService bookingService;
+
+    private List<Long> itemIds;
+
+    private LocalDateTime start;
+
+    private long invocations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ShareItContext.start("create" + logging,
+                "logging.level.ru.practicum.shareit.audit=INFO",
+                "shareit.audit.sample-rate=" + sampleRate());
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Dataset.seed(jdbcTemplate, USERS);
+        itemIds = jdbcTemplate.queryForList("select id from items where is_available and owner_id <> ?",
+                Long.class, USER_ID);
+        bookingService = context.getBean(BookingService.class);
+        start = LocalDateTime.now().plusYears(1).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Booking create() {
+        long invocation = invocations++;
+        LocalDateTime bookingStart = start.plusDays(invocation / itemIds.size() * 2);
+        Booking booking = Booking.builder()
+                .start(bookingStart)
+                .end(bookingStart.plusDays(1))
+                .status(BookingStatus.WAITING)
+                .item(Item.builder().id(itemIds.get((int) (invocation % itemIds.size()))).build())
+                .build();
+        if ("entity".equals(logging)) {
+            ENTITY_LOG.info("Добавление бронирования {} пользователем с id = {}", booking, USER_ID);
+        }
+        return bookingService.create(USER_ID, booking);
+    }
+
+    private String sampleRate() {
+        switch (logging) {
+            case "audit":
+                return "1.0";
+            case "sampled":
+                return "0.01";
+            default:
+                return "0.0";
+        }
+    }
+}
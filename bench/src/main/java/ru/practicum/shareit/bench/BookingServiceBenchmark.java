@@ -0,0 +1,73 @@
+package ru.practicum.shareit.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingService;
+
+/**
+ * Получение списков бронирований арендатора и владельца для каждого {@code BookingState}
+ * по датам и по денормализованной фазе жизненного цикла.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BookingServiceBenchmark {
+    private static final Long USER_ID = 1L;
+
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"100", "1000"})
+    private int users;
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    private String state;
+
+    @Param({"false", "true"})
+    private boolean phase;
+
+    private ConfigurableApplicationContext context;
+
+    private BookingService bookingService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ShareItContext.start("booking" + users + phase,
+                "shareit.booking.lifecycle-phase.enabled=" + phase);
+        Dataset.seed(context.getBean(JdbcTemplate.class), users);
+        bookingService = context.getBean(BookingService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Booking> getAllByBookerId() {
+        return bookingService.getAllByBookerId(USER_ID, state, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Booking> getAllByOwnerId() {
+        return bookingService.getAllByOwnerId(USER_ID, state, 0, PAGE_SIZE);
+    }
+}
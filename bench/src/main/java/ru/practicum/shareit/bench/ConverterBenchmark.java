@@ -0,0 +1,91 @@
+package ru.practicum.shareit.bench;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.internal.BookingModel;
+import ru.practicum.shareit.booking.mapper.BookingConverter;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemWithBookingView;
+import ru.practicum.shareit.item.internal.CommentModel;
+import ru.practicum.shareit.item.internal.ItemModel;
+import ru.practicum.shareit.item.mapper.ItemModelConverter;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+/**
+ * Конвертация страниц ответа через {@link BookingConverter} и {@link ItemModelConverter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private BookingConverter bookingConverter;
+
+    private ItemModelConverter itemModelConverter;
+
+    private List<Booking> bookings;
+
+    private List<ItemModel> itemModels;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bookingConverter = Mappers.getMapper(BookingConverter.class);
+        itemModelConverter = Mappers.getMapper(ItemModelConverter.class);
+
+        LocalDateTime now = LocalDateTime.now();
+        bookings = new ArrayList<>(pageSize);
+        itemModels = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            User user = User.builder().id(id).name("user " + id).email("user" + id + "@mail.ru").build();
+            Item item = Item.builder().id(id).name("item " + id).description("description " + id)
+                    .available(true).owner(user).build();
+            bookings.add(Booking.builder().id(id).start(now.plusDays(id)).end(now.plusDays(id + 1))
+                    .item(item).booker(user).status(BookingStatus.APPROVED).build());
+            itemModels.add(ItemModel.builder()
+                    .id(id)
+                    .name(item.getName())
+                    .description(item.getDescription())
+                    .available(true)
+                    .lastBooking(BookingModel.builder().id(id).bookerId(id).start(now.minusDays(id))
+                            .end(now.minusDays(id - 1)).build())
+                    .nextBooking(BookingModel.builder().id(id + 1).bookerId(id).start(now.plusDays(id))
+                            .end(now.plusDays(id + 1)).build())
+                    .comments(List.of(CommentModel.builder().id(id).text("comment " + id)
+                            .authorName(user.getName()).creationDate(now).build()))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<BookingView> bookingConverter() {
+        return bookingConverter.convert(bookings);
+    }
+
+    @Benchmark
+    public List<ItemWithBookingView> itemModelConverter() {
+        return itemModelConverter.convert(itemModels);
+    }
+}
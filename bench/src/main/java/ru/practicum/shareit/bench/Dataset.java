@@ -0,0 +1,108 @@
+package ru.practicum.shareit.bench;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.BookingPhase;
+
+/**
+ * Детерминированный набор данных для бенчмарков: пользователи, их вещи, бронирования, запросы и отзывы.
+ * Размер задается числом пользователей, остальные сущности масштабируются от него.
+ */
+public final class Dataset {
+    public static final int ITEMS_PER_USER = 10;
+
+    public static final int BOOKINGS_PER_ITEM = 10;
+
+    public static final int REQUESTS_PER_USER = 3;
+
+    public static final int COMMENTS_PER_ITEM = 2;
+
+    private static final String[] ADJECTIVES = {"cordless", "electric", "heavy", "compact", "vintage", "folding",
+            "portable", "steel", "wooden", "inflatable", "camping", "garden", "kids", "professional", "spare"};
+
+    private static final String[] NOUNS = {"drill", "saw", "ladder", "tent", "kayak", "projector", "bicycle",
+            "hammer", "screwdriver", "grill", "speaker", "camera", "scooter", "vacuum", "sander", "table", "chair",
+            "guitar", "telescope", "sleeping bag"};
+
+    private static final String[] STATUSES = {"APPROVED", "APPROVED", "WAITING", "APPROVED", "REJECTED"};
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private Dataset() {
+    }
+
+    public static String itemName(Random random) {
+        return ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)];
+    }
+
+    public static String itemDescription(Random random, long id) {
+        return "Rent a " + itemName(random) + " for the weekend, item #" + id;
+    }
+
+    public static void seed(JdbcTemplate jdbcTemplate, int users) {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        insert(jdbcTemplate, "insert into users (id, name, email) values (?, ?, ?)", users,
+                id -> new Object[]{id, "user " + id, "user" + id + "@mail.ru"});
+
+        int requests = users * REQUESTS_PER_USER;
+        insert(jdbcTemplate, "insert into requests (id, description, requestor_id, creation_date) " +
+                "values (?, ?, ?, ?)", requests,
+                id -> new Object[]{id, "Need a " + itemName(random), (id - 1) / REQUESTS_PER_USER + 1,
+                        Timestamp.valueOf(now.minusHours(id))});
+
+        int items = users * ITEMS_PER_USER;
+        insert(jdbcTemplate, "insert into items (id, name, description, is_available, owner_id, request_id) " +
+                "values (?, ?, ?, ?, ?, ?)", items,
+                id -> new Object[]{id, itemName(random), itemDescription(random, id), random.nextInt(10) > 0,
+                        (id - 1) / ITEMS_PER_USER + 1, id % 4 == 0 ? random.nextInt(requests) + 1 : null});
+
+        insert(jdbcTemplate, "insert into bookings (id, start_date, end_date, item_id, booker_id, status, " +
+                "lifecycle_phase) values (?, ?, ?, ?, ?, ?, ?)", items * BOOKINGS_PER_ITEM,
+                id -> {
+                    long slot = (id - 1) % BOOKINGS_PER_ITEM - BOOKINGS_PER_ITEM / 2;
+                    LocalDateTime start = now.plusDays(slot * 3).plusHours(random.nextInt(24));
+                    LocalDateTime end = start.plusDays(2);
+                    return new Object[]{id, Timestamp.valueOf(start), Timestamp.valueOf(end),
+                            (id - 1) / BOOKINGS_PER_ITEM + 1, random.nextInt(users) + 1,
+                            STATUSES[random.nextInt(STATUSES.length)], BookingPhase.of(start, end, now).name()};
+                });
+
+        insert(jdbcTemplate, "insert into comments (id, text, item_id, author_id, creation_date) " +
+                "values (?, ?, ?, ?, ?)", items * COMMENTS_PER_ITEM,
+                id -> new Object[]{id, "Comment #" + id, (id - 1) / COMMENTS_PER_ITEM + 1, random.nextInt(users) + 1,
+                        Timestamp.valueOf(now.minusDays(1))});
+
+        restartSequence(jdbcTemplate, "user_seq", users);
+        restartSequence(jdbcTemplate, "item_request_seq", requests);
+        restartSequence(jdbcTemplate, "item_seq", items);
+        restartSequence(jdbcTemplate, "booking_seq", (long) items * BOOKINGS_PER_ITEM);
+        restartSequence(jdbcTemplate, "comment_seq", (long) items * COMMENTS_PER_ITEM);
+    }
+
+    private static void restartSequence(JdbcTemplate jdbcTemplate, String sequence, long lastId) {
+        jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (lastId + 1));
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, String sql, long count, RowSupplier rows) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= count; id++) {
+            batch.add(rows.get(id));
+            if (batch.size() == BATCH_SIZE || id == count) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowSupplier {
+        Object[] get(long id);
+    }
+}
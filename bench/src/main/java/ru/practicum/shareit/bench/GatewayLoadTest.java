@@ -0,0 +1,271 @@
+package ru.practicum.shareit.bench;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Нагрузочный тест шлюза в обычном (Tomcat, поток платформы на запрос), виртуальном (Tomcat,
+ * {@code shareit.threads.mode=virtual}, нужна Java 21) и реактивном (Netty, профиль {@code reactive}) режимах.
+ * Для каждого режима собранный jar шлюза запускается той же JVM, сервер имитируется неблокирующей заглушкой
+ * с задержкой ответа, клиенты держат заданное число одновременных соединений и шлют запросы друг за другом.
+ * Печатаются p50/p99/max задержки и число потоков шлюза до и во время нагрузки по {@code jvm.threads.live}
+ * из actuator.
+ * <pre>
+ * java -cp bench/target/benchmarks.jar ru.practicum.shareit.bench.GatewayLoadTest \
+ *     [jar шлюза] [соединений = 5000] [запросов на соединение = 20] [задержка сервера, мс = 100]
+ * </pre>
+ * Шлюзу нужно по файловому дескриптору на входящее и исходящее соединение, заглушке и клиентам - столько же:
+ * перед запуском на 5000 соединений проверьте {@code ulimit -n}.
+ */
+public class GatewayLoadTest {
+    private static final String ITEM_JSON = "{\"id\":1,\"name\":\"drill\",\"description\":\"cordless\"," +
+            "\"available\":true,\"requestId\":null,\"comments\":[],\"lastBooking\":null,\"nextBooking\":null}";
+
+    private static final int STUB_PORT = 19090;
+
+    private static final int GATEWAY_PORT = 18080;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient management = HttpClient.newHttpClient();
+
+    private final String gatewayJar;
+
+    private final int connections;
+
+    private final int requestsPerConnection;
+
+    private final Duration serverDelay;
+
+    GatewayLoadTest(String gatewayJar, int connections, int requestsPerConnection, Duration serverDelay) {
+        this.gatewayJar = gatewayJar;
+        this.connections = connections;
+        this.requestsPerConnection = requestsPerConnection;
+        this.serverDelay = serverDelay;
+    }
+
+    public static void main(String[] args) throws Exception {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        GatewayLoadTest loadTest = new GatewayLoadTest(
+                args.length > 0 ? args[0] : "gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar",
+                args.length > 1 ? Integer.parseInt(args[1]) : 5000,
+                args.length > 2 ? Integer.parseInt(args[2]) : 20,
+                Duration.ofMillis(args.length > 3 ? Long.parseLong(args[3]) : 100));
+
+        DisposableServer stub = HttpServer.create()
+                .port(STUB_PORT)
+                .route(routes -> routes.get("/items/{itemId}", (request, response) -> response
+                        .header(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+                        .sendString(Mono.just(ITEM_JSON).delayElement(loadTest.serverDelay))))
+                .bindNow();
+        try {
+            List<Result> results = new ArrayList<>();
+            for (String mode : List.of("servlet", "virtual", "reactive")) {
+                results.add(loadTest.run(mode));
+            }
+            System.out.printf("%n%-10s %8s %8s %8s %8s %10s %9s %9s%n", "mode", "requests", "errors", "p50, ms",
+                    "p99, ms", "max, ms", "rps", "threads");
+            results.forEach(System.out::println);
+        } finally {
+            stub.disposeNow();
+        }
+    }
+
+    private Result run(String mode) throws Exception {
+        Process gateway = startGateway(mode);
+        try {
+            awaitStarted();
+            int baseline = liveThreads();
+            load(Math.min(connections, 200), 5, new long[1000], new AtomicInteger());
+
+            long[] latencies = new long[connections * requestsPerConnection];
+            AtomicInteger errors = new AtomicInteger();
+            AtomicLong maxThreads = new AtomicLong(baseline);
+            ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+            sampler.scheduleAtFixedRate(() -> maxThreads.accumulateAndGet(liveThreads(), Math::max),
+                    0, 500, TimeUnit.MILLISECONDS);
+            long started = System.nanoTime();
+            int completed;
+            try {
+                completed = load(connections, requestsPerConnection, latencies, errors);
+            } finally {
+                sampler.shutdownNow();
+            }
+            long elapsed = System.nanoTime() - started;
+
+            return new Result(mode, Arrays.copyOf(latencies, completed), errors.get(), elapsed, baseline,
+                    (int) maxThreads.get());
+        } finally {
+            gateway.destroy();
+            gateway.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private int load(int clients, int requests, long[] latencies, AtomicInteger errors) {
+        ConnectionProvider provider = ConnectionProvider.builder("load")
+                .maxConnections(clients)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(Duration.ofMinutes(5))
+                .build();
+        reactor.netty.http.client.HttpClient client = reactor.netty.http.client.HttpClient.create(provider)
+                .baseUrl("http://localhost:" + GATEWAY_PORT)
+                .headers(headers -> headers.add("X-Sharer-User-Id", "1"))
+                .responseTimeout(Duration.ofMinutes(2));
+        AtomicInteger completed = new AtomicInteger();
+        try {
+            Flux.range(0, clients)
+                    .flatMap(connection -> Flux.range(0, requests)
+                            .concatMap(request -> Mono.defer(() -> {
+                                long start = System.nanoTime();
+                                return client.get()
+                                        .uri("/items/1")
+                                        .responseSingle((response, body) -> body.asString()
+                                                .defaultIfEmpty("")
+                                                .thenReturn(response.status().code()))
+                                        .onErrorReturn(-1)
+                                        .doOnNext(status -> {
+                                            if (status != 200) {
+                                                errors.incrementAndGet();
+                                            }
+                                            int index = completed.getAndIncrement();
+                                            if (index < latencies.length) {
+                                                latencies[index] = System.nanoTime() - start;
+                                            }
+                                        });
+                            })), clients)
+                    .blockLast();
+        } finally {
+            provider.disposeLater().block();
+        }
+        return Math.min(completed.get(), latencies.length);
+    }
+
+    private Process startGateway(String mode) throws IOException {
+        List<String> command = new ArrayList<>(List.of(
+                ProcessHandle.current().info().command().orElse("java"), "-jar", gatewayJar,
+                "--server.port=" + GATEWAY_PORT,
+                "--shareit-server.url=http://localhost:" + STUB_PORT,
+                "--shareit-server.pool.max-total=" + connections,
+                "--shareit-server.pool.max-per-route=" + connections,
+                "--shareit-server.pool.acquire-timeout=5m",
+                "--server.tomcat.max-connections=" + (connections + 100),
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN"));
+        if ("virtual".equals(mode)) {
+            command.add("--shareit.threads.mode=virtual");
+        }
+        if ("reactive".equals(mode)) {
+            command.add("--spring.profiles.active=reactive");
+        }
+        File log = File.createTempFile("shareit-gateway-" + mode + "-", ".log");
+        System.out.println("Запуск шлюза в режиме " + mode + ", журнал: " + log);
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+    }
+
+    private void awaitStarted() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (System.nanoTime() < deadline) {
+            try {
+                HttpResponse<String> response = management.send(HttpRequest.newBuilder(managementUri("health"))
+                        .build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // шлюз еще не слушает порт
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Шлюз не запустился за 60 секунд");
+    }
+
+    private int liveThreads() {
+        try {
+            HttpResponse<String> response = management.send(
+                    HttpRequest.newBuilder(managementUri("metrics/jvm.threads.live")).build(),
+                    HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            JsonNode measurements = objectMapper.readTree(response.body()).path("measurements");
+            return measurements.path(0).path("value").asInt();
+        } catch (IOException e) {
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    private static URI managementUri(String path) {
+        return URI.create("http://localhost:" + GATEWAY_PORT + "/actuator/" + path);
+    }
+
+    /**
+     * Итоги прогона одного режима: задержки в наносекундах, ошибки и потоки шлюза до и во время нагрузки.
+     */
+    private static class Result {
+        private final String mode;
+
+        private final long[] latencies;
+
+        private final int errors;
+
+        private final long elapsedNanos;
+
+        private final int baselineThreads;
+
+        private final int maxThreads;
+
+        Result(String mode, long[] latencies, int errors, long elapsedNanos, int baselineThreads, int maxThreads) {
+            this.mode = mode;
+            this.latencies = latencies;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+            this.baselineThreads = baselineThreads;
+            this.maxThreads = maxThreads;
+            Arrays.sort(latencies);
+        }
+
+        private double percentile(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+            return latencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-10s %8d %8d %8.1f %8.1f %10.1f %9.0f %4d->%-4d", mode, latencies.length, errors,
+                    percentile(50), percentile(99), percentile(100),
+                    latencies.length / (elapsedNanos / 1_000_000_000.0), baselineThreads, maxThreads);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.booking.dto.BookingView;
+
+/**
+ * Проксирование большого JSON-списка бронирований через шлюз. {@code mode=parse} повторяет прежний
+ * {@code BaseClient}: ответ разбирается в дерево {@code Object} и снова сериализуется, {@code mode=stream}
+ * копирует байты ответа без разбора. Сервер имитируется встроенным HTTP-сервером JDK,
+ * расход памяти на запрос показывает {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Dsun.net.httpserver.nodelay=true"})
+public class GatewayProxyBenchmark {
+    @Param({"parse", "stream"})
+    private String mode;
+
+    @Param({"100", "1000", "10000"})
+    private int rows;
+
+    private HttpServer server;
+
+    private RestTemplate rest;
+
+    private ObjectMapper objectMapper;
+
+    private URI uri;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        byte[] payload = objectMapper.writeValueAsBytes(bookings());
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/bookings", exchange -> {
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(200, payload.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(payload);
+            }
+        });
+        server.start();
+        uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/bookings");
+        rest = new RestTemplate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Benchmark
+    public void proxy(Blackhole blackhole) throws IOException {
+        OutputStream client = new BlackholeOutputStream(blackhole);
+        if ("parse".equals(mode)) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+            Object body = rest.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), Object.class).getBody();
+            objectMapper.writeValue(client, body);
+        } else {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, HttpMethod.GET);
+            try (ClientHttpResponse response = request.execute()) {
+                StreamUtils.copy(response.getBody(), client);
+            }
+        }
+    }
+
+    private List<BookingView> bookings() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<BookingView> bookings = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            bookings.add(BookingView.builder()
+                    .id((long) i)
+                    .start(start.plusDays(i))
+                    .end(start.plusDays(i).plusHours(12))
+                    .status("APPROVED")
+                    .item(BookingView.ItemView.builder().id((long) i % 100).name("thing " + i % 100).build())
+                    .booker(BookingView.BookerView.builder().id((long) i % 1000).build())
+                    .build());
+        }
+        return bookings;
+    }
+
+    /**
+     * Ответ клиенту шлюза: байты отдаются {@link Blackhole}.
+     */
+    private static class BlackholeOutputStream extends OutputStream {
+        private final Blackhole blackhole;
+
+        BlackholeOutputStream(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(int b) {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            blackhole.consume(b);
+            blackhole.consume(len);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.bench;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+/**
+ * Импорт вещей через {@code ItemRepository.saveAll} порциями по одной транзакции.
+ * Параметр {@code batchSize} задает hibernate.jdbc.batch_size: при 1 каждая вставка уходит отдельным запросом.
+ * База H2 подключается по TCP, чтобы каждый запрос стоил сетевого обмена, как с PostgreSQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ImportBenchmark {
+    private static final int CHUNK_SIZE = 1000;
+
+    @Param({"100000"})
+    private int rows;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private Server server;
+
+    private ConfigurableApplicationContext context;
+
+    private ItemRepository itemRepository;
+
+    private TransactionTemplate transactionTemplate;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        server = Server.createTcpServer("-tcpPort", String.valueOf(port), "-ifNotExists").start();
+        context = ShareItContext.start("import" + batchSize,
+                "spring.datasource.url=jdbc:h2:tcp://localhost:" + port + "/mem:import" + batchSize +
+                        ";DB_CLOSE_DELAY=-1",
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        itemRepository = context.getBean(ItemRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        jdbcTemplate.update("insert into users (id, name, email) values (1, 'owner', 'owner@mail.ru')");
+        owner = User.builder().id(1L).build();
+    }
+
+    @Setup(Level.Iteration)
+    public void clear() {
+        jdbcTemplate.update("delete from items");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public int importItems() {
+        Random random = new Random(42);
+        int imported = 0;
+        while (imported < rows) {
+            List<Item> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (int i = 0; i < CHUNK_SIZE && imported < rows; i++, imported++) {
+                chunk.add(Item.builder()
+                        .name(Dataset.itemName(random))
+                        .description(Dataset.itemDescription(random, imported))
+                        .available(true)
+                        .owner(owner)
+                        .build());
+            }
+            transactionTemplate.executeWithoutResult(status -> itemRepository.saveAll(chunk));
+        }
+        return imported;
+    }
+}
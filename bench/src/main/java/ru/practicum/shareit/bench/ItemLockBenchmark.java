@@ -0,0 +1,82 @@
+package ru.practicum.shareit.bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.lock.ItemLockManager;
+
+/**
+ * Пропускная способность транзакций, удерживающих блокировку вещи, в зависимости от числа потоков.
+ * При {@code items=distinct} каждый поток работает со своей вещью и пропускная способность растет с числом
+ * потоков, при {@code items=same} все потоки выстраиваются в очередь за одной вещью.
+ * Работа под блокировкой имитирует обращение к базе ожиданием {@code holdMicros}. Число потоков задается -t.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ItemLockBenchmark {
+    @Param({"distinct", "same"})
+    private String items;
+
+    @Param({"1000"})
+    private long holdMicros;
+
+    private final AtomicLong nextItemId = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+
+    private ItemLockManager itemLockManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ShareItContext.start("lock" + items);
+        itemLockManager = context.getBean(ItemLockManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Вещь, с которой работает поток.
+     */
+    @State(Scope.Thread)
+    public static class Worker {
+        private long itemId;
+
+        @Setup(Level.Trial)
+        public void setUp(ItemLockBenchmark benchmark) {
+            itemId = "same".equals(benchmark.items) ? 1L : benchmark.nextItemId.incrementAndGet();
+        }
+    }
+
+    @Benchmark
+    public void lockAndHold(Worker worker) {
+        transactionTemplate.executeWithoutResult(status -> {
+            itemLockManager.lock(worker.itemId);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(holdMicros));
+        });
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+
+/**
+ * Сравнение поиска вещей запросом like к базе данных и по инвертированному индексу в памяти.
+ * Запуск: {@code java -jar bench/target/benchmarks.jar ItemSearchBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ItemSearchBenchmark {
+    private static final int PAGE_SIZE = 10;
+
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    @Param({"10000", "100000", "1000000"})
+    private int itemCount;
+
+    @Param({"drill", "cordless sc", "telescope for"})
+    private String text;
+
+    private ConfigurableApplicationContext context;
+
+    private ItemRepository itemRepository;
+
+    private ItemSearchIndex index;
+
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ShareItContext.start("search" + itemCount);
+        itemRepository = context.getBean(ItemRepository.class);
+        index = new ItemSearchIndex();
+        pageable = PageRequest.of(0, PAGE_SIZE);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("insert into users (id, name, email) values (1, 'owner', 'owner@mail.ru')");
+
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (long id = 1; id <= itemCount; id++) {
+            String name = Dataset.itemName(random);
+            String description = Dataset.itemDescription(random, id);
+            boolean available = random.nextInt(10) > 0;
+
+            batch.add(new Object[]{id, name, description, available});
+            index.put(Item.builder().id(id).name(name).description(description).available(available).build());
+            if (batch.size() == INSERT_BATCH_SIZE || id == itemCount) {
+                jdbcTemplate.batchUpdate("insert into items (id, name, description, is_available, owner_id) " +
+                        "values (?, ?, ?, ?, 1)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> like() {
+        return itemRepository.search(text, pageable);
+    }
+
+    @Benchmark
+    public List<Item> invertedIndex() {
+        return index.search(text, 0, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.internal.ItemModel;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.internal.ItemRequestModel;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+/**
+ * Страница вещей владельца с бронированиями и отзывами, поиск вещей и страница чужих запросов.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ItemServiceBenchmark {
+    private static final Long USER_ID = 1L;
+
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"100", "1000"})
+    private int users;
+
+    @Param({"drill"})
+    private String text;
+
+    private ConfigurableApplicationContext context;
+
+    private ItemService itemService;
+
+    private ItemRequestService itemRequestService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ShareItContext.start("item" + users);
+        Dataset.seed(context.getBean(JdbcTemplate.class), users);
+        itemService = context.getBean(ItemService.class);
+        itemRequestService = context.getBean(ItemRequestService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemModel> getByUserId() {
+        return itemService.getByUserId(USER_ID, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Item> search() {
+        return itemService.search(text, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemRequestModel> getItemRequestsByUserId() {
+        return itemRequestService.getByUserId(USER_ID, 0, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.bench;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+
+/**
+ * Запуск контекста основного сервиса на H2 в памяти без веб-сервера.
+ * Свойства передаются аргументами командной строки, чтобы перекрывать значения из application.properties.
+ */
+public final class ShareItContext {
+    private ShareItContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String databaseName, String... properties) {
+        Map<String, String> arguments = new LinkedHashMap<>();
+        Stream.concat(Stream.of(
+                        "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "logging.level.org.springframework.transaction.interceptor=WARN",
+                        "logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN"),
+                        Stream.of(properties))
+                .forEach(property -> arguments.put(property.substring(0, property.indexOf('=')), property));
+        return new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run(arguments.values().stream()
+                        .map(argument -> "--" + argument)
+                        .toArray(String[]::new));
+    }
+}
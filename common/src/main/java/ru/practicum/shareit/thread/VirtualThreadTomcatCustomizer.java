@@ -0,0 +1,53 @@
+package ru.practicum.shareit.thread;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Обработка запросов Tomcat в виртуальных потоках сервера и шлюза: каждый запрос получает свой поток,
+ * и ожидание JDBC или вызова сервера через {@code RestTemplate} не занимает поток платформы.
+ * Виртуальные потоки появились в Java 21, а проект собирается под Java 11,
+ * поэтому исполнитель создается через reflection. Docker-образы запускаются на Java 21; на более старой JVM
+ * режим {@code virtual} прерывает запуск, чтобы сервис не работал молча на пуле Tomcat с ограничением JDBC.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.threads.mode", havingValue = "virtual")
+public class VirtualThreadTomcatCustomizer implements TomcatProtocolHandlerCustomizer<ProtocolHandler>,
+        DisposableBean {
+    private final ExecutorService executor;
+
+    public VirtualThreadTomcatCustomizer() {
+        executor = newVirtualThreadPerTaskExecutor();
+    }
+
+    @Override
+    public void customize(ProtocolHandler protocolHandler) {
+        protocolHandler.setExecutor(executor);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+            log.info("Запросы обрабатываются в виртуальных потоках");
+            return executor;
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException exception) {
+            throw new IllegalStateException("Режим shareit.threads.mode=virtual требует Java 21, запущена Java " +
+                    Runtime.version().feature(), exception);
+        }
+    }
+}
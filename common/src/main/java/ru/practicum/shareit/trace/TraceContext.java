@@ -0,0 +1,100 @@
+package ru.practicum.shareit.trace;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.slf4j.MDC;
+import org.springframework.lang.Nullable;
+
+/**
+ * Контекст трассировки в формате W3C Trace Context: {@code traceparent: 00-<trace-id>-<span-id>-<flags>}.
+ * Шлюз продолжает трассу клиента или начинает новую и передает ее серверу в заголовке, сервер продолжает трассу
+ * шлюза или начинает новую при обращении в обход шлюза. Каждый процесс открывает в трассе свой span.
+ * Идентификаторы попадают в MDC и в каждую строку лога, флаги трассы хранятся в MDC рядом с ними,
+ * чтобы исходящий запрос передал дальше решение клиента о записи трассы.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TraceContext {
+    public static final String HEADER = "traceparent";
+
+    public static final String TRACE_ID_MDC_KEY = "traceId";
+
+    public static final String SPAN_ID_MDC_KEY = "spanId";
+
+    public static final String TRACE_FLAGS_MDC_KEY = "traceFlags";
+
+    private static final String VERSION = "00";
+
+    private static final String SAMPLED = "01";
+
+    private static final String INVALID_TRACE_ID = "00000000000000000000000000000000";
+
+    private static final Pattern TRACEPARENT = Pattern.compile("00-[0-9a-f]{32}-[0-9a-f]{16}-[0-9a-f]{2}");
+
+    String traceId;
+
+    String spanId;
+
+    String flags;
+
+    /**
+     * Новый span в трассе из заголовка {@code traceparent} или в новой трассе, если заголовка нет
+     * или он некорректен.
+     */
+    public static TraceContext continueOrStart(@Nullable String traceparent) {
+        if (traceparent != null && TRACEPARENT.matcher(traceparent).matches()) {
+            String traceId = traceparent.substring(3, 35);
+            if (!traceId.equals(INVALID_TRACE_ID)) {
+                return new TraceContext(traceId, randomHex(1), traceparent.substring(53));
+            }
+        }
+        return new TraceContext(randomHex(2), randomHex(1), SAMPLED);
+    }
+
+    /**
+     * Контекст текущего запроса из MDC или {@code null} вне запроса.
+     */
+    @Nullable
+    public static TraceContext current() {
+        String traceId = MDC.get(TRACE_ID_MDC_KEY);
+        String spanId = MDC.get(SPAN_ID_MDC_KEY);
+        String flags = MDC.get(TRACE_FLAGS_MDC_KEY);
+        if (traceId == null || spanId == null || flags == null) {
+            return null;
+        }
+        return new TraceContext(traceId, spanId, flags);
+    }
+
+    public void putToMdc() {
+        MDC.put(TRACE_ID_MDC_KEY, traceId);
+        MDC.put(SPAN_ID_MDC_KEY, spanId);
+        MDC.put(TRACE_FLAGS_MDC_KEY, flags);
+    }
+
+    public static void removeFromMdc() {
+        MDC.remove(TRACE_ID_MDC_KEY);
+        MDC.remove(SPAN_ID_MDC_KEY);
+        MDC.remove(TRACE_FLAGS_MDC_KEY);
+    }
+
+    /**
+     * Значение {@code traceparent} для исходящего запроса: текущий span становится родителем.
+     */
+    public String toHeader() {
+        return VERSION + "-" + traceId + "-" + spanId + "-" + flags;
+    }
+
+    private static String randomHex(int longs) {
+        StringBuilder hex = new StringBuilder(longs * 16);
+        for (int i = 0; i < longs; i++) {
+            String part = Long.toHexString(ThreadLocalRandom.current().nextLong());
+            hex.append("0".repeat(16 - part.length())).append(part);
+        }
+        return hex.toString();
+    }
+}
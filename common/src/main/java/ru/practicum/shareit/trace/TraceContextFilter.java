@@ -0,0 +1,34 @@
+package ru.practicum.shareit.trace;
+
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Перенос контекста трассировки из заголовка {@code traceparent} в MDC на время обработки запроса сервером
+ * или шлюзом. В шлюзе из MDC его читает {@code BaseClient} для заголовка запроса к серверу; реактивный шлюз
+ * передает контекст через свой фильтр.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TraceContextFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        TraceContext.continueOrStart(request.getHeader(TraceContext.HEADER)).putToMdc();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TraceContext.removeFromMdc();
+        }
+    }
+}
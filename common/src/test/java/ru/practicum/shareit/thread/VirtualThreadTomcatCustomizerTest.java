@@ -0,0 +1,46 @@
+package ru.practicum.shareit.thread;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import lombok.SneakyThrows;
+import org.apache.coyote.ProtocolHandler;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Тесты для {@link VirtualThreadTomcatCustomizer}
+ */
+class VirtualThreadTomcatCustomizerTest {
+
+    @Test
+    @SneakyThrows
+    void customize_whenVirtualThreadsSupported_thenVirtualThreadExecutorSet() {
+        assumeTrue(Runtime.version().feature() >= 21);
+        ProtocolHandler protocolHandler = mock(ProtocolHandler.class);
+        VirtualThreadTomcatCustomizer customizer = new VirtualThreadTomcatCustomizer();
+
+        customizer.customize(protocolHandler);
+
+        ArgumentCaptor<Executor> executor = ArgumentCaptor.forClass(Executor.class);
+        verify(protocolHandler).setExecutor(executor.capture());
+        CompletableFuture<Thread> worker = new CompletableFuture<>();
+        executor.getValue().execute(() -> worker.complete(Thread.currentThread()));
+        assertThat(Thread.class.getMethod("isVirtual").invoke(worker.get(5, TimeUnit.SECONDS)), equalTo(true));
+        customizer.destroy();
+    }
+
+    @Test
+    void constructor_whenVirtualThreadsNotSupported_thenIllegalStateExceptionThrown() {
+        assumeTrue(Runtime.version().feature() < 21);
+
+        assertThrows(IllegalStateException.class, VirtualThreadTomcatCustomizer::new);
+    }
+}
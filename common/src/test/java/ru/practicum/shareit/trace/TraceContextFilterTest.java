@@ -0,0 +1,46 @@
+package ru.practicum.shareit.trace;
+
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Тесты для {@link TraceContextFilter}
+ */
+class TraceContextFilterTest {
+    private final TraceContextFilter filter = new TraceContextFilter();
+
+    @Test
+    @SneakyThrows
+    void doFilter_whenTraceparentPassed_thenTraceIdInMdcDuringRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(TraceContext.HEADER, "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+        AtomicReference<String> traceId = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> traceId.set(MDC.get(TraceContext.TRACE_ID_MDC_KEY)));
+
+        assertThat(traceId.get(), equalTo("4bf92f3577b34da6a3ce929d0e0e4736"));
+        assertThat(MDC.get(TraceContext.TRACE_ID_MDC_KEY), nullValue());
+    }
+
+    @Test
+    @SneakyThrows
+    void doFilter_whenTraceparentMissing_thenNewTraceStarted() {
+        AtomicReference<String> spanId = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                (req, res) -> spanId.set(MDC.get(TraceContext.SPAN_ID_MDC_KEY)));
+
+        assertThat(spanId.get(), matchesPattern("[0-9a-f]{16}"));
+        assertThat(MDC.get(TraceContext.SPAN_ID_MDC_KEY), nullValue());
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.trace;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Тесты для {@link TraceContext}
+ */
+class TraceContextTest {
+    private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    @AfterEach
+    void tearDown() {
+        TraceContext.removeFromMdc();
+    }
+
+    @Test
+    void continueOrStart_whenHeaderValid_thenTraceContinuedWithNewSpan() {
+        TraceContext traceContext = TraceContext.continueOrStart(TRACEPARENT);
+
+        assertThat(traceContext.getTraceId(), equalTo("4bf92f3577b34da6a3ce929d0e0e4736"));
+        assertThat(traceContext.getSpanId(), not(equalTo("00f067aa0ba902b7")));
+        assertThat(traceContext.toHeader(),
+                matchesPattern("00-4bf92f3577b34da6a3ce929d0e0e4736-[0-9a-f]{16}-01"));
+    }
+
+    @Test
+    void continueOrStart_whenHeaderMissingOrMalformed_thenNewTraceStarted() {
+        assertThat(TraceContext.continueOrStart(null).toHeader(),
+                matchesPattern("00-[0-9a-f]{32}-[0-9a-f]{16}-01"));
+        assertThat(TraceContext.continueOrStart("garbage").getTraceId(), matchesPattern("[0-9a-f]{32}"));
+        assertThat(TraceContext.continueOrStart("00-00000000000000000000000000000000-00f067aa0ba902b7-01")
+                .getTraceId(), not(equalTo("00000000000000000000000000000000")));
+    }
+
+    @Test
+    void current_whenPutToMdc_thenSameTraceAndSpanReturned() {
+        TraceContext traceContext = TraceContext.continueOrStart(TRACEPARENT);
+        traceContext.putToMdc();
+
+        assertThat(TraceContext.current().toHeader(), equalTo(traceContext.toHeader()));
+
+        TraceContext.removeFromMdc();
+        assertThat(TraceContext.current(), nullValue());
+    }
+
+    @Test
+    void current_whenTraceNotSampled_thenFlagsPreserved() {
+        TraceContext.continueOrStart("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00").putToMdc();
+
+        assertThat(TraceContext.current().getFlags(), equalTo("00"));
+        assertThat(TraceContext.current().toHeader(), endsWith("-00"));
+    }
+}
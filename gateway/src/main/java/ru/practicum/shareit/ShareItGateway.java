@@ -2,6 +2,9 @@ package ru.practicum.shareit;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
 
 @SpringBootApplication
 public class ShareItGateway {
@@ -9,4 +12,12 @@ public class ShareItGateway {
 		SpringApplication.run(ShareItGateway.class, args);
 	}
 
+	/**
+	 * В реактивном режиме шлюз работает на Netty: без этого Spring Boot выбрал бы Tomcat, который тоже есть в classpath.
+	 */
+	@Bean
+	@Profile("reactive")
+	public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+		return new NettyReactiveWebServerFactory();
+	}
 }
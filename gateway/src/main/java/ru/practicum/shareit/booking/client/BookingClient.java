@@ -1,29 +1,33 @@
 package ru.practicum.shareit.booking.client;
 
+import java.util.List;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingCreateRequest;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerConnectionPool;
 
 /**
  * Клиент для работы с бронированиями.
  */
 @Service
+@Profile("!reactive")
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ServerConnectionPool connectionPool) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .requestFactory(connectionPool::getRequestFactory)
                         .build()
         );
     }
@@ -32,32 +36,72 @@ public class BookingClient extends BaseClient {
         return post("", userId, request);
     }
 
-    public ResponseEntity<Object> patch(Long userId, Long bookingId, Boolean approved) {
+    public ResponseEntity<Object> createAll(Long userId, List<BookingCreateRequest> requests) {
+        return post("/batch", userId, requests);
+    }
+
+    public ResponseEntity<Object> patch(Long userId, Long bookingId, Boolean approved, String ifMatch) {
         Map<String, Object> parameters = Map.of(
                 "approved", approved
         );
-        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
+        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null, ifMatch);
     }
 
     public ResponseEntity<Object> getById(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getAllByBookerId(Long userId, String state, Integer from, Integer size) {
+    public ResponseEntity<Object> getAllByBookerId(Long userId, String state, Integer from, Integer size,
+                                                   String ifNoneMatch) {
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
                 "size", size
         );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        return get("?state={state}&from={from}&size={size}", userId, parameters, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> getAllByOwnerId(Long userId, String state, Integer from, Integer size) {
+    public ResponseEntity<Object> getAllByOwnerId(Long userId, String state, Integer from, Integer size,
+                                                  String ifNoneMatch) {
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
                 "size", size
         );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        return get("/owner?state={state}&from={from}&size={size}", userId, parameters, ifNoneMatch);
+    }
+
+    public ResponseEntity<Object> getAllByBookerIdAfter(Long userId, String state, String cursor, Integer size,
+                                                        String ifNoneMatch) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "cursor", cursor,
+                "size", size
+        );
+        return get("?state={state}&cursor={cursor}&size={size}", userId, parameters, ifNoneMatch);
+    }
+
+    public ResponseEntity<Object> getAllByOwnerIdAfter(Long userId, String state, String cursor, Integer size,
+                                                       String ifNoneMatch) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "cursor", cursor,
+                "size", size
+        );
+        return get("/owner?state={state}&cursor={cursor}&size={size}", userId, parameters, ifNoneMatch);
+    }
+
+    public ResponseEntity<Object> exportByBookerId(Long userId, String format) {
+        Map<String, Object> parameters = Map.of(
+                "format", format
+        );
+        return get("/export?format={format}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> exportByOwnerId(Long userId, String format) {
+        Map<String, Object> parameters = Map.of(
+                "format", format
+        );
+        return get("/owner/export?format={format}", userId, parameters);
     }
 }
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.booking.client;
+
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingCreateRequest;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ReactiveServerConnectionPool;
+
+/**
+ * Неблокирующий клиент для работы с бронированиями.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveBookingClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    @Autowired
+    public ReactiveBookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                 ReactiveServerConnectionPool connectionPool) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connectionPool.getConnector())
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(Long userId, BookingCreateRequest request) {
+        return post("", userId, request);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createAll(Long userId, List<BookingCreateRequest> requests) {
+        return post("/batch", userId, requests);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> patch(Long userId, Long bookingId, Boolean approved, String ifMatch) {
+        Map<String, Object> parameters = Map.of(
+                "approved", approved
+        );
+        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null, ifMatch);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getById(Long userId, Long bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllByBookerId(Long userId, String state,
+                                                                   Integer from, Integer size, String ifNoneMatch) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "from", from,
+                "size", size
+        );
+        return get("?state={state}&from={from}&size={size}", userId, parameters, ifNoneMatch);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllByOwnerId(Long userId, String state,
+                                                                  Integer from, Integer size, String ifNoneMatch) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "from", from,
+                "size", size
+        );
+        return get("/owner?state={state}&from={from}&size={size}", userId, parameters, ifNoneMatch);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllByBookerIdAfter(Long userId, String state,
+                                                                        String cursor, Integer size,
+                                                                        String ifNoneMatch) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "cursor", cursor,
+                "size", size
+        );
+        return get("?state={state}&cursor={cursor}&size={size}", userId, parameters, ifNoneMatch);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllByOwnerIdAfter(Long userId, String state,
+                                                                       String cursor, Integer size,
+                                                                       String ifNoneMatch) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "cursor", cursor,
+                "size", size
+        );
+        return get("/owner?state={state}&cursor={cursor}&size={size}", userId, parameters, ifNoneMatch);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportByBookerId(Long userId, String format) {
+        Map<String, Object> parameters = Map.of(
+                "format", format
+        );
+        return get("/export?format={format}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportByOwnerId(Long userId, String format) {
+        Map<String, Object> parameters = Map.of(
+                "format", format
+        );
+        return get("/owner/export?format={format}", userId, parameters);
+    }
+}
@@ -1,9 +1,15 @@
 package ru.practicum.shareit.booking.controller;
 
+import java.util.List;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,6 +28,7 @@ import ru.practicum.shareit.booking.dto.BookingCreateRequest;
  * Контроллер для бронирований.
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Slf4j
@@ -29,6 +36,10 @@ import ru.practicum.shareit.booking.dto.BookingCreateRequest;
 public class BookingController {
     private static final String USER_ID_REQUEST_HEADER_NAME = "X-Sharer-User-Id";
 
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private static final String EXPORT_FORMATS = "(?i)ndjson|csv";
+
     private final BookingClient bookingClient;
 
     @PostMapping
@@ -38,13 +49,23 @@ public class BookingController {
         return bookingClient.create(userId, request);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> createAll(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                            List<@Valid BookingCreateRequest> requests) {
+        log.info("Пакетное создание {} бронирований пользователем с id = {}", requests.size(), userId);
+        return bookingClient.createAll(userId, requests);
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<Object> patch(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                        String ifMatch,
                                         @PathVariable Long bookingId,
                                         @RequestParam Boolean approved) {
         log.info("Редактирование бронирования с id = {} пользователем с id = {} по полю approved = {}",
                 bookingId, userId, approved);
-        return bookingClient.patch(userId, bookingId, approved);
+        return bookingClient.patch(userId, bookingId, approved, ifMatch);
     }
 
     @GetMapping("/{bookingId}")
@@ -56,19 +77,47 @@ public class BookingController {
 
     @GetMapping
     public ResponseEntity<Object> getAllByBookerId(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                   String ifNoneMatch,
                                                    @RequestParam(defaultValue = "ALL") String state,
                                                    @RequestParam(defaultValue = "0") @Min(0) Integer from,
-                                                   @RequestParam(defaultValue = "10") @Min(1) Integer size) {
+                                                   @RequestParam(defaultValue = "10") @Min(1) Integer size,
+                                                   @RequestParam(required = false) String cursor) {
         log.info("Получение всех бронирований пользователя с id = {} в статусе {}", userId, state);
-        return bookingClient.getAllByBookerId(userId, state, from, size);
+        if (cursor != null) {
+            return bookingClient.getAllByBookerIdAfter(userId, state, cursor, size, ifNoneMatch);
+        }
+        return bookingClient.getAllByBookerId(userId, state, from, size, ifNoneMatch);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> getAllByOwnerId(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                  String ifNoneMatch,
                                                   @RequestParam(defaultValue = "ALL") String state,
                                                   @RequestParam(defaultValue = "0") @Min(0) Integer from,
-                                                  @RequestParam(defaultValue = "10") @Min(1) Integer size) {
+                                                  @RequestParam(defaultValue = "10") @Min(1) Integer size,
+                                                  @RequestParam(required = false) String cursor) {
         log.info("Получение всех бронирований владельца вещи с id = {} в статусе {}", userId, state);
-        return bookingClient.getAllByOwnerId(userId, state, from, size);
+        if (cursor != null) {
+            return bookingClient.getAllByOwnerIdAfter(userId, state, cursor, size, ifNoneMatch);
+        }
+        return bookingClient.getAllByOwnerId(userId, state, from, size, ifNoneMatch);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<Object> exportByBookerId(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                                   @RequestParam(defaultValue = "ndjson")
+                                                   @Pattern(regexp = EXPORT_FORMATS) String format) {
+        log.info("Выгрузка всех бронирований пользователя с id = {} в формате {}", userId, format);
+        return bookingClient.exportByBookerId(userId, format);
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<Object> exportByOwnerId(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                                  @RequestParam(defaultValue = "ndjson")
+                                                  @Pattern(regexp = EXPORT_FORMATS) String format) {
+        log.info("Выгрузка всех бронирований владельца вещи с id = {} в формате {}", userId, format);
+        return bookingClient.exportByOwnerId(userId, format);
     }
 }
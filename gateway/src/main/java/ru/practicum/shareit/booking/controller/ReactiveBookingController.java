@@ -0,0 +1,126 @@
+package ru.practicum.shareit.booking.controller;
+
+import java.util.List;
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.client.ReactiveBookingClient;
+import ru.practicum.shareit.booking.dto.BookingCreateRequest;
+
+/**
+ * Неблокирующий контроллер для бронирований.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveBookingController {
+    private static final String USER_ID_REQUEST_HEADER_NAME = "X-Sharer-User-Id";
+
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private static final String EXPORT_FORMATS = "(?i)ndjson|csv";
+
+    private final ReactiveBookingClient bookingClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                                         @RequestBody @Valid BookingCreateRequest request) {
+        log.info("Создание бронирования {}", request);
+        return bookingClient.create(userId, request);
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createAll(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                                            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                            List<@Valid BookingCreateRequest> requests) {
+        log.info("Пакетное создание {} бронирований пользователем с id = {}", requests.size(), userId);
+        return bookingClient.createAll(userId, requests);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> patch(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                        String ifMatch,
+                                                        @PathVariable Long bookingId,
+                                                        @RequestParam Boolean approved) {
+        log.info("Редактирование бронирования с id = {} пользователем с id = {} по полю approved = {}",
+                bookingId, userId, approved);
+        return bookingClient.patch(userId, bookingId, approved, ifMatch);
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getById(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                                          @PathVariable Long bookingId) {
+        log.info("Получение бронирования с id = {} пользователем с id = {}", bookingId, userId);
+        return bookingClient.getById(userId, bookingId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllByBookerId(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                                   String ifNoneMatch,
+                                                                   @RequestParam(defaultValue = "ALL") String state,
+                                                                   @RequestParam(defaultValue = "0") @Min(0) Integer from,
+                                                                   @RequestParam(defaultValue = "10") @Min(1) Integer size,
+                                                                   @RequestParam(required = false) String cursor) {
+        log.info("Получение всех бронирований пользователя с id = {} в статусе {}", userId, state);
+        if (cursor != null) {
+            return bookingClient.getAllByBookerIdAfter(userId, state, cursor, size, ifNoneMatch);
+        }
+        return bookingClient.getAllByBookerId(userId, state, from, size, ifNoneMatch);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllByOwnerId(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                                  String ifNoneMatch,
+                                                                  @RequestParam(defaultValue = "ALL") String state,
+                                                                  @RequestParam(defaultValue = "0") @Min(0) Integer from,
+                                                                  @RequestParam(defaultValue = "10") @Min(1) Integer size,
+                                                                  @RequestParam(required = false) String cursor) {
+        log.info("Получение всех бронирований владельца вещи с id = {} в статусе {}", userId, state);
+        if (cursor != null) {
+            return bookingClient.getAllByOwnerIdAfter(userId, state, cursor, size, ifNoneMatch);
+        }
+        return bookingClient.getAllByOwnerId(userId, state, from, size, ifNoneMatch);
+    }
+
+    @GetMapping("/export")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportByBookerId(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                                                   @RequestParam(defaultValue = "ndjson")
+                                                                   @Pattern(regexp = EXPORT_FORMATS) String format) {
+        log.info("Выгрузка всех бронирований пользователя с id = {} в формате {}", userId, format);
+        return bookingClient.exportByBookerId(userId, format);
+    }
+
+    @GetMapping("/owner/export")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportByOwnerId(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                                                  @RequestParam(defaultValue = "ndjson")
+                                                                  @Pattern(regexp = EXPORT_FORMATS) String format) {
+        log.info("Выгрузка всех бронирований владельца вещи с id = {} в формате {}", userId, format);
+        return bookingClient.exportByOwnerId(userId, format);
+    }
+}
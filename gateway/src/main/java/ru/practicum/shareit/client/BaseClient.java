@@ -1,20 +1,32 @@
 package ru.practicum.shareit.client;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.trace.TraceContext;
 
 /**
- * Базовый клиент для работы через REST.
+ * Базовый клиент для работы через REST. Ответы сервера не разбираются: тело передается клиенту шлюза
+ * потоком байтов, проверяются только входящие запросы.
  */
 public class BaseClient {
+    private static final Set<String> NOT_FORWARDED_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade", "content-length");
+
     protected final RestTemplate rest;
 
     public BaseClient(RestTemplate rest) {
@@ -30,7 +42,12 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+        return get(path, userId, parameters, null);
+    }
+
+    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                         @Nullable String ifNoneMatch) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, null, ifNoneMatch);
     }
 
     protected <T> ResponseEntity<Object> post(String path, T body) {
@@ -66,7 +83,12 @@ public class BaseClient {
     }
 
     protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+        return patch(path, userId, parameters, body, null);
+    }
+
+    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body,
+                                               @Nullable String ifMatch) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body, ifMatch, null);
     }
 
     protected ResponseEntity<Object> delete(String path) {
@@ -82,42 +104,65 @@ public class BaseClient {
     }
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        return makeAndSendRequest(method, path, userId, parameters, body, null, null);
+    }
+
+    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                          @Nullable Map<String, Object> parameters, @Nullable T body,
+                                                          @Nullable String ifMatch, @Nullable String ifNoneMatch) {
+        HttpHeaders headers = defaultHeaders(userId, ifMatch, ifNoneMatch);
+        TraceContext traceContext = TraceContext.current();
+        if (traceContext != null) {
+            headers.set(TraceContext.HEADER, traceContext.toHeader());
+        }
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, headers);
+        URI uri = rest.getUriTemplateHandler().expand(path, parameters != null ? parameters : Map.of());
 
-        ResponseEntity<Object> shareitServerResponse;
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            rest.httpEntityCallback(requestEntity).doWithRequest(request);
+            return prepareGatewayResponse(request.execute());
+        } catch (IOException e) {
+            throw new ResourceAccessException("Ошибка ввода-вывода при запросе " + method + " " + uri + ": " +
+                    e.getMessage(), e);
         }
-        return prepareGatewayResponse(shareitServerResponse);
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    static HttpHeaders forwardedHeaders(HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        serverHeaders.forEach((name, values) -> {
+            if (!NOT_FORWARDED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
+    }
+
+    static HttpHeaders defaultHeaders(Long userId, @Nullable String ifMatch, @Nullable String ifNoneMatch) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
+        if (ifMatch != null) {
+            headers.setIfMatch(ifMatch);
+        }
+        if (ifNoneMatch != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static ResponseEntity<Object> prepareGatewayResponse(ClientHttpResponse response) throws IOException {
+        HttpHeaders headers = forwardedHeaders(response.getHeaders());
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getRawStatusCode()).headers(headers);
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (headers.getContentType() == null) {
+            response.close();
+            return responseBuilder.build();
         }
 
-        return responseBuilder.build();
+        return responseBuilder.body(new InputStreamResource(response.getBody()));
     }
 }
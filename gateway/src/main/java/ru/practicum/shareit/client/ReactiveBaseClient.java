@@ -0,0 +1,107 @@
+package ru.practicum.shareit.client;
+
+import java.util.Map;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.trace.TraceContext;
+
+/**
+ * Базовый неблокирующий клиент для работы через REST. Как и {@link BaseClient}, не разбирает ответы сервера:
+ * статус, заголовки и поток буферов тела передаются клиенту шлюза без ожидания конца ответа.
+ */
+public class ReactiveBaseClient {
+    protected final WebClient webClient;
+
+    public ReactiveBaseClient(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> get(String path, long userId) {
+        return get(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> get(String path, Long userId,
+                                                         @Nullable Map<String, Object> parameters) {
+        return get(path, userId, parameters, null);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> get(String path, Long userId,
+                                                         @Nullable Map<String, Object> parameters,
+                                                         @Nullable String ifNoneMatch) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, null, ifNoneMatch);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> post(String path, T body) {
+        return post(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> post(String path, long userId, T body) {
+        return post(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> post(String path, Long userId,
+                                                              @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body, null, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> patch(String path, T body) {
+        return patch(path, null, null, body, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> patch(String path, Long userId,
+                                                               @Nullable Map<String, Object> parameters, T body,
+                                                               @Nullable String ifMatch) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body, ifMatch, null);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> delete(String path) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, null, null, null, null, null);
+    }
+
+    private <T> Mono<ResponseEntity<Flux<DataBuffer>>> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                                          @Nullable Map<String, Object> parameters,
+                                                                          @Nullable T body,
+                                                                          @Nullable String ifMatch,
+                                                                          @Nullable String ifNoneMatch) {
+        return Mono.deferContextual(context -> {
+            WebClient.RequestBodySpec request = webClient.method(method)
+                    .uri(path, parameters != null ? parameters : Map.of())
+                    .headers(headers -> {
+                        headers.addAll(BaseClient.defaultHeaders(userId, ifMatch, ifNoneMatch));
+                        context.<TraceContext>getOrEmpty(TraceContext.class)
+                                .ifPresent(traceContext -> headers.set(TraceContext.HEADER, traceContext.toHeader()));
+                    });
+            WebClient.RequestHeadersSpec<?> exchange = body != null ? request.bodyValue(body) : request;
+
+            return exchange.retrieve()
+                    .onRawStatus(status -> true, response -> Mono.empty())
+                    .toEntityFlux(DataBuffer.class);
+        }).flatMap(ReactiveBaseClient::prepareGatewayResponse);
+    }
+
+    private static Mono<ResponseEntity<Flux<DataBuffer>>> prepareGatewayResponse(
+            ResponseEntity<Flux<DataBuffer>> response) {
+        HttpHeaders headers = BaseClient.forwardedHeaders(response.getHeaders());
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCodeValue())
+                .headers(headers);
+
+        if (headers.getContentType() == null) {
+            return response.getBody()
+                    .doOnNext(DataBufferUtils::release)
+                    .then(Mono.fromSupplier(responseBuilder::build));
+        }
+
+        return Mono.just(responseBuilder.body(response.getBody()));
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Общий для всех реактивных клиентов шлюза неблокирующий пул соединений с сервером на Netty.
+ * Пул Netty ведется для каждого адреса отдельно, поэтому его размер задается {@code max-per-route}.
+ * Состояние пула публикуется в метриках {@code reactor.netty.connection.provider.*}.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveServerConnectionPool implements DisposableBean {
+    private final ConnectionProvider connectionProvider;
+
+    private final ClientHttpConnector connector;
+
+    public ReactiveServerConnectionPool(@Value("${shareit-server.pool.max-per-route:100}") int maxPerRoute,
+                                        @Value("${shareit-server.pool.connect-timeout:2s}") Duration connectTimeout,
+                                        @Value("${shareit-server.pool.read-timeout:30s}") Duration readTimeout,
+                                        @Value("${shareit-server.pool.acquire-timeout:2s}") Duration acquireTimeout,
+                                        @Value("${shareit-server.pool.idle-timeout:30s}") Duration idleTimeout) {
+        connectionProvider = ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxPerRoute)
+                .pendingAcquireTimeout(acquireTimeout)
+                .pendingAcquireMaxCount(-1)
+                .maxIdleTime(idleTimeout)
+                .evictInBackground(idleTimeout)
+                .metrics(true)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+        connector = new ReactorClientHttpConnector(httpClient);
+    }
+
+    public ClientHttpConnector getConnector() {
+        return connector;
+    }
+
+    @Override
+    public void destroy() {
+        connectionProvider.dispose();
+    }
+}
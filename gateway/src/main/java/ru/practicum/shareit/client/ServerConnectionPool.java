@@ -0,0 +1,76 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Общий для всех клиентов шлюза пул keep-alive соединений с сервером. Ограничивает число соединений
+ * на сервер, задает таймауты подключения, чтения и ожидания свободного соединения, закрывает
+ * простаивающие соединения. Состояние пула публикуется в метриках {@code httpcomponents.httpclient.pool.*}.
+ */
+@Component
+@Profile("!reactive")
+public class ServerConnectionPool implements DisposableBean {
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    private final CloseableHttpClient httpClient;
+
+    private final ClientHttpRequestFactory requestFactory;
+
+    public ServerConnectionPool(MeterRegistry meterRegistry,
+                                @Value("${shareit-server.pool.max-total:200}") int maxTotal,
+                                @Value("${shareit-server.pool.max-per-route:100}") int maxPerRoute,
+                                @Value("${shareit-server.pool.connect-timeout:2s}") Duration connectTimeout,
+                                @Value("${shareit-server.pool.read-timeout:30s}") Duration readTimeout,
+                                @Value("${shareit-server.pool.acquire-timeout:2s}") Duration acquireTimeout,
+                                @Value("${shareit-server.pool.keep-alive:60s}") Duration keepAlive,
+                                @Value("${shareit-server.pool.idle-timeout:30s}") Duration idleTimeout) {
+        connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity((int) Duration.ofSeconds(2).toMillis());
+
+        httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout((int) connectTimeout.toMillis())
+                        .setSocketTimeout((int) readTimeout.toMillis())
+                        .setConnectionRequestTimeout((int) acquireTimeout.toMillis())
+                        .build())
+                .setKeepAliveStrategy((response, context) -> {
+                    long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive.toMillis()) :
+                            keepAlive.toMillis();
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+        requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "shareit-server").bindTo(meterRegistry);
+    }
+
+    public ClientHttpRequestFactory getRequestFactory() {
+        return requestFactory;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        httpClient.close();
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.compression;
+
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Сжатие ответов со строгим ETag. По умолчанию Tomcat 9 не сжимает такие ответы, а вещи и бронирования
+ * сервер отдает со строгим ETag версии сущности. Сжатый и несжатый ответы различаются по {@code Vary: Accept-Encoding},
+ * который Tomcat добавляет сам, а сервер сравнивает {@code If-None-Match} слабо, поэтому тег остается прежним.
+ */
+@Component
+@ConditionalOnProperty(name = "server.compression.enabled", havingValue = "true")
+public class CompressionTomcatCustomizer implements TomcatProtocolHandlerCustomizer<AbstractHttp11Protocol<?>> {
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void customize(AbstractHttp11Protocol<?> protocolHandler) {
+        protocolHandler.setNoCompressionStrongETag(false);
+    }
+}
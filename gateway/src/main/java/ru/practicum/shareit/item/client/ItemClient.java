@@ -4,11 +4,12 @@ import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerConnectionPool;
 import ru.practicum.shareit.item.dto.CommentCreateRequest;
 import ru.practicum.shareit.item.dto.ItemCreateRequest;
 import ru.practicum.shareit.item.dto.ItemUpdateRequest;
@@ -17,15 +18,17 @@ import ru.practicum.shareit.item.dto.ItemUpdateRequest;
  * Клиент для работы с вещами.
  */
 @Service
+@Profile("!reactive")
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ServerConnectionPool connectionPool) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .requestFactory(connectionPool::getRequestFactory)
                         .build()
         );
     }
@@ -34,8 +37,8 @@ public class ItemClient extends BaseClient {
         return post("", userId, request);
     }
 
-    public ResponseEntity<Object> patch(Long userId, Long itemId, ItemUpdateRequest request) {
-        return patch("/" + itemId, userId, request);
+    public ResponseEntity<Object> patch(Long userId, Long itemId, ItemUpdateRequest request, String ifMatch) {
+        return patch("/" + itemId, userId, null, request, ifMatch);
     }
 
     public ResponseEntity<Object> getById(Long userId, Long itemId) {
@@ -50,13 +53,13 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> search(Long userId, String text, Integer from, Integer size) {
+    public ResponseEntity<Object> search(Long userId, String text, Integer from, Integer size, String ifNoneMatch) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        return get("/search?text={text}&from={from}&size={size}", userId, parameters, ifNoneMatch);
     }
 
     public ResponseEntity<Object> createComment(Long userId, Long itemId, CommentCreateRequest request) {
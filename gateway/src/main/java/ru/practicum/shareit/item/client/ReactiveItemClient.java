@@ -0,0 +1,73 @@
+package ru.practicum.shareit.item.client;
+
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ReactiveServerConnectionPool;
+import ru.practicum.shareit.item.dto.CommentCreateRequest;
+import ru.practicum.shareit.item.dto.ItemCreateRequest;
+import ru.practicum.shareit.item.dto.ItemUpdateRequest;
+
+/**
+ * Неблокирующий клиент для работы с вещами.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveItemClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/items";
+
+    @Autowired
+    public ReactiveItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ReactiveServerConnectionPool connectionPool) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connectionPool.getConnector())
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(Long userId, ItemCreateRequest request) {
+        return post("", userId, request);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> patch(Long userId, Long itemId,
+                                                        ItemUpdateRequest request, String ifMatch) {
+        return patch("/" + itemId, userId, null, request, ifMatch);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getById(Long userId, Long itemId) {
+        return get("/" + itemId, userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getByUserId(Long userId, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> search(Long userId, String text, Integer from, Integer size,
+                                                         String ifNoneMatch) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={text}&from={from}&size={size}", userId, parameters, ifNoneMatch);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createComment(Long userId, Long itemId,
+                                                                CommentCreateRequest request) {
+        return post("/" + itemId + "/comment", userId, request);
+    }
+}
@@ -4,6 +4,8 @@ import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -24,6 +26,7 @@ import ru.practicum.shareit.item.dto.ItemUpdateRequest;
  * Контроллер для вещей.
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping(path = "/items")
 @RequiredArgsConstructor
 @Slf4j
@@ -42,10 +45,12 @@ public class ItemController {
 
     @PatchMapping("/{itemId}")
     public ResponseEntity<Object> patch(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                        String ifMatch,
                                         @PathVariable Long itemId,
                                         @RequestBody @Valid ItemUpdateRequest request) {
         log.info("Редактирование вещи с id = {} пользователем с id = {} по полям {}", itemId, userId, request);
-        return itemClient.patch(userId, itemId, request);
+        return itemClient.patch(userId, itemId, request, ifMatch);
     }
 
     @GetMapping("/{itemId}")
@@ -65,11 +70,13 @@ public class ItemController {
 
     @GetMapping("/search")
     public ResponseEntity<Object> search(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                         String ifNoneMatch,
                                          @RequestParam String text,
                                          @RequestParam(defaultValue = "0") @Min(0) Integer from,
                                          @RequestParam(defaultValue = "10") @Min(1) Integer size) {
         log.info("Поиск вещей по ключу {}", text);
-        return itemClient.search(userId, text, from, size);
+        return itemClient.search(userId, text, from, size, ifNoneMatch);
     }
 
     @PostMapping("/{itemId}/comment")
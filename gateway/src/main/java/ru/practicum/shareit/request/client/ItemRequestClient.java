@@ -4,26 +4,29 @@ import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerConnectionPool;
 import ru.practicum.shareit.request.dto.ItemRequestCreateRequest;
 
 /**
  * Клиент для работы с запросами на вещи.
  */
 @Service
+@Profile("!reactive")
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             ServerConnectionPool connectionPool) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .requestFactory(connectionPool::getRequestFactory)
                         .build()
         );
     }
@@ -32,16 +35,16 @@ public class ItemRequestClient extends BaseClient {
         return post("", userId, request);
     }
 
-    public ResponseEntity<Object> getByRequestorId(Long userId) {
-        return get("", userId);
+    public ResponseEntity<Object> getByRequestorId(Long userId, String ifNoneMatch) {
+        return get("", userId, null, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> getByUserId(Long userId, Integer from, Integer size) {
+    public ResponseEntity<Object> getByUserId(Long userId, Integer from, Integer size, String ifNoneMatch) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
         );
-        return get("/all?from={from}&size={size}", userId, parameters);
+        return get("/all?from={from}&size={size}", userId, parameters, ifNoneMatch);
     }
 
     public ResponseEntity<Object> getById(Long userId, Long requestId) {
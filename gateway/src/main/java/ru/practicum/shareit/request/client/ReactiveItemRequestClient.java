@@ -0,0 +1,56 @@
+package ru.practicum.shareit.request.client;
+
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ReactiveServerConnectionPool;
+import ru.practicum.shareit.request.dto.ItemRequestCreateRequest;
+
+/**
+ * Неблокирующий клиент для работы с запросами на вещи.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveItemRequestClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/requests";
+
+    @Autowired
+    public ReactiveItemRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                     ReactiveServerConnectionPool connectionPool) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connectionPool.getConnector())
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(Long userId, ItemRequestCreateRequest request) {
+        return post("", userId, request);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getByRequestorId(Long userId, String ifNoneMatch) {
+        return get("", userId, null, ifNoneMatch);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getByUserId(Long userId, Integer from, Integer size,
+                                                              String ifNoneMatch) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("/all?from={from}&size={size}", userId, parameters, ifNoneMatch);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getById(Long userId, Long requestId) {
+        return get("/" + requestId, userId);
+    }
+}
@@ -4,6 +4,8 @@ import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -21,6 +23,7 @@ import ru.practicum.shareit.request.dto.ItemRequestCreateRequest;
  * Контроллер для запросов на вещи.
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping(path = "/requests")
 @RequiredArgsConstructor
 @Slf4j
@@ -38,17 +41,21 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getByRequestorId(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId) {
+    public ResponseEntity<Object> getByRequestorId(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                   String ifNoneMatch) {
         log.info("Получение всех запросов на вещи пользователя по id = {}", userId);
-        return itemRequestClient.getByRequestorId(userId);
+        return itemRequestClient.getByRequestorId(userId, ifNoneMatch);
     }
 
     @GetMapping("/all")
     public ResponseEntity<Object> getByUserId(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                              String ifNoneMatch,
                                              @RequestParam(defaultValue = "0") @Min(0) Integer from,
                                              @RequestParam(defaultValue = "10") @Min(1) Integer size) {
         log.info("Получение всех запросов на вещи");
-        return itemRequestClient.getByUserId(userId, from, size);
+        return itemRequestClient.getByUserId(userId, from, size, ifNoneMatch);
     }
 
     @GetMapping("/{requestId}")
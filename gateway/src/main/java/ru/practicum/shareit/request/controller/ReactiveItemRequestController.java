@@ -0,0 +1,70 @@
+package ru.practicum.shareit.request.controller;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.request.client.ReactiveItemRequestClient;
+import ru.practicum.shareit.request.dto.ItemRequestCreateRequest;
+
+/**
+ * Неблокирующий контроллер для запросов на вещи.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping(path = "/requests")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveItemRequestController {
+    private static final String USER_ID_REQUEST_HEADER_NAME = "X-Sharer-User-Id";
+
+    private final ReactiveItemRequestClient itemRequestClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                                         @RequestBody @Valid ItemRequestCreateRequest request) {
+        log.info("Создание запроса на вещь {}", request);
+        return itemRequestClient.create(userId, request);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getByRequestorId(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                                   String ifNoneMatch) {
+        log.info("Получение всех запросов на вещи пользователя по id = {}", userId);
+        return itemRequestClient.getByRequestorId(userId, ifNoneMatch);
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getByUserId(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                              String ifNoneMatch,
+                                                             @RequestParam(defaultValue = "0") @Min(0) Integer from,
+                                                             @RequestParam(defaultValue = "10") @Min(1) Integer size) {
+        log.info("Получение всех запросов на вещи");
+        return itemRequestClient.getByUserId(userId, from, size, ifNoneMatch);
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getById(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                                   @PathVariable Long requestId) {
+        log.info("Получение запроса на вещь по id запроса = {}", requestId);
+        return itemRequestClient.getById(userId, requestId);
+    }
+}
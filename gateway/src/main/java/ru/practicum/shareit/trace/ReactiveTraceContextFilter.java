@@ -0,0 +1,28 @@
+package ru.practicum.shareit.trace;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Перенос контекста трассировки в контекст Reactor: запрос не привязан к потоку, поэтому MDC не подходит.
+ * Из контекста его читает {@link ru.practicum.shareit.client.ReactiveBaseClient}.
+ */
+@Component
+@Profile("reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReactiveTraceContextFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        TraceContext traceContext = TraceContext.continueOrStart(
+                exchange.getRequest().getHeaders().getFirst(TraceContext.HEADER));
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(TraceContext.class, traceContext));
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.user.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ReactiveServerConnectionPool;
+import ru.practicum.shareit.user.dto.UserCreateRequest;
+import ru.practicum.shareit.user.dto.UserUpdateRequest;
+
+/**
+ * Неблокирующий клиент для работы с пользователями.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveUserClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/users";
+
+    @Autowired
+    public ReactiveUserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ReactiveServerConnectionPool connectionPool) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connectionPool.getConnector())
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(UserCreateRequest request) {
+        return post("", request);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> patch(Long userId, UserUpdateRequest request) {
+        return patch("/" + userId, request);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getById(Long userId) {
+        return get("/" + userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAll() {
+        return get("");
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> delete(Long userId) {
+        return delete("/" + userId);
+    }
+}
\ No newline at end of file
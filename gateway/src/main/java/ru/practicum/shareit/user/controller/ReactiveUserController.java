@@ -0,0 +1,64 @@
+package ru.practicum.shareit.user.controller;
+
+import javax.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.user.client.ReactiveUserClient;
+import ru.practicum.shareit.user.dto.UserCreateRequest;
+import ru.practicum.shareit.user.dto.UserUpdateRequest;
+
+/**
+ * Неблокирующий контроллер для пользователей.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping(path = "/users")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveUserController {
+    private final ReactiveUserClient userClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(@RequestBody @Valid UserCreateRequest request) {
+        log.info("Создание пользователя {}", request);
+        return userClient.create(request);
+    }
+
+    @PatchMapping("/{userId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> patch(@PathVariable Long userId,
+                                                        @RequestBody @Valid UserUpdateRequest request) {
+        log.info("Редактирование пользователя с id = {} по полям {}", userId, request);
+        return userClient.patch(userId, request);
+    }
+
+    @GetMapping("/{userId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getById(@PathVariable Long userId) {
+        log.info("Получение пользователя по id = {}", userId);
+        return userClient.getById(userId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAll() {
+        log.info("Получение всех пользователей");
+        return userClient.getAll();
+    }
+
+    @DeleteMapping("/{userId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> delete(@PathVariable Long userId) {
+        log.info("Удаление пользователя по id = {}", userId);
+        return userClient.delete(userId);
+    }
+}
@@ -1,7 +1,10 @@
 package ru.practicum.shareit.booking.controller;
 
 import java.time.LocalDateTime;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
@@ -9,19 +12,28 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.client.BookingClient;
 import ru.practicum.shareit.booking.dto.BookingCreateRequest;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -93,6 +105,53 @@ class BookingControllerTest {
         verify(bookingClient, never()).create(anyLong(), any());
     }
 
+    @Test
+    @SneakyThrows
+    void createAll_whenBatchIsValid_thenBatchSent() {
+        createRequest = BookingCreateRequest.builder()
+                .start(LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS))
+                .end(LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.SECONDS))
+                .itemId(1L)
+                .build();
+        userId = 1L;
+        mockMvc.perform(post(URL + "/batch")
+                        .header(HEADER, userId)
+                        .content(objectMapper.writeValueAsString(List.of(createRequest, createRequest)))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        verify(bookingClient).createAll(eq(userId), anyList());
+    }
+
+    @Test
+    @SneakyThrows
+    void createAll_whenBatchContainsInvalidEntry_thenBadRequestReturned() {
+        createRequest = BookingCreateRequest.builder()
+                .start(LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS))
+                .end(LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.SECONDS))
+                .itemId(1L)
+                .build();
+        userId = 1L;
+        mockMvc.perform(post(URL + "/batch")
+                        .header(HEADER, userId)
+                        .content(objectMapper.writeValueAsString(List.of(createRequest,
+                                BookingCreateRequest.builder().build())))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verify(bookingClient, never()).createAll(anyLong(), anyList());
+    }
+
+    @Test
+    @SneakyThrows
+    void createAll_whenBatchIsEmpty_thenBadRequestReturned() {
+        userId = 1L;
+        mockMvc.perform(post(URL + "/batch")
+                        .header(HEADER, userId)
+                        .content("[]")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verify(bookingClient, never()).createAll(anyLong(), anyList());
+    }
+
     @Test
     @SneakyThrows
     void getAllByBookerId_whenPaginationParamsIncorrect_thenBadRequestReturned() {
@@ -103,7 +162,7 @@ class BookingControllerTest {
                         .param("from", "-1")
                         .param("size", "0"))
                 .andExpect(status().isBadRequest());
-        verify(bookingClient, never()).getAllByBookerId(anyLong(), anyString(), anyInt(), anyInt());
+        verify(bookingClient, never()).getAllByBookerId(anyLong(), anyString(), anyInt(), anyInt(), any());
     }
 
     @Test
@@ -116,6 +175,70 @@ class BookingControllerTest {
                         .param("from", "-1")
                         .param("size", "0"))
                 .andExpect(status().isBadRequest());
-        verify(bookingClient, never()).getAllByOwnerId(anyLong(), anyString(), anyInt(), anyInt());
+        verify(bookingClient, never()).getAllByOwnerId(anyLong(), anyString(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void getAllByBookerId_whenCursorPassed_thenCursorRequestSent() {
+        userId = 1L;
+        mockMvc.perform(get(URL)
+                        .header(HEADER, userId)
+                        .param("cursor", "abc")
+                        .param("size", "5"))
+                .andExpect(status().isOk());
+        verify(bookingClient).getAllByBookerIdAfter(userId, "ALL", "abc", 5, null);
+        verify(bookingClient, never()).getAllByBookerId(anyLong(), anyString(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void getAllByOwnerId_whenCursorPassed_thenCursorRequestSent() {
+        userId = 1L;
+        mockMvc.perform(get(URL + "/owner")
+                        .header(HEADER, userId)
+                        .param("cursor", ""))
+                .andExpect(status().isOk());
+        verify(bookingClient).getAllByOwnerIdAfter(eq(userId), eq("ALL"), eq(""), eq(10), isNull());
+    }
+
+    @Test
+    @SneakyThrows
+    void patch_whenIfMatchPassed_thenIfMatchSent() {
+        userId = 1L;
+        mockMvc.perform(patch(URL + "/{bookingId}", 2L)
+                        .header(HEADER, userId)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .param("approved", "true"))
+                .andExpect(status().isOk());
+        verify(bookingClient).patch(userId, 2L, true, "\"3\"");
+    }
+
+    @Test
+    @SneakyThrows
+    void exportByBookerId_whenServerStreams_thenBodyStreamedThrough() {
+        userId = 1L;
+        byte[] body = "{\"id\":1}\n".getBytes(StandardCharsets.UTF_8);
+        when(bookingClient.exportByBookerId(userId, "csv")).thenReturn(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(new InputStreamResource(new ByteArrayInputStream(body))));
+
+        mockMvc.perform(get(URL + "/export")
+                        .header(HEADER, userId)
+                        .param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().bytes(body));
+    }
+
+    @Test
+    @SneakyThrows
+    void exportByOwnerId_whenFormatUnknown_thenBadRequestReturned() {
+        userId = 1L;
+        mockMvc.perform(get(URL + "/owner/export")
+                        .header(HEADER, userId)
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+        verify(bookingClient, never()).exportByOwnerId(anyLong(), anyString());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,161 @@
+package ru.practicum.shareit.booking.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.client.ReactiveBookingClient;
+import ru.practicum.shareit.booking.dto.BookingCreateRequest;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тесты для {@link ReactiveBookingController}
+ */
+@WebFluxTest(controllers = {ReactiveBookingController.class})
+@ActiveProfiles("reactive")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ReactiveBookingControllerTest {
+    private static final String URL = "/bookings";
+
+    private static final String HEADER = "X-Sharer-User-Id";
+
+    @MockBean
+    private ReactiveBookingClient bookingClient;
+
+    private final WebTestClient webTestClient;
+
+    private BookingCreateRequest createRequest;
+
+    private Long userId;
+
+    @Test
+    void create_whenBookingStartOrEndOrItemIdIsNull_thenBadRequestReturned() {
+        createRequest = BookingCreateRequest.builder()
+                .build();
+        userId = 1L;
+        webTestClient.post().uri(URL)
+                .header(HEADER, String.valueOf(userId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createRequest)
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(bookingClient, never()).create(anyLong(), any());
+    }
+
+    @Test
+    void createAll_whenBatchIsValid_thenBatchSent() {
+        createRequest = BookingCreateRequest.builder()
+                .start(LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS))
+                .end(LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.SECONDS))
+                .itemId(1L)
+                .build();
+        userId = 1L;
+        when(bookingClient.createAll(eq(userId), anyList())).thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        webTestClient.post().uri(URL + "/batch")
+                .header(HEADER, String.valueOf(userId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(createRequest, createRequest))
+                .exchange()
+                .expectStatus().isOk();
+        verify(bookingClient).createAll(eq(userId), anyList());
+    }
+
+    @Test
+    void createAll_whenBatchIsEmpty_thenBadRequestReturned() {
+        userId = 1L;
+        webTestClient.post().uri(URL + "/batch")
+                .header(HEADER, String.valueOf(userId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[]")
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(bookingClient, never()).createAll(anyLong(), anyList());
+    }
+
+    @Test
+    void getAllByBookerId_whenPaginationParamsIncorrect_thenBadRequestReturned() {
+        userId = 1L;
+        webTestClient.get().uri(URL + "?state=WAITING&from=-1&size=0")
+                .header(HEADER, String.valueOf(userId))
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(bookingClient, never()).getAllByBookerId(anyLong(), anyString(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void getAllByOwnerId_whenCursorPassed_thenCursorRequestSent() {
+        userId = 1L;
+        when(bookingClient.getAllByOwnerIdAfter(userId, "ALL", "abc", 10, null))
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        webTestClient.get().uri(URL + "/owner?cursor=abc")
+                .header(HEADER, String.valueOf(userId))
+                .exchange()
+                .expectStatus().isOk();
+        verify(bookingClient, never()).getAllByOwnerId(anyLong(), anyString(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void patch_whenIfMatchPassed_thenIfMatchSent() {
+        userId = 1L;
+        when(bookingClient.patch(userId, 2L, true, "\"3\"")).thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        webTestClient.patch().uri(URL + "/{bookingId}?approved=true", 2L)
+                .header(HEADER, String.valueOf(userId))
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .exchange()
+                .expectStatus().isOk();
+        verify(bookingClient).patch(userId, 2L, true, "\"3\"");
+    }
+
+    @Test
+    void exportByBookerId_whenServerStreams_thenBodyStreamedThrough() {
+        userId = 1L;
+        byte[] body = "{\"id\":1}\n".getBytes(StandardCharsets.UTF_8);
+        Flux<DataBuffer> buffers = Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body));
+        when(bookingClient.exportByBookerId(userId, "csv")).thenReturn(Mono.just(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(buffers)));
+
+        webTestClient.get().uri(URL + "/export?format=csv")
+                .header(HEADER, String.valueOf(userId))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBody(byte[].class).isEqualTo(body);
+    }
+
+    @Test
+    void exportByOwnerId_whenFormatUnknown_thenBadRequestReturned() {
+        userId = 1L;
+        webTestClient.get().uri(URL + "/owner/export?format=xml")
+                .header(HEADER, String.valueOf(userId))
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(bookingClient, never()).exportByOwnerId(anyLong(), anyString());
+    }
+}
@@ -0,0 +1,139 @@
+package ru.practicum.shareit.client;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.trace.TraceContext;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Тесты для {@link BaseClient}
+ */
+class BaseClientTest {
+    private static final String SERVER_URL = "http://localhost:9090/items";
+
+    private MockRestServiceServer server;
+
+    private TestClient client;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL));
+        server = MockRestServiceServer.bindTo(rest).build();
+        client = new TestClient(rest);
+    }
+
+    @Test
+    void get_whenServerResponds_thenBodyAndHeadersPassedThroughUnparsed() {
+        String json = "[{\"id\":1,\"name\":\"thing\"}]";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"2\"");
+        headers.set(HttpHeaders.CONNECTION, "keep-alive");
+        server.expect(requestTo(SERVER_URL + "/search?text=thing"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(json, MediaType.APPLICATION_JSON).headers(headers));
+
+        ResponseEntity<Object> response = client.get("/search?text={text}", 1L, Map.of("text", "thing"));
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(response.getHeaders().getETag(), equalTo("\"2\""));
+        assertThat(response.getHeaders().getConnection().isEmpty(), equalTo(true));
+        assertThat(response.getBody(), instanceOf(Resource.class));
+        assertThat(read(response), equalTo(json));
+        server.verify();
+    }
+
+    @Test
+    void post_whenServerRespondsWithError_thenStatusAndBodyPassedThrough() {
+        String error = "{\"error\":\"Не найден пользователь по id = 1\"}";
+        server.expect(requestTo(SERVER_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(error));
+
+        ResponseEntity<Object> response = client.post("", 1L, "{}");
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+        assertThat(read(response), equalTo(error));
+    }
+
+    @Test
+    void get_whenIfNoneMatchPassed_thenHeaderForwardedAndNotModifiedPassedThrough() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"abc.1\"");
+        server.expect(requestTo(SERVER_URL + "/search?text=thing"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"abc.1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(headers));
+
+        ResponseEntity<Object> response = client.get("/search?text={text}", 1L, Map.of("text", "thing"),
+                "\"abc.1\"");
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_MODIFIED));
+        assertThat(response.getHeaders().getETag(), equalTo("\"abc.1\""));
+        assertThat(response.getBody(), nullValue());
+        server.verify();
+    }
+
+    @Test
+    void get_whenTraceContextInMdc_thenTraceparentForwarded() {
+        TraceContext traceContext = TraceContext.continueOrStart(null);
+        traceContext.putToMdc();
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andExpect(header(TraceContext.HEADER, traceContext.toHeader()))
+                .andRespond(withSuccess());
+
+        try {
+            client.get("/1", 1L);
+        } finally {
+            TraceContext.removeFromMdc();
+        }
+        server.verify();
+    }
+
+    @Test
+    void delete_whenServerRespondsWithoutBody_thenEmptyResponseReturned() {
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andExpect(method(HttpMethod.DELETE))
+                .andRespond(withSuccess());
+
+        ResponseEntity<Object> response = client.delete("/1");
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getBody(), nullValue());
+    }
+
+    @SneakyThrows
+    private static String read(ResponseEntity<Object> response) {
+        return StreamUtils.copyToString(((Resource) response.getBody()).getInputStream(), StandardCharsets.UTF_8);
+    }
+
+    private static class TestClient extends BaseClient {
+        TestClient(RestTemplate rest) {
+            super(rest);
+        }
+    }
+}
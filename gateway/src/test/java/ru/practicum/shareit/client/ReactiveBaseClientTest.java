@@ -0,0 +1,106 @@
+package ru.practicum.shareit.client;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Тесты для {@link ReactiveBaseClient}
+ */
+class ReactiveBaseClientTest {
+    private static final String SERVER_URL = "http://localhost:9090/items";
+
+    private final AtomicReference<ClientRequest> sentRequest = new AtomicReference<>();
+
+    @Test
+    void get_whenServerResponds_thenBodyAndHeadersPassedThroughUnparsed() {
+        String json = "[{\"id\":1,\"name\":\"thing\"}]";
+        TestClient client = client(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.ETAG, "\"2\"")
+                .header(HttpHeaders.CONNECTION, "keep-alive")
+                .body(json)
+                .build());
+
+        ResponseEntity<Flux<DataBuffer>> response = client.get("/search?text={text}", 1L, Map.of("text", "thing"))
+                .block();
+
+        assertThat(sentRequest.get().method(), equalTo(HttpMethod.GET));
+        assertThat(sentRequest.get().url().toString(), equalTo(SERVER_URL + "/search?text=thing"));
+        assertThat(sentRequest.get().headers().getFirst("X-Sharer-User-Id"), equalTo("1"));
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(response.getHeaders().getETag(), equalTo("\"2\""));
+        assertThat(response.getHeaders().getConnection().isEmpty(), equalTo(true));
+        assertThat(read(response), equalTo(json));
+    }
+
+    @Test
+    void post_whenServerRespondsWithError_thenStatusAndBodyPassedThrough() {
+        String error = "{\"error\":\"Не найден пользователь по id = 1\"}";
+        TestClient client = client(ClientResponse.create(HttpStatus.NOT_FOUND)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(error)
+                .build());
+
+        ResponseEntity<Flux<DataBuffer>> response = client.post("", 1L, "{}").block();
+
+        assertThat(sentRequest.get().method(), equalTo(HttpMethod.POST));
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+        assertThat(read(response), equalTo(error));
+    }
+
+    @Test
+    void delete_whenServerRespondsWithoutBody_thenEmptyResponseReturned() {
+        TestClient client = client(ClientResponse.create(HttpStatus.OK).build());
+
+        ResponseEntity<Flux<DataBuffer>> response = client.delete("/1").block();
+
+        assertThat(sentRequest.get().url().toString(), equalTo(SERVER_URL + "/1"));
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getBody(), nullValue());
+    }
+
+    private TestClient client(ClientResponse serverResponse) {
+        return new TestClient(WebClient.builder()
+                .baseUrl(SERVER_URL)
+                .exchangeFunction(request -> {
+                    sentRequest.set(request);
+                    return Mono.just(serverResponse);
+                })
+                .build());
+    }
+
+    private static String read(ResponseEntity<Flux<DataBuffer>> response) {
+        return DataBufferUtils.join(response.getBody())
+                .map(buffer -> {
+                    String body = buffer.toString(StandardCharsets.UTF_8);
+                    DataBufferUtils.release(buffer);
+                    return body;
+                })
+                .block();
+    }
+
+    private static class TestClient extends ReactiveBaseClient {
+        TestClient(WebClient webClient) {
+            super(webClient);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Тесты для {@link ServerConnectionPool}
+ */
+class ServerConnectionPoolTest {
+    private HttpServer server;
+
+    private MeterRegistry meterRegistry;
+
+    private ServerConnectionPool connectionPool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/users", exchange -> {
+            byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        meterRegistry = new SimpleMeterRegistry();
+        connectionPool = new ServerConnectionPool(meterRegistry, 10, 4, Duration.ofSeconds(1), Duration.ofSeconds(1),
+                Duration.ofSeconds(1), Duration.ofSeconds(60), Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connectionPool.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void getRequestFactory_whenRequestsSentOneByOne_thenSingleConnectionReused() {
+        RestTemplate rest = new RestTemplate(connectionPool.getRequestFactory());
+        String url = "http://localhost:" + server.getAddress().getPort() + "/users";
+
+        for (int i = 0; i < 3; i++) {
+            rest.getForObject(url, String.class);
+        }
+
+        assertThat(gauge("httpcomponents.httpclient.pool.total.connections", "available"), equalTo(1.0));
+        assertThat(gauge("httpcomponents.httpclient.pool.total.connections", "leased"), equalTo(0.0));
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.pending").gauge().value(), equalTo(0.0));
+    }
+
+    @Test
+    void constructor_whenLimitsConfigured_thenLimitsPublished() {
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max").gauge().value(), equalTo(10.0));
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.route.max.default").gauge().value(),
+                equalTo(4.0));
+    }
+
+    private double gauge(String name, String state) {
+        return meterRegistry.get(name).tag("state", state).gauge().value();
+    }
+}
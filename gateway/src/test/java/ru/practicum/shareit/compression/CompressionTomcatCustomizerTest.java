@@ -0,0 +1,23 @@
+package ru.practicum.shareit.compression;
+
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Тесты для {@link CompressionTomcatCustomizer}
+ */
+class CompressionTomcatCustomizerTest {
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void customize_whenProtocolCustomized_thenStrongETagResponsesCompressed() {
+        Http11NioProtocol protocolHandler = new Http11NioProtocol();
+
+        new CompressionTomcatCustomizer().customize(protocolHandler);
+
+        assertThat(protocolHandler.getNoCompressionStrongETag(), equalTo(false));
+    }
+}
@@ -100,7 +100,7 @@ class ItemControllerTest {
                         .param("from", "-1")
                         .param("size", "0"))
                 .andExpect(status().isBadRequest());
-        verify(itemClient, never()).search(anyLong(), anyString(), anyInt(), anyInt());
+        verify(itemClient, never()).search(anyLong(), anyString(), anyInt(), anyInt(), any());
     }
 
     @Test
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.item.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.practicum.shareit.item.client.ReactiveItemClient;
+import ru.practicum.shareit.item.dto.CommentCreateRequest;
+import ru.practicum.shareit.item.dto.ItemCreateRequest;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Тесты для {@link ReactiveItemController}
+ */
+@WebFluxTest(controllers = {ReactiveItemController.class})
+@ActiveProfiles("reactive")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ReactiveItemControllerTest {
+    private static final String URL = "/items";
+
+    private static final String HEADER = "X-Sharer-User-Id";
+
+    @MockBean
+    private ReactiveItemClient itemClient;
+
+    private final WebTestClient webTestClient;
+
+    private ItemCreateRequest createRequest;
+
+    private CommentCreateRequest commentCreateRequest;
+
+    private Long userId;
+
+    private Long itemId;
+
+    @Test
+    void create_whenItemNameOrDescriptionOrAvailableIsNull_thenBadRequestReturned() {
+        createRequest = ItemCreateRequest.builder()
+                .build();
+        userId = 1L;
+        webTestClient.post().uri(URL)
+                .header(HEADER, String.valueOf(userId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createRequest)
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(itemClient, never()).create(anyLong(), any());
+    }
+
+    @Test
+    void search_whenPaginationParamsIncorrect_thenBadRequestReturned() {
+        userId = 1L;
+        webTestClient.get().uri(URL + "/search?text=text&from=-1&size=0")
+                .header(HEADER, String.valueOf(userId))
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(itemClient, never()).search(anyLong(), anyString(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void createComment_whenCommentTextIsBlank_thenBadRequestReturned() {
+        commentCreateRequest = CommentCreateRequest.builder()
+                .text("  ")
+                .build();
+        userId = 1L;
+        itemId = 1L;
+        webTestClient.post().uri(URL + "/{itemId}/comment", itemId)
+                .header(HEADER, String.valueOf(userId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(commentCreateRequest)
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(itemClient, never()).createComment(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void getById_whenUserIdHeaderMissing_thenBadRequestReturned() {
+        itemId = 1L;
+        webTestClient.get().uri(URL + "/{itemId}", itemId)
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(itemClient, never()).getById(anyLong(), anyLong());
+    }
+}
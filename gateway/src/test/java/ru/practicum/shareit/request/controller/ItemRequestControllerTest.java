@@ -82,6 +82,6 @@ class ItemRequestControllerTest {
                         .param("from", "-1")
                         .param("size", "0"))
                 .andExpect(status().isBadRequest());
-        verify(itemRequestClient, never()).getByUserId(anyLong(), anyInt(), anyInt());
+        verify(itemRequestClient, never()).getByUserId(anyLong(), anyInt(), anyInt(), any());
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.request.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.practicum.shareit.request.client.ReactiveItemRequestClient;
+import ru.practicum.shareit.request.dto.ItemRequestCreateRequest;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Тесты для {@link ReactiveItemRequestController}
+ */
+@WebFluxTest(controllers = {ReactiveItemRequestController.class})
+@ActiveProfiles("reactive")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ReactiveItemRequestControllerTest {
+    private static final String URL = "/requests";
+
+    private static final String HEADER = "X-Sharer-User-Id";
+
+    @MockBean
+    private ReactiveItemRequestClient itemRequestClient;
+
+    private final WebTestClient webTestClient;
+
+    private ItemRequestCreateRequest createRequest;
+
+    private Long userId;
+
+    @Test
+    void create_whenItemRequestDescriptionIsBlank_thenBadRequestReturned() {
+        createRequest = ItemRequestCreateRequest.builder()
+                .description("  ")
+                .build();
+        userId = 1L;
+        webTestClient.post().uri(URL)
+                .header(HEADER, String.valueOf(userId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createRequest)
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(itemRequestClient, never()).create(anyLong(), any());
+    }
+
+    @Test
+    void getByUserId_whenPaginationParamsIncorrect_thenBadRequestReturned() {
+        userId = 1L;
+        webTestClient.get().uri(URL + "/all?from=-1&size=0")
+                .header(HEADER, String.valueOf(userId))
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(itemRequestClient, never()).getByUserId(anyLong(), anyInt(), anyInt(), any());
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.user.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.user.client.ReactiveUserClient;
+import ru.practicum.shareit.user.dto.UserCreateRequest;
+import ru.practicum.shareit.user.dto.UserUpdateRequest;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тесты для {@link ReactiveUserController}.
+ */
+@WebFluxTest(controllers = {ReactiveUserController.class})
+@ActiveProfiles("reactive")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ReactiveUserControllerTest {
+    private static final String URL = "/users";
+
+    @MockBean
+    private ReactiveUserClient userClient;
+
+    private final WebTestClient webTestClient;
+
+    private UserCreateRequest createRequest;
+
+    private UserUpdateRequest updateRequest;
+
+    private Long userId;
+
+    @Test
+    void create_whenUserEmailIsInvalid_thenBadRequestReturned() {
+        createRequest = UserCreateRequest.builder()
+                .email("@incorrect.com")
+                .build();
+        webTestClient.post().uri(URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createRequest)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").exists();
+        verify(userClient, never()).create(any());
+    }
+
+    @Test
+    void patch_whenUserEmailIsInvalid_thenBadRequestReturned() {
+        updateRequest = UserUpdateRequest.builder()
+                .email("@incorrect.com")
+                .build();
+        userId = 1L;
+        webTestClient.patch().uri(URL + "/{userId}", userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updateRequest)
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(userClient, never()).patch(anyLong(), any());
+    }
+
+    @Test
+    void delete_whenServerRespondsWithoutBody_thenEmptyResponseReturned() {
+        userId = 1L;
+        when(userClient.delete(userId)).thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        webTestClient.delete().uri(URL + "/{userId}", userId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().isEmpty();
+    }
+}
@@ -0,0 +1,28 @@
+package db.migration;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Заполнение фазы жизненного цикла существующих бронирований.
+ * Текущее время берется из JVM, как и при сохранении бронирования и продвижении фаз по расписанию,
+ * а не из часов базы данных, которые могут идти в другом часовом поясе.
+ */
+public class V9__backfill_booking_lifecycle_phase extends BaseJavaMigration {
+    private static final String BACKFILL = "update bookings set lifecycle_phase = case " +
+            "when end_date < ? then 'PAST' when start_date > ? then 'FUTURE' else 'CURRENT' end " +
+            "where lifecycle_phase is null";
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (PreparedStatement statement = context.getConnection().prepareStatement(BACKFILL)) {
+            statement.setTimestamp(1, now);
+            statement.setTimestamp(2, now);
+            statement.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.booking.conflict;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.BookingOverlapException;
+
+/**
+ * Проверка пересечения {@link Booking} с активными (WAITING и APPROVED) бронированиями той же вещи.
+ * Интервалы вещи загружаются из базы при первом обращении и затем поддерживаются в памяти:
+ * резерв добавляется сразу и снимается при откате транзакции, только если его добавил этот вызов,
+ * отклонение - после фиксации.
+ * Ограничение ex_bookings_item_period в PostgreSQL остается страховкой для нескольких экземпляров сервиса;
+ * оно добавляется после миграций, когда в базе не осталось пересекающихся бронирований,
+ * а его отсутствие после запуска выявляет {@link BookingOverlapConstraintCheck}.
+ */
+@Component
+public class BookingConflictDetector {
+    public static final Set<BookingStatus> ACTIVE_STATUSES = EnumSet.of(BookingStatus.WAITING,
+            BookingStatus.APPROVED);
+
+    static final String OVERLAP_CONSTRAINT = "ex_bookings_item_period";
+
+    private final BookingRepository bookingRepository;
+
+    private final Cache<Long, ItemBookingIntervals> intervals;
+
+    public BookingConflictDetector(BookingRepository bookingRepository,
+                                   @Value("${shareit.booking.conflict.idle-ttl:1h}") Duration idleTtl) {
+        this.bookingRepository = bookingRepository;
+        this.intervals = Caffeine.newBuilder()
+                .expireAfterAccess(idleTtl)
+                .build();
+    }
+
+    public void check(Booking booking) {
+        if (!ACTIVE_STATUSES.contains(booking.getStatus())) {
+            return;
+        }
+        ItemBookingIntervals itemIntervals = intervalsOf(booking.getItem().getId());
+        synchronized (itemIntervals) {
+            checkConflict(booking, itemIntervals);
+        }
+    }
+
+    public void reserve(Booking booking) {
+        if (!ACTIVE_STATUSES.contains(booking.getStatus())) {
+            return;
+        }
+        ItemBookingIntervals itemIntervals = intervalsOf(booking.getItem().getId());
+        boolean added;
+        synchronized (itemIntervals) {
+            itemIntervals.removeEndedBefore(LocalDateTime.now());
+            checkConflict(booking, itemIntervals);
+            added = itemIntervals.add(BookingInterval.of(booking));
+        }
+        if (added) {
+            afterRollback(() -> {
+                synchronized (itemIntervals) {
+                    itemIntervals.remove(booking.getId());
+                }
+            });
+        }
+    }
+
+    public void release(Booking booking) {
+        afterCommit(() -> {
+            ItemBookingIntervals itemIntervals = intervals.getIfPresent(booking.getItem().getId());
+            if (itemIntervals != null) {
+                synchronized (itemIntervals) {
+                    itemIntervals.remove(booking.getId());
+                }
+            }
+        });
+    }
+
+    public RuntimeException translate(DataIntegrityViolationException exception) {
+        if (exception.getCause() instanceof ConstraintViolationException && OVERLAP_CONSTRAINT.equalsIgnoreCase(
+                ((ConstraintViolationException) exception.getCause()).getConstraintName())) {
+            return new BookingOverlapException("Бронирование пересекается с уже существующим бронированием вещи");
+        }
+        return exception;
+    }
+
+    private void checkConflict(Booking booking, ItemBookingIntervals itemIntervals) {
+        if (itemIntervals.findConflict(BookingInterval.of(booking)) != null) {
+            throw overlap(booking);
+        }
+    }
+
+    private BookingOverlapException overlap(Booking booking) {
+        return new BookingOverlapException("Вещь с id = " + booking.getItem().getId() +
+                " уже забронирована на период с " + booking.getStart() + " по " + booking.getEnd());
+    }
+
+    private ItemBookingIntervals intervalsOf(Long itemId) {
+        return intervals.get(itemId, id -> new ItemBookingIntervals(
+                bookingRepository.findByItemIdAndStatusInAndEndAfter(id, ACTIVE_STATUSES, LocalDateTime.now())
+                        .stream()
+                        .map(BookingInterval::of)
+                        .collect(Collectors.toList())));
+    }
+
+    private void afterRollback(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        action.run();
+                    }
+                }
+            });
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.booking.conflict;
+
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.model.Booking;
+
+/**
+ * Период {@link Booking} в виде полуоткрытого интервала [start, end).
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingInterval {
+    Long bookingId;
+
+    LocalDateTime start;
+
+    LocalDateTime end;
+
+    public static BookingInterval of(Booking booking) {
+        return new BookingInterval(booking.getId(), booking.getStart(), booking.getEnd());
+    }
+
+    public boolean overlaps(BookingInterval other) {
+        return start.isBefore(other.end) && other.start.isBefore(end);
+    }
+}
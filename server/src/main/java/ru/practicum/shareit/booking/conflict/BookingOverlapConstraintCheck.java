@@ -0,0 +1,56 @@
+package ru.practicum.shareit.booking.conflict;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Проверка после запуска, что в PostgreSQL есть ограничение ex_bookings_item_period.
+ * Миграции не добавляют ограничение, пока в базе остаются пересекающиеся бронирования, и сервис при этом
+ * запускается. Без ограничения пересечения ловит только {@link BookingConflictDetector} в памяти одного
+ * экземпляра, поэтому в режиме блокировок {@code advisory}, рассчитанном на несколько экземпляров,
+ * запуск прерывается, а в режиме {@code local} в журнал пишется предупреждение.
+ */
+@Slf4j
+@Component
+public class BookingOverlapConstraintCheck {
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private static final String ADVISORY_LOCK_MODE = "advisory";
+
+    private static final String CONSTRAINT_COUNT = "select count(*) from pg_constraint where conname = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String lockMode;
+
+    public BookingOverlapConstraintCheck(JdbcTemplate jdbcTemplate,
+                                         @Value("${shareit.booking.lock.mode:local}") String lockMode) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lockMode = lockMode;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void check() {
+        if (!POSTGRESQL.equals(jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName()))) {
+            return;
+        }
+        Long count = jdbcTemplate.queryForObject(CONSTRAINT_COUNT, Long.class,
+                BookingConflictDetector.OVERLAP_CONSTRAINT);
+        if (count != null && count > 0) {
+            return;
+        }
+        if (ADVISORY_LOCK_MODE.equals(lockMode)) {
+            throw new IllegalStateException("Режим блокировок advisory требует ограничения " +
+                    BookingConflictDetector.OVERLAP_CONSTRAINT + ": устраните пересечения из " +
+                    "booking_overlap_conflicts и перезапустите миграции");
+        }
+        log.warn("Ограничение {} отсутствует: пересечения бронирований проверяются только в памяти экземпляра, " +
+                "см. booking_overlap_conflicts", BookingConflictDetector.OVERLAP_CONSTRAINT);
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.booking.conflict;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Активные бронирования одной вещи, упорядоченные по началу.
+ * Интервалы в дереве не пересекаются, поэтому конфликт ищется одним поиском предшественника за O(log n).
+ * Пересекающиеся интервалы, оставшиеся от данных до появления проверки, хранятся отдельным списком.
+ * Класс не потокобезопасен, синхронизация - на стороне {@link BookingConflictDetector}.
+ */
+class ItemBookingIntervals {
+    private final NavigableMap<LocalDateTime, BookingInterval> byStart = new TreeMap<>();
+
+    private final List<BookingInterval> overlapping = new ArrayList<>();
+
+    private final Map<Long, BookingInterval> byId = new HashMap<>();
+
+    ItemBookingIntervals(List<BookingInterval> intervals) {
+        intervals.forEach(this::add);
+    }
+
+    BookingInterval findConflict(BookingInterval interval) {
+        Map.Entry<LocalDateTime, BookingInterval> candidate = byStart.lowerEntry(interval.getEnd());
+        while (candidate != null && isSame(candidate.getValue(), interval)) {
+            candidate = byStart.lowerEntry(candidate.getKey());
+        }
+        if (candidate != null && candidate.getValue().overlaps(interval)) {
+            return candidate.getValue();
+        }
+        return overlapping.stream()
+                .filter(other -> !isSame(other, interval) && other.overlaps(interval))
+                .findFirst()
+                .orElse(null);
+    }
+
+    boolean add(BookingInterval interval) {
+        if (byId.containsKey(interval.getBookingId())) {
+            return false;
+        }
+        byId.put(interval.getBookingId(), interval);
+        Map.Entry<LocalDateTime, BookingInterval> previous = byStart.floorEntry(interval.getStart());
+        Map.Entry<LocalDateTime, BookingInterval> next = byStart.higherEntry(interval.getStart());
+        if (byStart.containsKey(interval.getStart())
+                || (previous != null && previous.getValue().overlaps(interval))
+                || (next != null && next.getValue().overlaps(interval))) {
+            overlapping.add(interval);
+        } else {
+            byStart.put(interval.getStart(), interval);
+        }
+        return true;
+    }
+
+    void remove(Long bookingId) {
+        BookingInterval interval = byId.remove(bookingId);
+        if (interval != null && !byStart.remove(interval.getStart(), interval)) {
+            overlapping.remove(interval);
+        }
+    }
+
+    void removeEndedBefore(LocalDateTime now) {
+        while (!byStart.isEmpty() && !byStart.firstEntry().getValue().getEnd().isAfter(now)) {
+            byId.remove(byStart.pollFirstEntry().getValue().getBookingId());
+        }
+        overlapping.removeIf(interval -> {
+            boolean ended = !interval.getEnd().isAfter(now);
+            if (ended) {
+                byId.remove(interval.getBookingId());
+            }
+            return ended;
+        });
+    }
+
+    int size() {
+        return byId.size();
+    }
+
+    private boolean isSame(BookingInterval first, BookingInterval second) {
+        return first.getBookingId().equals(second.getBookingId());
+    }
+}
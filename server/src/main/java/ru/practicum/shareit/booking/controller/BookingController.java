@@ -1,7 +1,10 @@
 package ru.practicum.shareit.booking.controller;
 
 import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,11 +14,21 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchEntryView;
 import ru.practicum.shareit.booking.dto.BookingCreateRequest;
 import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.export.BookingExportFormat;
+import ru.practicum.shareit.booking.export.BookingExporter;
+import ru.practicum.shareit.booking.internal.BookingCursor;
 import ru.practicum.shareit.booking.mapper.BookingConverter;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.EntityTag;
+import ru.practicum.shareit.common.ResourceVersions;
+import ru.practicum.shareit.user.cache.UserPresenceCache;
 
 /**
  * Контроллер для {@link Booking}.
@@ -26,42 +39,131 @@ import ru.practicum.shareit.booking.service.BookingService;
 public class BookingController {
     private static final String USER_ID_REQUEST_HEADER_NAME = "X-Sharer-User-Id";
 
+    private static final String NEXT_CURSOR_RESPONSE_HEADER_NAME = "X-Next-Cursor";
+
+    /**
+     * Состояния, выборка по которым зависит только от сохраненных данных, а не от текущего времени.
+     */
+    private static final Set<String> VERSIONED_STATES = Set.of(BookingState.ALL.name(),
+            BookingState.WAITING.name(), BookingState.REJECTED.name());
+
     private final BookingService bookingService;
 
     private final BookingConverter bookingConverter;
 
+    private final BookingExporter bookingExporter;
+
+    private final ResourceVersions resourceVersions;
+
+    private final UserPresenceCache userPresenceCache;
+
     @PostMapping
     public BookingView create(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
                               @RequestBody BookingCreateRequest request) {
         return bookingConverter.convert(bookingService.create(userId, bookingConverter.convert(request)));
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchEntryView> createAll(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                                 @RequestBody List<BookingCreateRequest> requests) {
+        return bookingConverter.convertEntries(bookingService.createAll(userId,
+                bookingConverter.convertRequests(requests)));
+    }
+
     @PatchMapping("/{bookingId}")
-    public BookingView patch(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
-                             @PathVariable Long bookingId,
-                             @RequestParam Boolean approved) {
-        return bookingConverter.convert(bookingService.patch(userId, bookingId, approved));
+    public ResponseEntity<BookingView> patch(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                             String ifMatch,
+                                             @PathVariable Long bookingId,
+                                             @RequestParam Boolean approved) {
+        return toVersionedView(bookingService.patch(userId, bookingId, approved, EntityTag.parseVersion(ifMatch)));
     }
 
     @GetMapping("/{bookingId}")
-    public BookingView getById(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
-                               @PathVariable Long bookingId) {
-        return bookingConverter.convert(bookingService.getById(userId, bookingId));
+    public ResponseEntity<BookingView> getById(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                               @PathVariable Long bookingId) {
+        return toVersionedView(bookingService.getById(userId, bookingId));
     }
 
     @GetMapping
-    public List<BookingView> getAllByBookerId(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
-                                              @RequestParam(defaultValue = "ALL") String state,
-                                              @RequestParam(defaultValue = "0") Integer from,
-                                              @RequestParam(defaultValue = "10") Integer size) {
-        return bookingConverter.convert(bookingService.getAllByBookerId(userId, state, from, size));
+    public ResponseEntity<List<BookingView>> getAllByBookerId(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                                              @RequestParam(defaultValue = "ALL") String state,
+                                                              @RequestParam(defaultValue = "0") Integer from,
+                                                              @RequestParam(defaultValue = "10") Integer size,
+                                                              @RequestParam(required = false) String cursor,
+                                                              WebRequest webRequest) {
+        if (isNotModified(userId, webRequest, state)) {
+            return null;
+        }
+        if (cursor == null) {
+            return ResponseEntity.ok()
+                    .varyBy(USER_ID_REQUEST_HEADER_NAME)
+                    .body(bookingConverter.convert(bookingService.getAllByBookerId(userId, state, from, size)));
+        }
+        return toCursorPage(bookingService.getAllByBookerIdAfter(userId, state, BookingCursor.decode(cursor), size),
+                size);
     }
 
     @GetMapping("/owner")
-    public List<BookingView> getAllByOwnerId(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
-                                             @RequestParam(defaultValue = "ALL") String state,
-                                             @RequestParam(defaultValue = "0") Integer from,
-                                             @RequestParam(defaultValue = "10") Integer size) {
-        return bookingConverter.convert(bookingService.getAllByOwnerId(userId, state, from, size));
+    public ResponseEntity<List<BookingView>> getAllByOwnerId(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                                             @RequestParam(defaultValue = "ALL") String state,
+                                                             @RequestParam(defaultValue = "0") Integer from,
+                                                             @RequestParam(defaultValue = "10") Integer size,
+                                                             @RequestParam(required = false) String cursor,
+                                                             WebRequest webRequest) {
+        if (isNotModified(userId, webRequest, state)) {
+            return null;
+        }
+        if (cursor == null) {
+            return ResponseEntity.ok()
+                    .varyBy(USER_ID_REQUEST_HEADER_NAME)
+                    .body(bookingConverter.convert(bookingService.getAllByOwnerId(userId, state, from, size)));
+        }
+        return toCursorPage(bookingService.getAllByOwnerIdAfter(userId, state, BookingCursor.decode(cursor), size),
+                size);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportByBookerId(
+            @RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        BookingExportFormat exportFormat = BookingExportFormat.from(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .body(bookingExporter.exportByBookerId(userId, exportFormat));
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportByOwnerId(
+            @RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        BookingExportFormat exportFormat = BookingExportFormat.from(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .body(bookingExporter.exportByOwnerId(userId, exportFormat));
+    }
+
+    private boolean isNotModified(Long userId, WebRequest webRequest, String state) {
+        if (!VERSIONED_STATES.contains(state)) {
+            return false;
+        }
+        userPresenceCache.checkExists(userId);
+        return resourceVersions.checkNotModified(userId, webRequest,
+                ResourceVersions.Resource.BOOKING, ResourceVersions.Resource.ITEM);
+    }
+
+    private ResponseEntity<BookingView> toVersionedView(Booking booking) {
+        return ResponseEntity.ok()
+                .eTag(EntityTag.of(booking.getVersion()))
+                .body(bookingConverter.convert(booking));
+    }
+
+    private ResponseEntity<List<BookingView>> toCursorPage(List<Booking> bookings, Integer size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().varyBy(USER_ID_REQUEST_HEADER_NAME);
+        if (!bookings.isEmpty() && bookings.size() == size) {
+            response.header(NEXT_CURSOR_RESPONSE_HEADER_NAME,
+                    BookingCursor.after(bookings.get(bookings.size() - 1)).encode());
+        }
+        return response.body(bookingConverter.convert(bookings));
     }
 }
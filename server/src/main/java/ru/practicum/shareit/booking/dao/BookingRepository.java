@@ -1,66 +1,109 @@
 package ru.practicum.shareit.booking.dao;
 
+import java.util.Collection;
 import java.util.List;
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
 
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.internal.BookingShort;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 /**
  * ДАО для {@link Booking}.
  */
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByBookerIdOrderByStartDesc(Long userId, Pageable pageable);
-
-    List<Booking> findByBookerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(Long userId,
-                                                                            LocalDateTime start, LocalDateTime end,
-                                                                                            Pageable pageable);
-
-    List<Booking> findByBookerIdAndEndLessThanOrderByStartDesc(Long userId, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findByBookerIdAndStartGreaterThanOrderByStartDesc(Long userId, LocalDateTime start, Pageable pageable);
-
-    List<Booking> findByBookerIdAndStatusIsOrderByStartDesc(Long userId, BookingStatus status, Pageable pageable);
-
-    List<Booking> findByItemOwnerIdOrderByStartDesc(Long userId, Pageable pageable);
-
-    List<Booking> findByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(Long userId,
-                                                                            LocalDateTime start, LocalDateTime end,
-                                                                                               Pageable pageable);
-
-    List<Booking> findByItemOwnerIdAndEndLessThanOrderByStartDesc(Long userId, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findByItemOwnerIdAndStartGreaterThanOrderByStartDesc(Long userId, LocalDateTime start, Pageable pageable);
-
-    List<Booking> findByItemOwnerIdAndStatusIsOrderByStartDesc(Long userId, BookingStatus status, Pageable pageable);
-
-    Booking findFirstByItemIdAndStartLessThanEqualAndStatusIsOrderByStartDesc(Long itemId, LocalDateTime end,
-                                                                          BookingStatus status);
-
-    Booking findFirstByItemIdAndStartGreaterThanAndStatusIsOrderByStartAsc(Long itemId, LocalDateTime start,
-                                                                           BookingStatus status);
-
-    List<Booking> findFirstByItemIdInAndStartLessThanEqualAndStatusIsOrderByStartDesc(List<Long> itemIds,
-                                                                          LocalDateTime end, BookingStatus status);
-
-    List<Booking> findFirstByItemIdInAndStartGreaterThanAndStatusIsOrderByStartAsc(List<Long> itemIds,
-                                                                           LocalDateTime start, BookingStatus status);
-
-    Booking findFirstByBookerIdAndItemIdAndEndLessThan(Long userId, Long itemId, LocalDateTime end);
-
-    default Map<Long, Booking> findAllLastBookings(List<Long> itemIds, LocalDateTime end, BookingStatus status) {
-        return findFirstByItemIdInAndStartLessThanEqualAndStatusIsOrderByStartDesc(itemIds, end, status).stream()
-                .collect(Collectors.toMap(booking -> booking.getItem().getId(), booking -> booking));
-    }
-
-    default Map<Long, Booking> findAllNextBookings(List<Long> itemIds, LocalDateTime start, BookingStatus status) {
-        return findFirstByItemIdInAndStartGreaterThanAndStatusIsOrderByStartAsc(itemIds, start, status).stream()
-                .collect(Collectors.toMap(booking -> booking.getItem().getId(), booking -> booking));
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingStateRepository {
+    int EXPORT_FETCH_SIZE = 500;
+
+    String EXPORT = "select b from Booking b join fetch b.item i join fetch b.booker u where ";
+
+    String EXPORT_ORDER = " order by b.start desc, b.id desc";
+
+    String PHASE = "ru.practicum.shareit.booking.model.BookingPhase.";
+
+    /**
+     * Решение владельца по бронированию. Как и до перехода на условное обновление, запрещено только менять
+     * решение по уже подтвержденному бронированию: отклоненное можно подтвердить, если период вещи свободен.
+     */
+    String OWNER_TRANSITION = "update Booking b set b.status = :status, b.version = b.version + 1 " +
+            "where b.id = :bookingId and b.status <> ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "and b.item.id in (select i.id from Item i where i.owner.id = :ownerId)";
+
+    @Query("select case when count(b) > 0 then true else false end from Booking b " +
+            "where b.booker.id = :userId and b.item.id = :itemId and b.end < :end")
+    boolean existsByBookerIdAndItemIdAndEndLessThan(@Param("userId") Long userId, @Param("itemId") Long itemId,
+                                                    @Param("end") LocalDateTime end);
+
+    @Query("select b from Booking b where b.item.id = :itemId and b.status in (:statuses) and b.end > :end")
+    List<Booking> findByItemIdAndStatusInAndEndAfter(@Param("itemId") Long itemId,
+                                                     @Param("statuses") Collection<BookingStatus> statuses,
+                                                     @Param("end") LocalDateTime end);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(OWNER_TRANSITION)
+    int updateStatusByOwner(@Param("bookingId") Long bookingId, @Param("ownerId") Long ownerId,
+                            @Param("status") BookingStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(OWNER_TRANSITION + " and b.version = :version")
+    int updateStatusByOwnerAndVersion(@Param("bookingId") Long bookingId, @Param("ownerId") Long ownerId,
+                                      @Param("status") BookingStatus status, @Param("version") Long version);
+
+    @Modifying
+    @Query("update Booking b set b.phase = " + PHASE + "PAST " +
+            "where b.phase in (" + PHASE + "FUTURE, " + PHASE + "CURRENT) and b.end < :now")
+    int advancePhaseToPast(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update Booking b set b.phase = " + PHASE + "CURRENT " +
+            "where b.phase = " + PHASE + "FUTURE and b.start <= :now and b.end >= :now")
+    int advancePhaseToCurrent(@Param("now") LocalDateTime now);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(EXPORT + "u.id = :bookerId" + EXPORT_ORDER)
+    Stream<Booking> streamByBookerId(@Param("bookerId") Long bookerId);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(EXPORT + "i.owner.id = :ownerId" + EXPORT_ORDER)
+    Stream<Booking> streamByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query("select b.item.id from Booking b where b.id = :bookingId")
+    Optional<Long> findItemIdById(@Param("bookingId") Long bookingId);
+
+    @Query("select b from Booking b join fetch b.item join fetch b.booker where b.id = :bookingId")
+    Optional<Booking> findWithItemAndBookerById(@Param("bookingId") Long bookingId);
+
+    @Query(value = "select b.\"itemId\", b.\"id\", b.\"bookerId\", b.\"start\", b.\"end\", b.\"next\" from (" +
+            "select bk.item_id as \"itemId\", bk.id as \"id\", bk.booker_id as \"bookerId\", " +
+            "bk.start_date as \"start\", bk.end_date as \"end\", bk.start_date > :now as \"next\", " +
+            "row_number() over (partition by bk.item_id, bk.start_date > :now order by " +
+            "case when bk.start_date > :now then bk.start_date end asc, bk.start_date desc) as rn " +
+            "from bookings bk where bk.item_id in (:itemIds) and bk.status = :#{#status.name()}) b " +
+            "where b.rn = 1", nativeQuery = true)
+    List<BookingShort> findLastAndNextByItemIdIn(@Param("itemIds") List<Long> itemIds,
+                                                 @Param("now") LocalDateTime now,
+                                                 @Param("status") BookingStatus status);
+
+    default Map<Boolean, Map<Long, BookingShort>> findAllLastAndNextBookings(List<Long> itemIds, LocalDateTime now,
+                                                                             BookingStatus status) {
+        List<BookingShort> bookings = itemIds.isEmpty() ? List.of() : findLastAndNextByItemIdIn(itemIds, now, status);
+        return bookings.stream().collect(Collectors.partitioningBy(BookingShort::getNext,
+                Collectors.toMap(BookingShort::getItemId, booking -> booking)));
     }
 }
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.dao;
+
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.internal.BookingStateQuery;
+import ru.practicum.shareit.booking.model.Booking;
+
+/**
+ * ДАО выборки {@link Booking} пользователя по статусу для запроса.
+ */
+public interface BookingStateRepository {
+    List<Booking> findAllByState(BookingStateQuery query, Pageable pageable);
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.booking.dao;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.internal.BookingCursor;
+import ru.practicum.shareit.booking.internal.BookingStateQuery;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPhase;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+
+/**
+ * Реализация ДАО выборки {@link Booking} по статусу для запроса.
+ * Один запрос Criteria API собирается из условия на пользователя, условия на статус и курсора,
+ * вещь и арендатор загружаются в том же запросе. При включенной фазе жизненного цикла CURRENT, PAST и FUTURE
+ * выбираются по равенству {@link BookingPhase} вместо сравнения дат, результат актуален на момент
+ * последнего продвижения фаз.
+ */
+public class BookingStateRepositoryImpl implements BookingStateRepository {
+    private final EntityManager entityManager;
+
+    private final boolean phaseEnabled;
+
+    public BookingStateRepositoryImpl(EntityManager entityManager,
+                                      @Value("${shareit.booking.lifecycle-phase.enabled:false}") boolean phaseEnabled) {
+        this.entityManager = entityManager;
+        this.phaseEnabled = phaseEnabled;
+    }
+
+    @Override
+    public List<Booking> findAllByState(BookingStateQuery query, Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> criteria = builder.createQuery(Booking.class);
+        Root<Booking> booking = criteria.from(Booking.class);
+        @SuppressWarnings("unchecked")
+        Join<Booking, Item> item = (Join<Booking, Item>) booking.<Booking, Item>fetch("item");
+        booking.fetch("booker");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(query.isOwner()
+                ? builder.equal(item.get("owner").get("id"), query.getUserId())
+                : builder.equal(booking.get("booker").get("id"), query.getUserId()));
+        addStatePredicate(predicates, builder, booking, query.getState(), LocalDateTime.now());
+        if (query.getCursor() != null) {
+            predicates.add(afterCursor(builder, booking, query.getCursor()));
+        }
+
+        criteria.select(booking)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(builder.desc(booking.get("start")), builder.desc(booking.get("id")));
+
+        TypedQuery<Booking> typedQuery = entityManager.createQuery(criteria);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList();
+    }
+
+    private void addStatePredicate(List<Predicate> predicates, CriteriaBuilder builder, Root<Booking> booking,
+                                   BookingState state, LocalDateTime now) {
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+
+        switch (state) {
+            case ALL:
+                return;
+            case CURRENT:
+                predicates.add(phaseEnabled ? builder.equal(booking.get("phase"), BookingPhase.CURRENT)
+                        : builder.and(builder.lessThanOrEqualTo(start, now), builder.greaterThanOrEqualTo(end, now)));
+                return;
+            case PAST:
+                predicates.add(phaseEnabled ? builder.equal(booking.get("phase"), BookingPhase.PAST)
+                        : builder.lessThan(end, now));
+                return;
+            case FUTURE:
+                predicates.add(phaseEnabled ? builder.equal(booking.get("phase"), BookingPhase.FUTURE)
+                        : builder.greaterThan(start, now));
+                return;
+            case WAITING:
+                predicates.add(builder.equal(booking.get("status"), BookingStatus.WAITING));
+                return;
+            case REJECTED:
+                predicates.add(builder.equal(booking.get("status"), BookingStatus.REJECTED));
+                return;
+            default:
+                throw new ValidationException("Unknown state: UNSUPPORTED_STATUS");
+        }
+    }
+
+    private Predicate afterCursor(CriteriaBuilder builder, Root<Booking> booking, BookingCursor cursor) {
+        Path<LocalDateTime> start = booking.get("start");
+        Path<Long> id = booking.get("id");
+        return builder.or(builder.lessThan(start, cursor.getStart()),
+                builder.and(builder.equal(start, cursor.getStart()), builder.lessThan(id, cursor.getId())));
+    }
+}
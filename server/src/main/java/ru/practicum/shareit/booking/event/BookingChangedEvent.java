@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.model.Booking;
+
+/**
+ * Событие создания или изменения статуса {@link Booking}.
+ */
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingChangedEvent {
+    Long bookingId;
+
+    Long itemId;
+}
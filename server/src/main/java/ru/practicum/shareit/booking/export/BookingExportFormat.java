@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.export;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.exception.ValidationException;
+
+/**
+ * Формат потоковой выгрузки бронирований.
+ */
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public enum BookingExportFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8));
+
+    MediaType mediaType;
+
+    public static BookingExportFormat from(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException exception) {
+            throw new ValidationException("Неизвестный формат выгрузки: " + value);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.booking.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.mapper.BookingConverter;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.logging.AuditLog;
+import ru.practicum.shareit.user.cache.UserPresenceCache;
+
+/**
+ * Потоковая выгрузка всей истории бронирований пользователя. Строки читаются курсором порциями по
+ * {@link BookingRepository#EXPORT_FETCH_SIZE} и сразу пишутся в ответ, контекст персистентности очищается
+ * после каждой порции, поэтому расход памяти не зависит от числа бронирований.
+ */
+@Component
+public class BookingExporter {
+    private static final String CSV_HEADER = "id,start,end,status,itemId,itemName,bookerId";
+
+    private final BookingRepository bookingRepository;
+
+    private final BookingConverter bookingConverter;
+
+    private final UserPresenceCache userPresenceCache;
+
+    private final ObjectMapper objectMapper;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final AuditLog auditLog;
+
+    public BookingExporter(BookingRepository bookingRepository, BookingConverter bookingConverter,
+                           UserPresenceCache userPresenceCache, ObjectMapper objectMapper,
+                           EntityManager entityManager, PlatformTransactionManager transactionManager,
+                           AuditLog auditLog) {
+        this.bookingRepository = bookingRepository;
+        this.bookingConverter = bookingConverter;
+        this.userPresenceCache = userPresenceCache;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.auditLog = auditLog;
+    }
+
+    public StreamingResponseBody exportByBookerId(Long userId, BookingExportFormat format) {
+        auditLog.info("Выгрузка всех бронирований пользователя с id = {} в формате {}", userId, format);
+
+        userPresenceCache.checkExists(userId);
+
+        return out -> export(() -> bookingRepository.streamByBookerId(userId), format, out);
+    }
+
+    public StreamingResponseBody exportByOwnerId(Long userId, BookingExportFormat format) {
+        auditLog.info("Выгрузка всех бронирований владельца вещи с id = {} в формате {}", userId, format);
+
+        userPresenceCache.checkExists(userId);
+
+        return out -> export(() -> bookingRepository.streamByOwnerId(userId), format, out);
+    }
+
+    private void export(Supplier<Stream<Booking>> query, BookingExportFormat format, OutputStream out)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == BookingExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Booking> bookings = query.get()) {
+                    int[] written = {0};
+                    bookings.forEach(booking -> {
+                        write(writer, format, bookingConverter.convert(booking));
+                        if (++written[0] % BookingRepository.EXPORT_FETCH_SIZE == 0) {
+                            entityManager.clear();
+                        }
+                    });
+                }
+            });
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+        writer.flush();
+    }
+
+    private void write(Writer writer, BookingExportFormat format, BookingView booking) {
+        try {
+            if (format == BookingExportFormat.NDJSON) {
+                writer.write(objectMapper.writeValueAsString(booking));
+            } else {
+                writer.write(String.join(",", String.valueOf(booking.getId()), String.valueOf(booking.getStart()),
+                        String.valueOf(booking.getEnd()), booking.getStatus(),
+                        String.valueOf(booking.getItem().getId()), csv(booking.getItem().getName()),
+                        String.valueOf(booking.getBooker().getId())));
+            }
+            writer.write('\n');
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static String csv(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
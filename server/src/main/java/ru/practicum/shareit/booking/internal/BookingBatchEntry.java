@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking.internal;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.model.Booking;
+
+/**
+ * Результат добавления одного {@link Booking} из пакета: созданное бронирование либо причина отказа.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingBatchEntry {
+    Booking booking;
+
+    String error;
+
+    public static BookingBatchEntry created(Booking booking) {
+        return new BookingBatchEntry(booking, null);
+    }
+
+    public static BookingBatchEntry rejected(String error) {
+        return new BookingBatchEntry(null, error);
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.internal;
+
+import java.time.LocalDateTime;
+import ru.practicum.shareit.booking.model.Booking;
+
+/**
+ * Краткие сведения о последнем или следующем {@link Booking} вещи (проекция).
+ */
+public interface BookingShort {
+    Long getItemId();
+
+    Long getId();
+
+    Long getBookerId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+
+    Boolean getNext();
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.booking.internal;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+
+/**
+ * Параметры выборки {@link Booking} пользователя по {@link BookingState}: со стороны арендатора или владельца вещи,
+ * с постраничностью по смещению или после курсора.
+ */
+@Getter
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingStateQuery {
+    Long userId;
+
+    boolean owner;
+
+    BookingState state;
+
+    BookingCursor cursor;
+
+    public static BookingStateQuery ofBooker(Long userId, BookingState state) {
+        return new BookingStateQuery(userId, false, state, null);
+    }
+
+    public static BookingStateQuery ofOwner(Long userId, BookingState state) {
+        return new BookingStateQuery(userId, true, state, null);
+    }
+
+    public BookingStateQuery after(BookingCursor cursor) {
+        return new BookingStateQuery(userId, owner, state, cursor);
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.lifecycle;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Включение планировщика для {@link BookingPhaseScheduler}, когда фаза жизненного цикла бронирований используется.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "shareit.booking.lifecycle-phase.enabled", havingValue = "true")
+public class BookingLifecycleConfig {
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.booking.lifecycle;
+
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.model.BookingPhase;
+
+/**
+ * Продвижение {@link BookingPhase} бронирований по расписанию.
+ * Новые бронирования получают фазу при сохранении, далее фаза сдвигается вперед не реже интервала запуска,
+ * поэтому выборки по фазе могут отставать от времени не более чем на этот интервал.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking.lifecycle-phase.enabled", havingValue = "true")
+public class BookingPhaseScheduler {
+    private final BookingRepository bookingRepository;
+
+    @Scheduled(fixedDelayString = "${shareit.booking.lifecycle-phase.interval:PT1M}")
+    @Transactional
+    public void advance() {
+        LocalDateTime now = LocalDateTime.now();
+        int past = bookingRepository.advancePhaseToPast(now);
+        int current = bookingRepository.advancePhaseToCurrent(now);
+        log.debug("Фазы бронирований продвинуты: {} в PAST, {} в CURRENT", past, current);
+    }
+}
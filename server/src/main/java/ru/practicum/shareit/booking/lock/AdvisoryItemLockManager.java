@@ -0,0 +1,33 @@
+package ru.practicum.shareit.booking.lock;
+
+import java.util.Collection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Блокировка вещей функцией PostgreSQL pg_advisory_xact_lock, общая для всех экземпляров сервиса.
+ * Блокировка снимается базой при завершении транзакции, ключом служит id вещи.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking.lock.mode", havingValue = "advisory")
+public class AdvisoryItemLockManager implements ItemLockManager {
+    private static final String LOCK = "select pg_advisory_xact_lock(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void lock(Long itemId) {
+        jdbcTemplate.query(LOCK, resultSet -> null, itemId);
+    }
+
+    @Override
+    public void lockAll(Collection<Long> itemIds) {
+        itemIds.stream()
+                .distinct()
+                .sorted()
+                .forEach(this::lock);
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.lock;
+
+import java.util.Collection;
+import ru.practicum.shareit.item.model.Item;
+
+/**
+ * Блокировка бронирований {@link Item} до завершения текущей транзакции.
+ * Операции над разными вещами не блокируют друг друга.
+ */
+public interface ItemLockManager {
+    void lock(Long itemId);
+
+    void lockAll(Collection<Long> itemIds);
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.booking.lock;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Блокировка вещей внутри процесса набором полос {@link ReentrantLock}, выбираемых по id вещи.
+ * Полосы захватываются в порядке возрастания номера, поэтому пакетные операции не взаимоблокируются.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.booking.lock.mode", havingValue = "local", matchIfMissing = true)
+public class StripedItemLockManager implements ItemLockManager {
+    private final ReentrantLock[] stripes;
+
+    public StripedItemLockManager(@Value("${shareit.booking.lock.stripes:1024}") int stripes) {
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(stripes - 1, 1)) << 1];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public void lock(Long itemId) {
+        lockStripe(stripeOf(itemId));
+    }
+
+    @Override
+    public void lockAll(Collection<Long> itemIds) {
+        itemIds.stream()
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .forEach(this::lockStripe);
+    }
+
+    private void lockStripe(int stripe) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Блокировка вещи возможна только внутри транзакции");
+        }
+        ReentrantLock lock = stripes[stripe];
+        lock.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    private int stripeOf(Long itemId) {
+        int hash = Long.hashCode(itemId);
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+}
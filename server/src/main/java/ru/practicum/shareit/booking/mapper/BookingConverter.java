@@ -1,11 +1,14 @@
 package ru.practicum.shareit.booking.mapper;
 
+import java.util.ArrayList;
 import java.util.List;
 import org.mapstruct.AnnotateWith;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import ru.practicum.shareit.booking.dto.BookingBatchEntryView;
 import ru.practicum.shareit.booking.dto.BookingCreateRequest;
 import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.internal.BookingBatchEntry;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.common.GeneratedMapper;
 
@@ -19,7 +22,22 @@ public interface BookingConverter {
     @Mapping(constant = "WAITING", target = "status")
     Booking convert(BookingCreateRequest request);
 
+    List<Booking> convertRequests(List<BookingCreateRequest> requests);
+
     BookingView convert(Booking booking);
 
     List<BookingView> convert(List<Booking> bookings);
+
+    default List<BookingBatchEntryView> convertEntries(List<BookingBatchEntry> entries) {
+        List<BookingBatchEntryView> views = new ArrayList<>(entries.size());
+        for (int index = 0; index < entries.size(); index++) {
+            BookingBatchEntry entry = entries.get(index);
+            views.add(BookingBatchEntryView.builder()
+                    .index(index)
+                    .booking(convert(entry.getBooking()))
+                    .error(entry.getError())
+                    .build());
+        }
+        return views;
+    }
 }
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.booking.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+/**
+ * Счетчики переходов {@link Booking} между статусами: создание переводит бронирование в WAITING,
+ * подтверждение и отклонение - в APPROVED и REJECTED.
+ */
+@Component
+public class BookingMetrics {
+    private static final String TRANSITIONS = "shareit.booking.transitions";
+
+    private final Map<BookingStatus, Counter> transitions = new EnumMap<>(BookingStatus.class);
+
+    public BookingMetrics(MeterRegistry meterRegistry) {
+        for (BookingStatus status : BookingStatus.values()) {
+            transitions.put(status, Counter.builder(TRANSITIONS)
+                    .description("Переходы бронирований в статус")
+                    .tag("status", status.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    public void transitioned(BookingStatus status) {
+        transitions.get(status).increment();
+    }
+
+    public void transitioned(BookingStatus status, int count) {
+        transitions.get(status).increment(count);
+    }
+}
@@ -7,7 +7,9 @@ import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.FetchType;
 import javax.persistence.ManyToOne;
+import javax.persistence.PrePersist;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -46,4 +48,18 @@ public class Booking extends AbstractEntity {
 
     @Enumerated(EnumType.STRING)
     BookingStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "lifecycle_phase")
+    BookingPhase phase;
+
+    @Version
+    Long version;
+
+    @PrePersist
+    void assignPhase() {
+        if (phase == null && start != null && end != null) {
+            phase = BookingPhase.of(start, end, LocalDateTime.now());
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking.service;
 
 import java.util.List;
+import ru.practicum.shareit.booking.internal.BookingBatchEntry;
+import ru.practicum.shareit.booking.internal.BookingCursor;
 import ru.practicum.shareit.booking.model.Booking;
 
 /**
@@ -9,11 +11,17 @@ import ru.practicum.shareit.booking.model.Booking;
 public interface BookingService {
     Booking create(Long userId, Booking booking);
 
-    Booking patch(Long userId, Long bookingId, Boolean approved);
+    List<BookingBatchEntry> createAll(Long userId, List<Booking> bookings);
+
+    Booking patch(Long userId, Long bookingId, Boolean approved, Long version);
 
     Booking getById(Long userId, Long bookingId);
 
     List<Booking> getAllByBookerId(Long userId, String state, Integer from, Integer size);
 
     List<Booking> getAllByOwnerId(Long userId, String state, Integer from, Integer size);
+
+    List<Booking> getAllByBookerIdAfter(Long userId, String state, BookingCursor cursor, Integer size);
+
+    List<Booking> getAllByOwnerIdAfter(Long userId, String state, BookingCursor cursor, Integer size);
 }
@@ -1,21 +1,36 @@
 package ru.practicum.shareit.booking.service;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.conflict.BookingConflictDetector;
 import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.booking.internal.BookingBatchEntry;
+import ru.practicum.shareit.booking.internal.BookingCursor;
+import ru.practicum.shareit.booking.internal.BookingStateQuery;
+import ru.practicum.shareit.booking.lock.ItemLockManager;
+import ru.practicum.shareit.booking.metrics.BookingMetrics;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.BookingOverlapException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.logging.AuditLog;
+import ru.practicum.shareit.user.cache.UserPresenceCache;
 import ru.practicum.shareit.user.model.User;
 
 /**
@@ -23,7 +38,6 @@ import ru.practicum.shareit.user.model.User;
  */
 @Service
 @RequiredArgsConstructor
-@Slf4j
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
 
@@ -31,61 +45,128 @@ public class BookingServiceImpl implements BookingService {
 
     private final ItemRepository itemRepository;
 
-    private final UserRepository userRepository;
+    private final BookingConflictDetector bookingConflictDetector;
+
+    private final ItemLockManager itemLockManager;
+
+    private final UserPresenceCache userPresenceCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final BookingMetrics bookingMetrics;
+
+    private final AuditLog auditLog;
 
     @Override
     @Transactional
     public Booking create(Long userId, Booking booking) {
-        log.info("Добавление бронирования {} пользователем с id = {}", booking, userId);
+        auditLog.info("Добавление бронирования вещи с id = {} пользователем с id = {}", booking.getItem().getId(),
+                userId);
 
-        checkUserExists(userId);
+        userPresenceCache.checkExists(userId);
         booking.setBooker(User.builder().id(userId).build());
+        itemLockManager.lock(booking.getItem().getId());
 
         Item item = itemRepository.findById(booking.getItem().getId())
                 .orElseThrow(() -> new EntityNotFoundException("Не найдена вещь по id = " +
                         booking.getItem().getId()));
+        checkBookable(userId, item);
         booking.setItem(item);
+        bookingConflictDetector.check(booking);
 
-        if (!item.getAvailable()) {
-            throw new ValidationException("Вещь с id = " + booking.getItem().getId() +
-                    " не доступна для бронирования");
-        }
-        if (item.getOwner().getId().equals(userId)) {
-            throw new EntityNotFoundException("Вещь с id = " + booking.getItem().getId() +
-                    " уже принадлежит пользователю с id = " + userId);
-        }
+        Booking savedBooking = bookingRepository.save(booking);
+        bookingConflictDetector.reserve(savedBooking);
+        flush();
+        eventPublisher.publishEvent(new BookingChangedEvent(savedBooking.getId(), item.getId()));
+        bookingMetrics.transitioned(BookingStatus.WAITING);
 
-        return bookingRepository.save(booking).toBuilder().build();
+        return savedBooking.toBuilder().build();
     }
 
     @Override
     @Transactional
-    public Booking patch(Long userId, Long bookingId, Boolean approved) {
-        log.info("Редактирование бронирования с id = {} пользователем с id = {}", bookingId, userId);
+    public List<BookingBatchEntry> createAll(Long userId, List<Booking> bookings) {
+        auditLog.info("Пакетное добавление {} бронирований пользователем с id = {}", bookings.size(), userId);
+
+        userPresenceCache.checkExists(userId);
+        User booker = User.builder().id(userId).build();
+
+        Set<Long> itemIds = bookings.stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet());
+        itemLockManager.lockAll(itemIds);
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
 
-        checkUserExists(userId);
+        List<BookingBatchEntry> entries = new ArrayList<>(bookings.size());
+        List<Booking> accepted = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            Item item = items.get(booking.getItem().getId());
+            try {
+                if (item == null) {
+                    throw new EntityNotFoundException("Не найдена вещь по id = " + booking.getItem().getId());
+                }
+                checkBookable(userId, item);
+                booking.setItem(item);
+                bookingConflictDetector.check(booking);
+            } catch (EntityNotFoundException | ValidationException | BookingOverlapException exception) {
+                entries.add(BookingBatchEntry.rejected(exception.getMessage()));
+                continue;
+            }
+            booking.setBooker(booker);
+            bookingConflictDetector.reserve(bookingRepository.save(booking));
+            accepted.add(booking);
+            entries.add(BookingBatchEntry.created(booking));
+        }
+
+        flush();
+        accepted.forEach(booking -> eventPublisher.publishEvent(new BookingChangedEvent(booking.getId(),
+                booking.getItem().getId())));
+        bookingMetrics.transitioned(BookingStatus.WAITING, accepted.size());
+
+        return entries;
+    }
+
+    @Override
+    @Transactional
+    public Booking patch(Long userId, Long bookingId, Boolean approved, Long version) {
+        auditLog.info("Редактирование бронирования с id = {} пользователем с id = {}", bookingId, userId);
 
-        Booking currentBooking = getById(userId, bookingId);
-        checkOwner(userId, currentBooking.getItem().getOwner().getId());
+        userPresenceCache.checkExists(userId);
 
-        if (currentBooking.getStatus().equals(BookingStatus.APPROVED)) {
-            throw new ValidationException("Статус бронирования с id = " + bookingId + " уже APPROVED");
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        if (approved) {
+            bookingRepository.findItemIdById(bookingId).ifPresent(itemLockManager::lock);
+        }
+        int updated;
+        try {
+            updated = version == null ? bookingRepository.updateStatusByOwner(bookingId, userId, status) :
+                    bookingRepository.updateStatusByOwnerAndVersion(bookingId, userId, status, version);
+        } catch (DataIntegrityViolationException exception) {
+            throw bookingConflictDetector.translate(exception);
+        }
+        if (updated == 0) {
+            throw rejectedTransition(userId, bookingId, version);
         }
 
+        Booking savedBooking = bookingRepository.findWithItemAndBookerById(bookingId)
+                .orElseThrow(() -> new EntityNotFoundException("Не найдено бронирование по id = " + bookingId));
         if (approved) {
-            currentBooking.setStatus(BookingStatus.APPROVED);
+            bookingConflictDetector.reserve(savedBooking);
         } else {
-            currentBooking.setStatus(BookingStatus.REJECTED);
+            bookingConflictDetector.release(savedBooking);
         }
+        eventPublisher.publishEvent(new BookingChangedEvent(bookingId, savedBooking.getItem().getId()));
+        bookingMetrics.transitioned(status);
 
-        return bookingRepository.save(currentBooking).toBuilder().build();
+        return savedBooking.toBuilder().build();
     }
 
     @Override
     public Booking getById(Long userId, Long bookingId) {
-        log.info("Получение бронирования по id = {}", bookingId);
+        auditLog.info("Получение бронирования по id = {}", bookingId);
 
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findWithItemAndBookerById(bookingId)
                 .orElseThrow(() -> new EntityNotFoundException("Не найдено бронирование по id = " + bookingId));
 
         if (!booking.getBooker().getId().equals(userId) && !booking.getItem().getOwner().getId().equals(userId)) {
@@ -97,69 +178,69 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<Booking> getAllByBookerId(Long userId, String state, Integer from, Integer size) {
-        log.info("Получение всех бронирований пользователя с id = {}", userId);
-        checkUserExists(userId);
-
-        LocalDateTime now = LocalDateTime.now();
-        PageRequest pageRequest = PageRequest.of(from / size, size);
-
-        switch (convertStringToState(state)) {
-            case ALL:
-                return bookingRepository.findByBookerIdOrderByStartDesc(userId, pageRequest);
-            case CURRENT:
-                return bookingRepository.findByBookerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(
-                        userId, now, now, pageRequest);
-            case PAST:
-                return bookingRepository.findByBookerIdAndEndLessThanOrderByStartDesc(userId, now,
-                        pageRequest);
-            case FUTURE:
-                return bookingRepository.findByBookerIdAndStartGreaterThanOrderByStartDesc(userId, now,
-                        pageRequest);
-            case WAITING:
-                return bookingRepository.findByBookerIdAndStatusIsOrderByStartDesc(userId, BookingStatus.WAITING,
-                        pageRequest);
-            case REJECTED:
-                return bookingRepository.findByBookerIdAndStatusIsOrderByStartDesc(userId, BookingStatus.REJECTED,
-                        pageRequest);
-            default:
-                throw new UnsupportedOperationException("Статус не поддерживается");
-        }
+        auditLog.info("Получение всех бронирований пользователя с id = {}", userId);
+        userPresenceCache.checkExists(userId);
+
+        return bookingRepository.findAllByState(BookingStateQuery.ofBooker(userId, convertStringToState(state)),
+                PageRequest.of(from / size, size));
     }
 
     @Override
     public List<Booking> getAllByOwnerId(Long userId, String state, Integer from, Integer size) {
-        log.info("Получение всех бронирований по вещам для владельца с id = {}", userId);
-        checkUserExists(userId);
-
-        LocalDateTime now = LocalDateTime.now();
-        PageRequest pageRequest = PageRequest.of(from / size, size);
-
-        switch (convertStringToState(state)) {
-            case ALL:
-                return bookingRepository.findByItemOwnerIdOrderByStartDesc(userId, pageRequest);
-            case CURRENT:
-                return bookingRepository.findByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(
-                        userId, now, now, pageRequest);
-            case PAST:
-                return bookingRepository.findByItemOwnerIdAndEndLessThanOrderByStartDesc(userId, now,
-                        pageRequest);
-            case FUTURE:
-                return bookingRepository.findByItemOwnerIdAndStartGreaterThanOrderByStartDesc(userId, now,
-                        pageRequest);
-            case WAITING:
-                return bookingRepository.findByItemOwnerIdAndStatusIsOrderByStartDesc(userId, BookingStatus.WAITING,
-                        pageRequest);
-            case REJECTED:
-                return bookingRepository.findByItemOwnerIdAndStatusIsOrderByStartDesc(userId, BookingStatus.REJECTED,
-                        pageRequest);
-            default:
-                throw new UnsupportedOperationException("Статус не поддерживается");
+        auditLog.info("Получение всех бронирований по вещам для владельца с id = {}", userId);
+        userPresenceCache.checkExists(userId);
+
+        return bookingRepository.findAllByState(BookingStateQuery.ofOwner(userId, convertStringToState(state)),
+                PageRequest.of(from / size, size));
+    }
+
+    @Override
+    public List<Booking> getAllByBookerIdAfter(Long userId, String state, BookingCursor cursor, Integer size) {
+        auditLog.info("Получение бронирований пользователя с id = {} после курсора", userId);
+        userPresenceCache.checkExists(userId);
+
+        return bookingRepository.findAllByState(
+                BookingStateQuery.ofBooker(userId, convertStringToState(state)).after(cursor), PageRequest.of(0, size));
+    }
+
+    @Override
+    public List<Booking> getAllByOwnerIdAfter(Long userId, String state, BookingCursor cursor, Integer size) {
+        auditLog.info("Получение бронирований по вещам для владельца с id = {} после курсора", userId);
+        userPresenceCache.checkExists(userId);
+
+        return bookingRepository.findAllByState(
+                BookingStateQuery.ofOwner(userId, convertStringToState(state)).after(cursor), PageRequest.of(0, size));
+    }
+
+    private void flush() {
+        try {
+            bookingRepository.flush();
+        } catch (DataIntegrityViolationException exception) {
+            throw bookingConflictDetector.translate(exception);
+        }
+    }
+
+    private void checkBookable(Long userId, Item item) {
+        if (!item.getAvailable()) {
+            throw new ValidationException("Вещь с id = " + item.getId() + " не доступна для бронирования");
         }
+        if (item.getOwner().getId().equals(userId)) {
+            throw new EntityNotFoundException("Вещь с id = " + item.getId() +
+                    " уже принадлежит пользователю с id = " + userId);
+        }
+    }
+
+    private RuntimeException rejectedTransition(Long userId, Long bookingId, Long version) {
+        Booking booking = getById(userId, bookingId);
+        checkOwner(userId, booking.getItem().getOwner().getId());
+        checkVersion(version, booking);
+        return new ValidationException("Статус бронирования с id = " + bookingId + " уже APPROVED");
     }
 
-    private void checkUserExists(Long userId) {
-        if (userId != null && !userRepository.existsById(userId)) {
-            throw new EntityNotFoundException("Не найден пользователь по id = " + userId);
+    private void checkVersion(Long version, Booking booking) {
+        if (version != null && !version.equals(booking.getVersion())) {
+            throw new OptimisticLockingFailureException("Бронирование с id = " + booking.getId() +
+                    " изменено другим запросом: версия " + version + ", текущая версия " + booking.getVersion());
         }
     }
 
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.common;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+/**
+ * Преобразование версии сущности в заголовок ETag и обратно из заголовка If-Match.
+ */
+public final class EntityTag {
+    private static final String ANY = "*";
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private static final String QUOTE = "\"";
+
+    private EntityTag() {
+    }
+
+    public static String of(Long version) {
+        return QUOTE + version + QUOTE;
+    }
+
+    public static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith(WEAK_PREFIX)) {
+            tag = tag.substring(WEAK_PREFIX.length());
+        }
+        if (tag.length() > 1 && tag.startsWith(QUOTE) && tag.endsWith(QUOTE)) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException exception) {
+            throw new ValidationException("Некорректный заголовок If-Match: " + ifMatch);
+        }
+    }
+}
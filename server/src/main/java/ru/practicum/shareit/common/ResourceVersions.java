@@ -0,0 +1,122 @@
+package ru.practicum.shareit.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.event.ItemCommentedEvent;
+import ru.practicum.shareit.request.event.ItemRequestCreatedEvent;
+import ru.practicum.shareit.user.event.UserChangedEvent;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+/**
+ * Счетчики версий ресурсов для слабых ETag списков.
+ * Счетчик ресурса увеличивается после фиксации каждой транзакции, изменившей ресурс, поэтому тег списка
+ * вычисляется без обращения к базе данных и без сериализации ответа. В тег входят пользователь и все параметры
+ * запроса, так что разные выборки не получают один тег. Как и кэш вещей, счетчики локальны для процесса:
+ * случайный идентификатор экземпляра в теге не дает совпасть тегам разных экземпляров и запусков сервера,
+ * а тег слабый, потому что совпадение версий не гарантирует побайтно одинаковый ответ.
+ * <p>
+ * Экземпляр не узнает об изменениях, зафиксированных другими экземплярами, и после них продолжил бы отвечать
+ * 304 по устаревшим данным. Поэтому ответ 304 включается свойством {@code shareit.etag.lists.enabled}
+ * и допустим только при одном экземпляре сервера, как и блокировки вещей в режиме {@code local}.
+ * При нескольких экземплярах свойство нужно выключить: списки тогда всегда возвращаются полностью.
+ */
+@Component
+public class ResourceVersions {
+    private static final String WEAK_PREFIX = "W/\"";
+
+    private static final String QUOTE = "\"";
+
+    private static final char SEPARATOR = '\n';
+
+    private final String instance = UUID.randomUUID().toString();
+
+    private final Map<Resource, AtomicLong> versions = new EnumMap<>(Resource.class);
+
+    private final boolean enabled;
+
+    public ResourceVersions() {
+        this(true);
+    }
+
+    @Autowired
+    public ResourceVersions(@Value("${shareit.etag.lists.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+        for (Resource resource : Resource.values()) {
+            versions.put(resource, new AtomicLong());
+        }
+    }
+
+    /**
+     * Проверяет условный запрос по слабому ETag списка. Если ответ 304 выключен, запрос всегда считается
+     * измененным и заголовок ETag не выставляется.
+     */
+    public boolean checkNotModified(Long userId, WebRequest request, Resource... resources) {
+        return enabled && request.checkNotModified(eTag(userId, request, resources));
+    }
+
+    /**
+     * Слабый ETag списка пользователя, содержимое которого зависит только от параметров запроса
+     * и перечисленных ресурсов.
+     */
+    public String eTag(Long userId, WebRequest request, Resource... resources) {
+        StringBuilder key = new StringBuilder(instance).append(SEPARATOR).append(userId);
+        for (Resource resource : resources) {
+            key.append(SEPARATOR).append(resource).append('=').append(versions.get(resource).get());
+        }
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) ->
+                key.append(SEPARATOR).append(name).append('=').append(String.join(",", values)));
+        return WEAK_PREFIX + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + QUOTE;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        versions.get(Resource.ITEM).incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onItemCommented(ItemCommentedEvent event) {
+        versions.get(Resource.ITEM).incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        versions.get(Resource.BOOKING).incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onItemRequestCreated(ItemRequestCreatedEvent event) {
+        versions.get(Resource.REQUEST).incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        versions.get(Resource.ITEM).incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        versions.values().forEach(AtomicLong::incrementAndGet);
+    }
+
+    /**
+     * Вид ресурса, изменения которого отслеживаются отдельным счетчиком.
+     */
+    public enum Resource {
+        ITEM,
+        BOOKING,
+        REQUEST
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.exception;
+
+/**
+ * Исключение для пересечения бронирования с уже существующим бронированием вещи.
+ */
+public class BookingOverlapException extends RuntimeException {
+    public BookingOverlapException(String message) {
+        super(message);
+    }
+}
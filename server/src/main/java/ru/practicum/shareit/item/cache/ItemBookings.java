@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.cache;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.internal.BookingModel;
+
+/**
+ * Видимая только владельцу часть карточки вещи: последнее и следующее бронирование.
+ */
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ItemBookings {
+    BookingModel lastBooking;
+
+    BookingModel nextBooking;
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.event.ItemCommentedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.event.UserChangedEvent;
+
+/**
+ * Кэш карточек {@link Item} с ограничением по размеру и времени жизни.
+ * Бронирования владельца хранятся отдельно и устаревают не позже начала следующего бронирования.
+ * Записи вещи удаляются после фиксации транзакций, изменивших вещь, ее отзывы или бронирования.
+ * Карточки содержат имена авторов отзывов, поэтому изменение пользователя сбрасывает все карточки:
+ * пользователи меняются редко, а обратного индекса от автора к вещам кэш не хранит.
+ */
+@Component
+public class ItemCache {
+    private final Cache<Long, ItemDetails> details;
+
+    private final Cache<Long, ItemBookings> bookings;
+
+    public ItemCache(MeterRegistry meterRegistry,
+                     @Value("${shareit.cache.item.maximum-size:10000}") long maximumSize,
+                     @Value("${shareit.cache.item.ttl:5m}") Duration ttl) {
+        details = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        bookings = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilNextBookingExpiry(ttl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, details, "itemDetails");
+        CaffeineCacheMetrics.monitor(meterRegistry, bookings, "itemBookings");
+    }
+
+    public ItemDetails getDetails(Long itemId, Function<Long, ItemDetails> loader) {
+        return details.get(itemId, loader);
+    }
+
+    public ItemBookings getBookings(Long itemId, Function<Long, ItemBookings> loader) {
+        return bookings.get(itemId, loader);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        details.invalidate(event.getItem().getId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onItemCommented(ItemCommentedEvent event) {
+        details.invalidate(event.getItemId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        details.invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        bookings.invalidate(event.getItemId());
+    }
+
+    private static final class UntilNextBookingExpiry implements Expiry<Long, ItemBookings> {
+        private final Duration ttl;
+
+        private UntilNextBookingExpiry(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        @Override
+        public long expireAfterCreate(Long itemId, ItemBookings value, long currentTime) {
+            if (value.getNextBooking() == null) {
+                return ttl.toNanos();
+            }
+            Duration untilNext = Duration.between(LocalDateTime.now(), value.getNextBooking().getStart());
+            if (untilNext.isNegative()) {
+                return 0;
+            }
+            return untilNext.compareTo(ttl) < 0 ? untilNext.toNanos() : ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long itemId, ItemBookings value, long currentTime, long currentDuration) {
+            return expireAfterCreate(itemId, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long itemId, ItemBookings value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
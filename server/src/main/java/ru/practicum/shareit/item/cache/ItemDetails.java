@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.cache;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.item.internal.ItemModel;
+
+/**
+ * Общая для всех пользователей часть карточки вещи: сама вещь с отзывами и id владельца.
+ */
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ItemDetails {
+    Long ownerId;
+
+    ItemModel model;
+}
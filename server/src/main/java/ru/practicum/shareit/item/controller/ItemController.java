@@ -2,6 +2,8 @@ package ru.practicum.shareit.item.controller;
 
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,6 +13,10 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.common.EntityTag;
+import ru.practicum.shareit.common.ResourceVersions;
+import ru.practicum.shareit.item.internal.ItemModel;
 import ru.practicum.shareit.item.mapper.CommentConverter;
 import ru.practicum.shareit.item.mapper.ItemConverter;
 import ru.practicum.shareit.item.service.ItemService;
@@ -40,6 +46,8 @@ public class ItemController {
 
     private final ItemModelConverter itemModelConverter;
 
+    private final ResourceVersions resourceVersions;
+
     @PostMapping
     public ItemView create(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
                            @RequestBody ItemCreateRequest request) {
@@ -47,16 +55,24 @@ public class ItemController {
     }
 
     @PatchMapping("/{itemId}")
-    public ItemView patch(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
-                          @PathVariable Long itemId,
-                          @RequestBody ItemUpdateRequest request) {
-        return itemConverter.convert(itemService.patch(userId, itemId, itemConverter.convert(request)));
+    public ResponseEntity<ItemView> patch(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                          String ifMatch,
+                                          @PathVariable Long itemId,
+                                          @RequestBody ItemUpdateRequest request) {
+        Item item = itemService.patch(userId, itemId, itemConverter.convert(request), EntityTag.parseVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(EntityTag.of(item.getVersion()))
+                .body(itemConverter.convert(item));
     }
 
     @GetMapping("/{itemId}")
-    public ItemWithBookingView getById(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
-                                       @PathVariable Long itemId) {
-        return itemModelConverter.convert(itemService.getById(userId, itemId));
+    public ResponseEntity<ItemWithBookingView> getById(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                                       @PathVariable Long itemId) {
+        ItemModel item = itemService.getById(userId, itemId);
+        return ResponseEntity.ok()
+                .eTag(EntityTag.of(item.getVersion()))
+                .body(itemModelConverter.convert(item));
     }
 
     @GetMapping
@@ -67,10 +83,14 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemView> search(@RequestParam String text,
-                                 @RequestParam(defaultValue = "0") Integer from,
-                                 @RequestParam(defaultValue = "10") Integer size) {
-        return itemConverter.convert(itemService.search(text, from, size));
+    public ResponseEntity<List<ItemView>> search(@RequestParam String text,
+                                                 @RequestParam(defaultValue = "0") Integer from,
+                                                 @RequestParam(defaultValue = "10") Integer size,
+                                                 WebRequest webRequest) {
+        if (resourceVersions.checkNotModified(null, webRequest, ResourceVersions.Resource.ITEM)) {
+            return null;
+        }
+        return ResponseEntity.ok(itemConverter.convert(itemService.search(text, from, size)));
     }
 
     @PostMapping("/{itemId}/comment")
@@ -3,7 +3,10 @@ package ru.practicum.shareit.item.dao;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Comment;
 
@@ -12,9 +15,13 @@ import ru.practicum.shareit.item.model.Comment;
  */
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByItemId(Long itemId);
+    @EntityGraph(attributePaths = "author")
+    @Query("select c from Comment c where c.item.id = :itemId")
+    List<Comment> findByItemId(@Param("itemId") Long itemId);
 
-    List<Comment> findByItemIdIn(List<Long> itemIds);
+    @EntityGraph(attributePaths = "author")
+    @Query("select c from Comment c where c.item.id in (:itemIds)")
+    List<Comment> findByItemIdIn(@Param("itemIds") List<Long> itemIds);
 
     default Map<Long, List<Comment>> findByItemIds(List<Long> itemIds) {
         return findByItemIdIn(itemIds).stream().collect(
@@ -6,6 +6,7 @@ import java.util.stream.Collectors;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
 
@@ -13,17 +14,17 @@ import ru.practicum.shareit.item.model.Item;
  * ДАО для {@link Item}.
  */
 @Repository
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemSearchRepository {
     List<Item> findByOwnerIdOrderByIdAsc(Long userId, Pageable pageable);
 
-    @Query(" select item from Item item " +
-            "where item.available = true and (lower(item.name) like lower(concat('%', ?1, '%')) " +
-            " or lower(item.description) like lower(concat('%', ?1, '%')))")
-    List<Item> search(String text, Pageable pageable);
+    @Query("select item from Item item left join fetch item.request where item.id > :lastId order by item.id")
+    List<Item> findAllWithRequestAfter(@Param("lastId") Long lastId, Pageable pageable);
 
-    List<Item> findByRequestId(Long requestId);
+    @Query("select item from Item item where item.request.id = :requestId")
+    List<Item> findByRequestId(@Param("requestId") Long requestId);
 
-    List<Item> findByRequestIdIn(List<Long> requestIds);
+    @Query("select item from Item item where item.request.id in (:requestIds)")
+    List<Item> findByRequestIdIn(@Param("requestIds") List<Long> requestIds);
 
     default Map<Long, List<Item>> findAllItemsByRequestIds(List<Long> requestIds) {
         return findByRequestIdIn(requestIds).stream().collect(
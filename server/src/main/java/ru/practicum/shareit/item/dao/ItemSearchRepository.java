@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.dao;
+
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+/**
+ * ДАО поиска {@link Item} по тексту.
+ */
+public interface ItemSearchRepository {
+    List<Item> search(String text, Pageable pageable);
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.item.dao;
+
+import java.util.List;
+import java.util.Locale;
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+/**
+ * Реализация ДАО поиска {@link Item} по тексту.
+ * В режиме trigram используются GIN-индексы pg_trgm и ранжирование по сходству слов,
+ * в режиме like (H2) вещи с совпадением в названии идут раньше совпадений в описании.
+ */
+public class ItemSearchRepositoryImpl implements ItemSearchRepository {
+    private static final String TRIGRAM_MODE = "trigram";
+
+    private static final String TRIGRAM_SEARCH = "select i.* from items i " +
+            "where i.is_available = true and (lower(i.name) like :pattern or lower(i.description) like :pattern) " +
+            "order by word_similarity(:text, lower(i.name)) * 2 + word_similarity(:text, lower(i.description)) desc, " +
+            "i.id";
+
+    private static final String LIKE_SEARCH = "select i.* from items i " +
+            "where i.is_available = true and (lower(i.name) like :pattern or lower(i.description) like :pattern) " +
+            "order by case when lower(i.name) like :pattern then 0 else 1 end, i.id";
+
+    private final EntityManager entityManager;
+
+    private final boolean trigram;
+
+    public ItemSearchRepositoryImpl(EntityManager entityManager, @Value("${shareit.search.mode:like}") String mode) {
+        this.entityManager = entityManager;
+        this.trigram = TRIGRAM_MODE.equalsIgnoreCase(mode);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Item> search(String text, Pageable pageable) {
+        String normalized = text.toLowerCase(Locale.ROOT);
+        Query query = entityManager.createNativeQuery(trigram ? TRIGRAM_SEARCH : LIKE_SEARCH, Item.class)
+                .setParameter("pattern", "%" + escape(normalized) + "%");
+        if (trigram) {
+            query.setParameter("text", normalized);
+        }
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        return query.getResultList();
+    }
+
+    private String escape(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+/**
+ * Событие создания или изменения {@link Item}.
+ * Содержит отсоединенную копию вещи, пригодную для чтения после завершения транзакции.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ItemChangedEvent {
+    Item item;
+
+    public static ItemChangedEvent of(Item item) {
+        return new ItemChangedEvent(Item.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .owner(item.getOwner() != null ? User.builder().id(item.getOwner().getId()).build() : null)
+                .request(item.getRequest() != null ?
+                        ItemRequest.builder().id(item.getRequest().getId()).build() : null)
+                .build());
+    }
+}
@@ -28,4 +28,6 @@ public class ItemModel {
     BookingModel lastBooking;
 
     BookingModel nextBooking;
+
+    Long version;
 }
@@ -5,6 +5,7 @@ import org.mapstruct.AnnotateWith;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.shareit.booking.internal.BookingModel;
+import ru.practicum.shareit.booking.internal.BookingShort;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.common.GeneratedMapper;
 import ru.practicum.shareit.item.dto.ItemWithBookingView;
@@ -34,7 +35,18 @@ public interface ItemModelConverter {
     @Mapping(source = "item.name", target = "name")
     @Mapping(source = "item.description", target = "description")
     @Mapping(source = "item.available", target = "available")
-    ItemModel convert(Item item, Booking lastBooking, Booking nextBooking, List<Comment> comments);
+    @Mapping(source = "item.version", target = "version")
+    @Mapping(target = "lastBooking", ignore = true)
+    @Mapping(target = "nextBooking", ignore = true)
+    ItemModel convert(Item item, List<Comment> comments);
+
+    @Mapping(source = "itemModel.id", target = "id")
+    @Mapping(source = "itemModel.name", target = "name")
+    @Mapping(source = "itemModel.description", target = "description")
+    @Mapping(source = "itemModel.available", target = "available")
+    @Mapping(source = "itemModel.comments", target = "comments")
+    @Mapping(source = "itemModel.version", target = "version")
+    ItemModel convert(ItemModel itemModel, BookingModel lastBooking, BookingModel nextBooking);
 
     @Mapping(source = "id", target = "item.id")
     @Mapping(source = "name", target = "item.name")
@@ -47,4 +59,6 @@ public interface ItemModelConverter {
 
     @Mapping(source = "booker.id", target = "bookerId")
     BookingModel convert(Booking booking);
+
+    BookingModel convert(BookingShort booking);
 }
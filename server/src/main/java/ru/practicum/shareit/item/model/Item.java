@@ -5,6 +5,7 @@ import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -40,4 +41,7 @@ public class Item extends AbstractEntity {
 
     @ManyToOne(fetch = FetchType.LAZY)
     ItemRequest request;
+
+    @Version
+    Long version;
 }
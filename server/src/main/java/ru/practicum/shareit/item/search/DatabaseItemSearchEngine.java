@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+/**
+ * Поиск {@link Item} запросом к базе данных.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.index.enabled", havingValue = "false", matchIfMissing = true)
+public class DatabaseItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    private final Timer searchTimer;
+
+    public DatabaseItemSearchEngine(ItemRepository itemRepository, MeterRegistry meterRegistry) {
+        this.itemRepository = itemRepository;
+        this.searchTimer = ItemSearchTimer.register(meterRegistry, "database");
+    }
+
+    @Override
+    public List<Item> search(String text, Integer from, Integer size) {
+        return searchTimer.record(() -> itemRepository.search(text, PageRequest.of(from / size, size)));
+    }
+}
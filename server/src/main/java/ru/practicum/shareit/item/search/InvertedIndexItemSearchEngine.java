@@ -0,0 +1,60 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import javax.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.model.Item;
+
+/**
+ * Поиск {@link Item} по инвертированному индексу в памяти без обращения к базе данных.
+ * Индекс строится при старте и обновляется после фиксации транзакций, изменивших вещи.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "shareit.search.index.enabled", havingValue = "true")
+public class InvertedIndexItemSearchEngine implements ItemSearchEngine {
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+
+    private final ItemSearchIndex index = new ItemSearchIndex();
+
+    private final Timer searchTimer;
+
+    public InvertedIndexItemSearchEngine(ItemRepository itemRepository, MeterRegistry meterRegistry) {
+        this.itemRepository = itemRepository;
+        this.searchTimer = ItemSearchTimer.register(meterRegistry, "index");
+    }
+
+    @PostConstruct
+    public void load() {
+        long lastId = 0;
+        List<Item> items;
+        do {
+            items = itemRepository.findAllWithRequestAfter(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            items.forEach(index::put);
+            lastId = items.isEmpty() ? lastId : items.get(items.size() - 1).getId();
+        } while (items.size() == LOAD_BATCH_SIZE);
+
+        log.info("Построен поисковый индекс вещей, записей: {}", index.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        index.put(event.getItem());
+    }
+
+    @Override
+    public List<Item> search(String text, Integer from, Integer size) {
+        return searchTimer.record(() -> index.search(text, from / size * size, size));
+    }
+}
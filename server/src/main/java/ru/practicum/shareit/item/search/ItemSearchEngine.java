@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+import ru.practicum.shareit.item.model.Item;
+
+/**
+ * Поиск доступных {@link Item} по подстроке в названии или описании.
+ */
+public interface ItemSearchEngine {
+    List<Item> search(String text, Integer from, Integer size);
+}
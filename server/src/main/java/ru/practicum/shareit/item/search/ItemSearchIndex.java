@@ -0,0 +1,190 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+/**
+ * Инвертированный индекс {@link Item} по триграммам названия и описания.
+ * Кандидаты находятся пересечением списков триграмм запроса и проверяются поиском подстроки,
+ * поэтому результат совпадает с поиском like: сначала совпадения в названии, затем в описании, по возрастанию id.
+ */
+public class ItemSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<String, LongPostingList> postings = new HashMap<>();
+
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    private final LongPostingList ids = new LongPostingList();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Item item) {
+        Document document = new Document(item.getId(), item.getName(), item.getDescription(),
+                Boolean.TRUE.equals(item.getAvailable()),
+                item.getRequest() != null ? item.getRequest().getId() : null);
+
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.put(document.id, document);
+            if (previous != null && previous.hasSameText(document)) {
+                return;
+            }
+            if (previous != null) {
+                grams(previous).forEach(gram -> removePosting(gram, previous.id));
+            }
+            grams(document).forEach(gram -> postings.computeIfAbsent(gram, key -> new LongPostingList())
+                    .add(document.id));
+            ids.add(document.id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Item> search(String text, int offset, int limit) {
+        String query = text.toLowerCase(Locale.ROOT);
+        int wanted = offset + limit;
+        List<Document> byName = new ArrayList<>();
+        List<Document> byDescription = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            LongPostingList[] lists = postingLists(query);
+            if (lists == null) {
+                return new ArrayList<>();
+            }
+            LongPostingList candidates = lists.length > 0 ? lists[0] : ids;
+            for (int i = 0; i < candidates.size() && byName.size() < wanted; i++) {
+                long id = candidates.get(i);
+                if (!containsInAll(lists, id)) {
+                    continue;
+                }
+                Document document = documents.get(id);
+                if (!document.available) {
+                    continue;
+                }
+                if (document.nameLower.contains(query)) {
+                    byName.add(document);
+                } else if (byDescription.size() < wanted && document.descriptionLower.contains(query)) {
+                    byDescription.add(document);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Item> items = new ArrayList<>();
+        for (int i = offset; i < wanted && i < byName.size() + byDescription.size(); i++) {
+            items.add((i < byName.size() ? byName.get(i) : byDescription.get(i - byName.size())).toItem());
+        }
+        return items;
+    }
+
+    private LongPostingList[] postingLists(String query) {
+        Set<String> grams = grams(query);
+        LongPostingList[] lists = new LongPostingList[grams.size()];
+        int index = 0;
+        for (String gram : grams) {
+            LongPostingList list = postings.get(gram);
+            if (list == null) {
+                return null;
+            }
+            lists[index++] = list;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(LongPostingList::size));
+        return lists;
+    }
+
+    private boolean containsInAll(LongPostingList[] lists, long id) {
+        for (int i = 1; i < lists.length; i++) {
+            if (!lists[i].contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void removePosting(String gram, long id) {
+        LongPostingList list = postings.get(gram);
+        if (list != null && list.remove(id) && list.isEmpty()) {
+            postings.remove(gram);
+        }
+    }
+
+    private static Set<String> grams(Document document) {
+        Set<String> grams = grams(document.nameLower);
+        grams.addAll(grams(document.descriptionLower));
+        return grams;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private static final class Document {
+        long id;
+
+        String name;
+
+        String description;
+
+        String nameLower;
+
+        String descriptionLower;
+
+        boolean available;
+
+        Long requestId;
+
+        Document(long id, String name, String description, boolean available, Long requestId) {
+            this(id, name, description, lower(name), lower(description), available, requestId);
+        }
+
+        boolean hasSameText(Document other) {
+            return nameLower.equals(other.nameLower) && descriptionLower.equals(other.descriptionLower);
+        }
+
+        Item toItem() {
+            return Item.builder()
+                    .id(id)
+                    .name(name)
+                    .description(description)
+                    .available(available)
+                    .request(requestId != null ? ItemRequest.builder().id(requestId).build() : null)
+                    .build();
+        }
+
+        private static String lower(String text) {
+            return text != null ? text.toLowerCase(Locale.ROOT) : "";
+        }
+    }
+}
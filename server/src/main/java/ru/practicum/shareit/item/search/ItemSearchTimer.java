@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Гистограмма времени поиска вещей с тегом реализации {@link ItemSearchEngine}.
+ */
+final class ItemSearchTimer {
+    private static final String NAME = "shareit.item.search";
+
+    private ItemSearchTimer() {
+    }
+
+    static Timer register(MeterRegistry meterRegistry, String engine) {
+        return Timer.builder(NAME)
+                .description("Время поиска вещей по тексту")
+                .tag("engine", engine)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -11,7 +11,7 @@ import ru.practicum.shareit.item.model.Item;
 public interface ItemService {
     Item create(Long userId, Item item);
 
-    Item patch(Long userId, Long id, Item item);
+    Item patch(Long userId, Long id, Item item, Long version);
 
     ItemModel getById(Long userId, Long id);
 
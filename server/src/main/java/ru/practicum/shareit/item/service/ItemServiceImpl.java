@@ -6,26 +6,35 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.base.AbstractEntity;
 import ru.practicum.shareit.booking.dao.BookingRepository;
 import ru.practicum.shareit.booking.internal.BookingModel;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.internal.BookingShort;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.OperationConstraintException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.cache.ItemBookings;
+import ru.practicum.shareit.item.cache.ItemCache;
+import ru.practicum.shareit.item.cache.ItemDetails;
 import ru.practicum.shareit.item.dao.CommentRepository;
 import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.event.ItemCommentedEvent;
 import ru.practicum.shareit.item.internal.CommentModel;
 import ru.practicum.shareit.item.internal.ItemModel;
 import ru.practicum.shareit.item.mapper.ItemModelConverter;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.logging.AuditLog;
 import ru.practicum.shareit.request.dao.ItemRequestRepository;
+import ru.practicum.shareit.user.cache.UserPresenceCache;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
@@ -34,7 +43,6 @@ import ru.practicum.shareit.user.model.User;
  */
 @Service
 @RequiredArgsConstructor
-@Slf4j
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
 
@@ -42,6 +50,8 @@ public class ItemServiceImpl implements ItemService {
 
     private final UserRepository userRepository;
 
+    private final UserPresenceCache userPresenceCache;
+
     private final BookingRepository bookingRepository;
 
     private final CommentRepository commentRepository;
@@ -50,30 +60,42 @@ public class ItemServiceImpl implements ItemService {
 
     private final ItemModelConverter itemModelConverter;
 
+    private final ItemSearchEngine itemSearchEngine;
+
+    private final ItemCache itemCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AuditLog auditLog;
+
     @Override
     @Transactional
     public Item create(Long userId, Item item) {
-        log.info("Добавление вещи {} пользователем с id = {}", item, userId);
+        auditLog.info("Добавление вещи пользователем с id = {}", userId);
 
-        checkUserExists(userId);
+        userPresenceCache.checkExists(userId);
         item.setOwner(User.builder().id(userId).build());
         if (item.getRequest() != null) {
             checkItemRequestExists(item.getRequest().getId());
         }
 
-        return itemRepository.save(item).toBuilder().build();
+        Item savedItem = itemRepository.save(item);
+        eventPublisher.publishEvent(ItemChangedEvent.of(savedItem));
+
+        return savedItem.toBuilder().build();
     }
 
     @Override
     @Transactional
-    public Item patch(Long userId, Long id, Item item) {
-        log.info("Редактирование вещи {} пользователем с id = {}", item, userId);
+    public Item patch(Long userId, Long id, Item item, Long version) {
+        auditLog.info("Редактирование вещи с id = {} пользователем с id = {}", id, userId);
 
-        checkUserExists(userId);
+        userPresenceCache.checkExists(userId);
 
         Item currentItem = itemRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Не найдена вещь по id = " + id));
         checkOwner(userId, currentItem.getOwner().getId());
+        checkVersion(version, currentItem);
 
         currentItem.setName(item.getName() != null && !item.getName().isBlank() ?
                 item.getName() : currentItem.getName());
@@ -81,39 +103,38 @@ public class ItemServiceImpl implements ItemService {
                 item.getDescription() : currentItem.getDescription());
         currentItem.setAvailable(item.getAvailable() != null ? item.getAvailable() : currentItem.getAvailable());
 
-        return itemRepository.save(currentItem).toBuilder().build();
+        Item savedItem = itemRepository.saveAndFlush(currentItem);
+        eventPublisher.publishEvent(ItemChangedEvent.of(savedItem));
+
+        return savedItem.toBuilder().build();
     }
 
     @Override
     public ItemModel getById(Long userId, Long id) {
-        log.info("Получение вещи по id = {}", id);
+        auditLog.info("Получение вещи по id = {}", id);
 
-        Item item = itemRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Не найдена вещь по id = " + id));
-        Booking lastBooking = item.getOwner().getId().equals(userId) ? bookingRepository
-                .findFirstByItemIdAndStartLessThanEqualAndStatusIsOrderByStartDesc(id, LocalDateTime.now(),
-                        BookingStatus.APPROVED) : null;
-        Booking nextBooking = item.getOwner().getId().equals(userId) ? bookingRepository
-                .findFirstByItemIdAndStartGreaterThanAndStatusIsOrderByStartAsc(id, LocalDateTime.now(),
-                        BookingStatus.APPROVED) : null;
-        List<Comment> comments = commentRepository.findByItemId(id);
+        ItemDetails details = itemCache.getDetails(id, this::loadDetails);
+        if (!details.getOwnerId().equals(userId)) {
+            return details.getModel();
+        }
+        ItemBookings bookings = itemCache.getBookings(id, this::loadBookings);
 
-        return itemModelConverter.convert(item, lastBooking, nextBooking, comments);
+        return itemModelConverter.convert(details.getModel(), bookings.getLastBooking(), bookings.getNextBooking());
     }
 
     @Override
     public List<ItemModel> getByUserId(Long userId, Integer from, Integer size) {
-        log.info("Получение вещи по id пользователя = {}", userId);
+        auditLog.info("Получение вещи по id пользователя = {}", userId);
 
-        checkUserExists(userId);
+        userPresenceCache.checkExists(userId);
 
         List<Item> items = itemRepository.findByOwnerIdOrderByIdAsc(userId, PageRequest.of(from / size, size));
         List<Long> itemIds = items.stream().map(AbstractEntity::getId).collect(Collectors.toList());
 
-        Map<Long, Booking> lastBookings = bookingRepository.findAllLastBookings(itemIds, LocalDateTime.now(),
-                BookingStatus.APPROVED);
-        Map<Long, Booking> nextBookings = bookingRepository.findAllNextBookings(itemIds, LocalDateTime.now(),
-                BookingStatus.APPROVED);
+        Map<Boolean, Map<Long, BookingShort>> bookings = bookingRepository.findAllLastAndNextBookings(itemIds,
+                LocalDateTime.now(), BookingStatus.APPROVED);
+        Map<Long, BookingShort> lastBookings = bookings.get(false);
+        Map<Long, BookingShort> nextBookings = bookings.get(true);
         Map<Long, List<Comment>> comments = commentRepository.findByItemIds(itemIds);
 
         List<ItemModel> views = new ArrayList<>();
@@ -132,6 +153,7 @@ public class ItemServiceImpl implements ItemService {
                     .comments(commentModels)
                     .lastBooking(lastBooking)
                     .nextBooking(nextBooking)
+                    .version(item.getVersion())
                     .build();
             views.add(view);
         });
@@ -141,34 +163,50 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public List<Item> search(String text, Integer from, Integer size) {
-        log.info("Поиск вещи, содержащей в названии или описании {}", text);
+        auditLog.info("Поиск вещи, содержащей в названии или описании {}", text);
         if (text == null || text.isBlank()) {
             return new ArrayList<>();
         }
 
-        return new ArrayList<>(itemRepository.search(text, PageRequest.of(from / size, size)));
+        return new ArrayList<>(itemSearchEngine.search(text, from, size));
     }
 
     @Override
     @Transactional
     public Comment createComment(Long userId, Long itemId, Comment comment) {
-        log.info("Добавление отзыва на вещь с id {} пользователем с id = {}", itemId, userId);
+        auditLog.info("Добавление отзыва на вещь с id {} пользователем с id = {}", itemId, userId);
 
         User author = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("Не найден пользователь по id = " + userId));
         checkItemExists(itemId);
 
-        Booking userBooking = bookingRepository
-                .findFirstByBookerIdAndItemIdAndEndLessThan(userId, itemId, LocalDateTime.now());
-
-        if (userBooking == null) {
+        if (!bookingRepository.existsByBookerIdAndItemIdAndEndLessThan(userId, itemId, LocalDateTime.now())) {
             throw new ValidationException("Пользователю " + userId +
                     " запрещено оставлять отзывы на вещь, которую он не брал в аренду");
         }
         comment.setAuthor(author);
-        comment.setItem(Item.builder().id(itemId).build());
+        comment.setItem(itemRepository.getReferenceById(itemId));
+
+        Comment savedComment = commentRepository.save(comment);
+        eventPublisher.publishEvent(new ItemCommentedEvent(itemId));
+
+        return savedComment.toBuilder().build();
+    }
+
+    private ItemDetails loadDetails(Long id) {
+        Item item = itemRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Не найдена вещь по id = " + id));
+        List<Comment> comments = commentRepository.findByItemId(id);
+
+        return new ItemDetails(item.getOwner().getId(), itemModelConverter.convert(item, comments));
+    }
 
-        return commentRepository.save(comment).toBuilder().build();
+    private ItemBookings loadBookings(Long id) {
+        Map<Boolean, Map<Long, BookingShort>> bookings = bookingRepository.findAllLastAndNextBookings(List.of(id),
+                LocalDateTime.now(), BookingStatus.APPROVED);
+
+        return new ItemBookings(itemModelConverter.convert(bookings.get(false).get(id)),
+                itemModelConverter.convert(bookings.get(true).get(id)));
     }
 
     private void checkItemExists(Long itemId) {
@@ -177,18 +215,19 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
-    private void checkUserExists(Long userId) {
-        if (userId != null && !userRepository.existsById(userId)) {
-           throw new EntityNotFoundException("Не найден пользователь по id = " + userId);
-        }
-    }
-
     private void checkItemRequestExists(Long itemRequestId) {
         if (itemRequestId != null && !itemRequestRepository.existsById(itemRequestId)) {
             throw new EntityNotFoundException("Не найден запрос на вещь по id = " + itemRequestId);
         }
     }
 
+    private void checkVersion(Long version, Item item) {
+        if (version != null && !version.equals(item.getVersion())) {
+            throw new OptimisticLockingFailureException("Вещь с id = " + item.getId() +
+                    " изменена другим запросом: версия " + version + ", текущая версия " + item.getVersion());
+        }
+    }
+
     private void checkOwner(Long newOwnerId, Long oldOwnerId) {
         if (!newOwnerId.equals(oldOwnerId)) {
             throw new OperationConstraintException("Пользователю " + newOwnerId +
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Журнал аудита сервисов в категории {@code ru.practicum.shareit.audit}. Сообщения содержат только
+ * идентификаторы, а не сущности, и пишутся для доли запросов {@code shareit.audit.sample-rate}.
+ * Уровень и выборка проверяются до вызова SLF4J, поэтому выключенный или не попавший в выборку вызов
+ * не создает ни события, ни массива аргументов.
+ */
+@Component
+public class AuditLog {
+    static final String CATEGORY = "ru.practicum.shareit.audit";
+
+    private final Logger logger;
+
+    private final double sampleRate;
+
+    @Autowired
+    public AuditLog(@Value("${shareit.audit.sample-rate:1.0}") double sampleRate) {
+        this(LoggerFactory.getLogger(CATEGORY), sampleRate);
+    }
+
+    AuditLog(Logger logger, double sampleRate) {
+        this.logger = logger;
+        this.sampleRate = sampleRate;
+    }
+
+    public boolean isEnabled() {
+        if (!logger.isInfoEnabled()) {
+            return false;
+        }
+        return sampleRate >= 1.0 || sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    public void info(String message) {
+        if (isEnabled()) {
+            logger.info(message);
+        }
+    }
+
+    public void info(String format, Object argument) {
+        if (isEnabled()) {
+            logger.info(format, argument);
+        }
+    }
+
+    public void info(String format, Object first, Object second) {
+        if (isEnabled()) {
+            logger.info(format, first, second);
+        }
+    }
+
+    /**
+     * Вариант для счетчиков: число упаковывается только при записи сообщения.
+     */
+    public void info(String format, long first, Object second) {
+        if (isEnabled()) {
+            logger.info(format, first, second);
+        }
+    }
+}
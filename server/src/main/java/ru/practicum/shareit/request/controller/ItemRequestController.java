@@ -2,6 +2,7 @@ package ru.practicum.shareit.request.controller;
 
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -10,11 +11,14 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.common.ResourceVersions;
 import ru.practicum.shareit.request.dto.ItemRequestCreateRequest;
 import ru.practicum.shareit.request.dto.ItemRequestView;
 import ru.practicum.shareit.request.mapper.ItemRequestConverter;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.cache.UserPresenceCache;
 
 /**
  * Контроллер для {@link ItemRequest}.
@@ -29,6 +33,10 @@ public class ItemRequestController {
 
     private final ItemRequestConverter itemRequestConverter;
 
+    private final ResourceVersions resourceVersions;
+
+    private final UserPresenceCache userPresenceCache;
+
     @PostMapping
     public ItemRequestView create(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
                                   @RequestBody ItemRequestCreateRequest request) {
@@ -36,15 +44,28 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public List<ItemRequestView> getByRequestorId(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId) {
-        return itemRequestConverter.convert(itemRequestService.getByRequestorId(userId));
+    public ResponseEntity<List<ItemRequestView>> getByRequestorId(
+            @RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+            WebRequest webRequest) {
+        if (isNotModified(userId, webRequest)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .varyBy(USER_ID_REQUEST_HEADER_NAME)
+                .body(itemRequestConverter.convert(itemRequestService.getByRequestorId(userId)));
     }
 
     @GetMapping("/all")
-    public List<ItemRequestView> getByUserId(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
-                                        @RequestParam(defaultValue = "0") Integer from,
-                                        @RequestParam(defaultValue = "10") Integer size) {
-        return itemRequestConverter.convert(itemRequestService.getByUserId(userId, from, size));
+    public ResponseEntity<List<ItemRequestView>> getByUserId(@RequestHeader(USER_ID_REQUEST_HEADER_NAME) Long userId,
+                                                             @RequestParam(defaultValue = "0") Integer from,
+                                                             @RequestParam(defaultValue = "10") Integer size,
+                                                             WebRequest webRequest) {
+        if (isNotModified(userId, webRequest)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .varyBy(USER_ID_REQUEST_HEADER_NAME)
+                .body(itemRequestConverter.convert(itemRequestService.getByUserId(userId, from, size)));
     }
 
     @GetMapping("/{requestId}")
@@ -52,4 +73,10 @@ public class ItemRequestController {
                                    @PathVariable Long requestId) {
         return itemRequestConverter.convert(itemRequestService.getById(userId, requestId));
     }
+
+    private boolean isNotModified(Long userId, WebRequest webRequest) {
+        userPresenceCache.checkExists(userId);
+        return resourceVersions.checkNotModified(userId, webRequest,
+                ResourceVersions.Resource.REQUEST, ResourceVersions.Resource.ITEM);
+    }
 }
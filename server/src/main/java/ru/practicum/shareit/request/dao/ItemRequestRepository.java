@@ -3,6 +3,8 @@ package ru.practicum.shareit.request.dao;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.request.model.ItemRequest;
 
@@ -11,7 +13,8 @@ import ru.practicum.shareit.request.model.ItemRequest;
  */
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    List<ItemRequest> findByRequestorIdOrderByCreationDateDesc(Long userId);
+    @Query("select r from ItemRequest r where r.requestor.id = :userId order by r.creationDate desc")
+    List<ItemRequest> findByRequestorIdOrderByCreationDateDesc(@Param("userId") Long userId);
 
     List<ItemRequest> findByRequestorIdNot(Long userId, Pageable pageable);
 }
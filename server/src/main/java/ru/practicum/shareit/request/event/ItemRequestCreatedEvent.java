@@ -0,0 +1,17 @@
+package ru.practicum.shareit.request.event;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+/**
+ * Событие создания {@link ItemRequest}.
+ */
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ItemRequestCreatedEvent {
+    Long requestId;
+}
@@ -6,7 +6,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,11 +14,13 @@ import ru.practicum.shareit.base.AbstractEntity;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.logging.AuditLog;
 import ru.practicum.shareit.request.dao.ItemRequestRepository;
+import ru.practicum.shareit.request.event.ItemRequestCreatedEvent;
 import ru.practicum.shareit.request.internal.ItemRequestModel;
 import ru.practicum.shareit.request.mapper.ItemRequestConverter;
 import ru.practicum.shareit.request.model.ItemRequest;
-import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.cache.UserPresenceCache;
 import ru.practicum.shareit.user.model.User;
 
 /**
@@ -26,33 +28,38 @@ import ru.practicum.shareit.user.model.User;
  */
 @Service
 @RequiredArgsConstructor
-@Slf4j
 @Transactional(readOnly = true)
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
 
-    private final UserRepository userRepository;
+    private final UserPresenceCache userPresenceCache;
 
     private final ItemRepository itemRepository;
 
     private final ItemRequestConverter itemRequestConverter;
 
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AuditLog auditLog;
+
     @Override
     @Transactional
     public ItemRequest create(Long userId, ItemRequest itemRequest) {
-        log.info("Добавление нового запроса на вещь {} пользователем с id = {}", itemRequest, userId);
+        auditLog.info("Добавление нового запроса на вещь пользователем с id = {}", userId);
 
-        checkUserExists(userId);
+        userPresenceCache.checkExists(userId);
         itemRequest.setRequestor(User.builder().id(userId).build());
 
-        return itemRequestRepository.save(itemRequest).toBuilder().build();
+        ItemRequest savedItemRequest = itemRequestRepository.save(itemRequest);
+        eventPublisher.publishEvent(new ItemRequestCreatedEvent(savedItemRequest.getId()));
+        return savedItemRequest.toBuilder().build();
     }
 
     @Override
     public List<ItemRequestModel> getByRequestorId(Long userId) {
-        log.info("Получение всех запросов на вещи пользователя с id = {}", userId);
+        auditLog.info("Получение всех запросов на вещи пользователя с id = {}", userId);
 
-        checkUserExists(userId);
+        userPresenceCache.checkExists(userId);
         List<ItemRequest> itemRequests = itemRequestRepository.findByRequestorIdOrderByCreationDateDesc(userId);
 
         return createItemRequestModelsFromItemRequests(itemRequests);
@@ -60,9 +67,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestModel> getByUserId(Long userId, Integer from, Integer size) {
-        log.info("Получение всех запросов на вещи с пагинацией");
+        auditLog.info("Получение всех запросов на вещи с пагинацией");
 
-        checkUserExists(userId);
+        userPresenceCache.checkExists(userId);
 
         List<ItemRequest> itemRequests = itemRequestRepository.findByRequestorIdNot(userId,
                 PageRequest.of(from / size, size));
@@ -72,9 +79,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public ItemRequestModel getById(Long userId, Long id) {
-        log.info("Получение запроса на вещь по id запроса = {}", id);
+        auditLog.info("Получение запроса на вещь по id запроса = {}", id);
 
-        checkUserExists(userId);
+        userPresenceCache.checkExists(userId);
         ItemRequest itemRequest = itemRequestRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Не найдена запрос на вещь по id = " + id));
 
@@ -102,10 +109,4 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         });
         return views;
     }
-
-    private void checkUserExists(Long userId) {
-        if (userId != null && !userRepository.existsById(userId)) {
-            throw new EntityNotFoundException("Не найден пользователь по id = " + userId);
-        }
-    }
 }
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.thread;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.exception.model.ErrorResponse;
+
+/**
+ * Ограничение числа одновременно обрабатываемых запросов API размером пула соединений Hikari.
+ * Виртуальных потоков не меньше, чем запросов, и без ограничения все они ждали бы соединения внутри пула
+ * до его таймаута. Здесь запросы ждут разрешения в порядке очереди, а не дождавшиеся получают 503.
+ * Запросы actuator не ограничиваются, чтобы проверки состояния и метрики отвечали и под нагрузкой.
+ * Асинхронный запрос (выгрузка бронирований) держит разрешение до завершения, а не до возврата из фильтра.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.threads.mode", havingValue = "virtual")
+public class JdbcConcurrencyFilter extends OncePerRequestFilter {
+    /**
+     * Размер пула Hikari по умолчанию: пока пул не запущен, незаданный размер читается как -1.
+     */
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private static final String ACTUATOR_PATH = "/actuator";
+
+    private final Semaphore permits;
+
+    private final long acquireTimeoutNanos;
+
+    private final ObjectMapper objectMapper;
+
+    public JdbcConcurrencyFilter(DataSource dataSource, ObjectMapper objectMapper,
+                                 @Value("${shareit.threads.jdbc-acquire-timeout:30s}") Duration acquireTimeout) {
+        int poolSize = dataSource instanceof HikariDataSource ?
+                ((HikariDataSource) dataSource).getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+        this.permits = new Semaphore(poolSize > 0 ? poolSize : DEFAULT_POOL_SIZE, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            log.error("Запрос {} {} не дождался соединения с базой данных", request.getMethod(),
+                    request.getRequestURI());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    new ErrorResponse("Сервер перегружен, повторите запрос позже"));
+            return;
+        }
+        Runnable release = releaseOnce();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.equals(ACTUATOR_PATH) || path.startsWith(ACTUATOR_PATH + "/");
+    }
+
+    private Runnable releaseOnce() {
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Возврат разрешения по завершении асинхронного запроса, onComplete вызывается и после ошибки или таймаута.
+     */
+    @RequiredArgsConstructor
+    private static class ReleasingAsyncListener implements AsyncListener {
+        private final Runnable release;
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.user.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.event.UserCreatedEvent;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+import ru.practicum.shareit.user.model.User;
+
+/**
+ * Кэш существования {@link User} по id.
+ * Существующие и отсутствующие id хранятся в двух кэшах, ограниченных по размеру и времени жизни, поэтому
+ * память не зависит от величины id, а удаление на другом экземпляре сервиса перестает быть видно здесь
+ * не позже чем через время жизни существующих id.
+ * Результат запроса к базе попадает в кэш только после фиксации транзакции и только если за это время
+ * пользователи не создавались и не удалялись: иначе устаревшее чтение могло бы перезаписать удаление.
+ */
+@Component
+public class UserPresenceCache {
+    private final UserRepository userRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Cache<Long, Boolean> present;
+
+    private final Cache<Long, Boolean> absent;
+
+    private long generation;
+
+    public UserPresenceCache(UserRepository userRepository, MeterRegistry meterRegistry,
+                             @Value("${shareit.cache.user-presence.maximum-size:100000}") long presentMaximumSize,
+                             @Value("${shareit.cache.user-presence.ttl:1m}") Duration presentTtl,
+                             @Value("${shareit.cache.user-absence.maximum-size:10000}") long absentMaximumSize,
+                             @Value("${shareit.cache.user-absence.ttl:10s}") Duration absentTtl) {
+        this.userRepository = userRepository;
+        present = Caffeine.newBuilder()
+                .maximumSize(presentMaximumSize)
+                .expireAfterWrite(presentTtl)
+                .recordStats()
+                .build();
+        absent = Caffeine.newBuilder()
+                .maximumSize(absentMaximumSize)
+                .expireAfterWrite(absentTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, present, "userPresence");
+        CaffeineCacheMetrics.monitor(meterRegistry, absent, "userAbsence");
+    }
+
+    public void checkExists(Long userId) {
+        if (userId != null && !exists(userId)) {
+            throw new EntityNotFoundException("Не найден пользователь по id = " + userId);
+        }
+    }
+
+    public boolean exists(Long userId) {
+        if (present.getIfPresent(userId) != null) {
+            return true;
+        }
+        if (absent.getIfPresent(userId) != null) {
+            return false;
+        }
+
+        long readGeneration = currentGeneration();
+        boolean exists = userRepository.existsById(userId);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (generation != readGeneration) {
+                    return;
+                }
+                if (exists) {
+                    present.put(userId, Boolean.TRUE);
+                } else {
+                    absent.put(userId, Boolean.TRUE);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+        return exists;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserCreated(UserCreatedEvent event) {
+        lock.writeLock().lock();
+        try {
+            generation++;
+            absent.invalidate(event.getUserId());
+            present.put(event.getUserId(), Boolean.TRUE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            generation++;
+            present.invalidate(event.getUserId());
+            absent.put(event.getUserId(), Boolean.TRUE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long currentGeneration() {
+        lock.readLock().lock();
+        try {
+            return generation;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -3,12 +3,16 @@ package ru.practicum.shareit.user.service;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.EntityAlreadyExistsException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.logging.AuditLog;
 import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.event.UserChangedEvent;
+import ru.practicum.shareit.user.event.UserCreatedEvent;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
 import ru.practicum.shareit.user.model.User;
 
 /**
@@ -16,23 +20,28 @@ import ru.practicum.shareit.user.model.User;
  */
 @Service
 @RequiredArgsConstructor
-@Slf4j
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
 
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AuditLog auditLog;
+
     @Override
     @Transactional
     public User create(User user) {
-        log.info("Добавление пользователя {}", user);
+        User savedUser = userRepository.save(user);
+        auditLog.info("Добавление пользователя с id = {}", savedUser.getId());
+        eventPublisher.publishEvent(new UserCreatedEvent(savedUser.getId()));
 
-        return userRepository.save(user).toBuilder().build();
+        return savedUser.toBuilder().build();
     }
 
     @Override
     @Transactional
     public User patch(Long id, User user) {
-        log.info("Редактирование пользователя {}", user);
+        auditLog.info("Редактирование пользователя с id = {}", id);
 
         User currentUser = getById(id);
 
@@ -45,12 +54,15 @@ public class UserServiceImpl implements UserService {
         currentUser.setName(user.getName() != null && !user.getName().isBlank() ?
                 user.getName() : currentUser.getName());
 
-        return userRepository.save(currentUser).toBuilder().build();
+        User savedUser = userRepository.save(currentUser);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
+
+        return savedUser.toBuilder().build();
     }
 
     @Override
     public User getById(Long id) {
-        log.info("Получение пользователя по id = {}", id);
+        auditLog.info("Получение пользователя по id = {}", id);
 
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Не найден пользователь по id = " + id));
@@ -60,18 +72,19 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public List<User> getAll() {
-        log.info("Получение всех пользователей");
+        auditLog.info("Получение всех пользователей");
         return new ArrayList<>(userRepository.findAll());
     }
 
     @Override
     @Transactional
     public void delete(Long id) {
-        log.info("Удаление пользователя по id = {}", id);
+        auditLog.info("Удаление пользователя по id = {}", id);
 
-        if (userRepository.existsById(id)) {
-            userRepository.deleteById(id);
-        }
+        userRepository.findById(id).ifPresent(user -> {
+            userRepository.delete(user);
+            eventPublisher.publishEvent(new UserDeletedEvent(id));
+        });
     }
 
     private void checkEmail(String email) {
@@ -0,0 +1,11 @@
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS lifecycle_phase VARCHAR(16);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_phase_start
+    ON bookings (booker_id, lifecycle_phase, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_phase_start
+    ON bookings (item_id, lifecycle_phase, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_phase_start ON bookings (lifecycle_phase, start_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_phase_end ON bookings (lifecycle_phase, end_date);
@@ -0,0 +1,278 @@
+package ru.practicum.shareit;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.support.QueryCountTest;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.support.QueryCounts.assertQueryCount;
+
+/**
+ * Число SQL-запросов на каждый REST-метод сервера. Рост числа запросов, например при ленивой загрузке
+ * связанных сущностей в цикле, ломает тест; изменение ожидаемого значения должно быть осознанным.
+ */
+@QueryCountTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class EndpointQueryCountIT {
+    private static final String HEADER = "X-Sharer-User-Id";
+
+    private final MockMvc mockMvc;
+
+    private final UserService userService;
+
+    private final ItemService itemService;
+
+    private final ItemRequestService itemRequestService;
+
+    private final BookingService bookingService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private LocalDateTime now;
+
+    private User owner;
+
+    private User booker;
+
+    private User otherBooker;
+
+    private ItemRequest request;
+
+    private Item item;
+
+    private Item otherItem;
+
+    private Booking waitingBooking;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        owner = createUser("Jack Sparrow", "sparrow@gmail.com");
+        booker = createUser("William Turner", "bootstrap@gmail.com");
+        otherBooker = createUser("Elizabeth Swann", "swann@gmail.com");
+        request = itemRequestService.create(booker.getId(), ItemRequest.builder()
+                .description("need a compass")
+                .creationDate(now)
+                .build());
+        itemRequestService.create(otherBooker.getId(), ItemRequest.builder()
+                .description("need a ship")
+                .creationDate(now)
+                .build());
+        item = itemService.create(owner.getId(), Item.builder()
+                .name("compass")
+                .description("points to what you want most")
+                .available(true)
+                .request(ItemRequest.builder().id(request.getId()).build())
+                .build());
+        otherItem = itemService.create(owner.getId(), Item.builder()
+                .name("black pearl")
+                .description("fastest ship in the caribbean")
+                .available(true)
+                .build());
+        createBooking(booker, item, now.minusDays(3), BookingStatus.APPROVED);
+        createBooking(otherBooker, item, now.minusDays(5), BookingStatus.APPROVED);
+        for (User author : new User[]{booker, otherBooker}) {
+            itemService.createComment(author.getId(), item.getId(), Comment.builder()
+                    .text("useful")
+                    .creationDate(now)
+                    .build());
+        }
+        createBooking(booker, item, now.plusDays(1), BookingStatus.APPROVED);
+        waitingBooking = createBooking(booker, otherItem, now.plusDays(2), BookingStatus.WAITING);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from comments");
+        jdbcTemplate.update("delete from bookings");
+        jdbcTemplate.update("delete from items");
+        jdbcTemplate.update("delete from requests");
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void createUser() throws Throwable {
+        expect(1, post("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Hector Barbossa\", \"email\": \"barbossa@gmail.com\"}"));
+    }
+
+    @Test
+    void patchUser() throws Throwable {
+        expect(3, patch("/users/{userId}", booker.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Will Turner\", \"email\": \"turner@gmail.com\"}"));
+    }
+
+    @Test
+    void getUserById() throws Throwable {
+        expect(1, get("/users/{userId}", booker.getId()));
+    }
+
+    @Test
+    void getAllUsers() throws Throwable {
+        expect(1, get("/users"));
+    }
+
+    @Test
+    void deleteUser() throws Throwable {
+        User user = createUser("Joshamee Gibbs", "gibbs@gmail.com");
+
+        expect(2, delete("/users/{userId}", user.getId()));
+    }
+
+    @Test
+    void createItem() throws Throwable {
+        expect(2, post("/items")
+                .header(HEADER, owner.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"sword\", \"description\": \"sharp\", \"available\": true, " +
+                        "\"requestId\": " + request.getId() + "}"));
+    }
+
+    @Test
+    void patchItem() throws Throwable {
+        expect(2, patch("/items/{itemId}", item.getId())
+                .header(HEADER, owner.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"magic compass\"}"));
+    }
+
+    @Test
+    void getItemById_whenOwner() throws Throwable {
+        expect(3, get("/items/{itemId}", item.getId()).header(HEADER, owner.getId()));
+    }
+
+    @Test
+    void getItemById_whenNotOwner() throws Throwable {
+        expect(2, get("/items/{itemId}", item.getId()).header(HEADER, booker.getId()));
+    }
+
+    @Test
+    void getItemsByUserId() throws Throwable {
+        expect(3, get("/items").header(HEADER, owner.getId()));
+    }
+
+    @Test
+    void searchItems() throws Throwable {
+        expect(1, get("/items/search").param("text", "ship"));
+    }
+
+    @Test
+    void createComment() throws Throwable {
+        expect(4, post("/items/{itemId}/comment", item.getId())
+                .header(HEADER, booker.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"text\": \"still useful\"}"));
+    }
+
+    @Test
+    void createBooking() throws Throwable {
+        expect(2, post("/bookings")
+                .header(HEADER, booker.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(bookingJson(otherItem, now.plusDays(10))));
+    }
+
+    @Test
+    void createBookings() throws Throwable {
+        expect(2, post("/bookings/batch")
+                .header(HEADER, booker.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + bookingJson(item, now.plusDays(10)) + ", " +
+                        bookingJson(otherItem, now.plusDays(10)) + "]"));
+    }
+
+    @Test
+    void patchBooking() throws Throwable {
+        expect(3, patch("/bookings/{bookingId}", waitingBooking.getId())
+                .header(HEADER, owner.getId())
+                .param("approved", "true"));
+    }
+
+    @Test
+    void getBookingById() throws Throwable {
+        expect(1, get("/bookings/{bookingId}", waitingBooking.getId()).header(HEADER, booker.getId()));
+    }
+
+    @Test
+    void getBookingsByBookerId() throws Throwable {
+        expect(1, get("/bookings").header(HEADER, booker.getId()));
+    }
+
+    @Test
+    void getBookingsByOwnerId() throws Throwable {
+        expect(1, get("/bookings/owner").header(HEADER, owner.getId()));
+    }
+
+    @Test
+    void createItemRequest() throws Throwable {
+        expect(1, post("/requests")
+                .header(HEADER, booker.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"description\": \"need rum\"}"));
+    }
+
+    @Test
+    void getItemRequestsByRequestorId() throws Throwable {
+        expect(2, get("/requests").header(HEADER, booker.getId()));
+    }
+
+    @Test
+    void getAllItemRequests() throws Throwable {
+        expect(2, get("/requests/all").header(HEADER, owner.getId()));
+    }
+
+    @Test
+    void getItemRequestById() throws Throwable {
+        expect(2, get("/requests/{requestId}", request.getId()).header(HEADER, owner.getId()));
+    }
+
+    private void expect(int statements, MockHttpServletRequestBuilder request) throws Throwable {
+        assertQueryCount(statements, () -> mockMvc.perform(request).andExpect(status().is2xxSuccessful()));
+    }
+
+    private User createUser(String name, String email) {
+        return userService.create(User.builder()
+                .name(name)
+                .email(email)
+                .build());
+    }
+
+    private Booking createBooking(User user, Item bookedItem, LocalDateTime start, BookingStatus status) {
+        return bookingService.create(user.getId(), Booking.builder()
+                .item(Item.builder().id(bookedItem.getId()).build())
+                .start(start)
+                .end(start.plusDays(1))
+                .status(status)
+                .build());
+    }
+
+    private String bookingJson(Item bookedItem, LocalDateTime start) {
+        return "{\"itemId\": " + bookedItem.getId() + ", \"start\": \"" + start + "\", \"end\": \"" +
+                start.plusDays(1) + "\"}";
+    }
+}
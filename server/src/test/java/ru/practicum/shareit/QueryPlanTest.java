@@ -0,0 +1,192 @@
+package ru.practicum.shareit;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dao.BookingStateRepository;
+import ru.practicum.shareit.booking.dao.BookingStateRepositoryImpl;
+import ru.practicum.shareit.booking.internal.BookingCursor;
+import ru.practicum.shareit.booking.internal.BookingStateQuery;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dao.CommentRepository;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.request.dao.ItemRequestRepository;
+import ru.practicum.shareit.support.QueryCounts;
+import ru.practicum.shareit.user.dao.UserRepository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Тесты планов выполнения запросов репозиториев на схеме, созданной миграциями.
+ * Вызывается сам метод репозитория, а план строится для SQL, который Hibernate сгенерировал при этом вызове.
+ * Не проверяются методы, которые не покрываются индексами по своей природе: поиск вещей по подстроке
+ * {@code ItemRepository.search} (в PostgreSQL его обслуживают GIN-индексы pg_trgm, которых нет в H2)
+ * и выборка запросов других пользователей {@code ItemRequestRepository.findByRequestorIdNot}.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "ru.practicum.shareit.support.SqlStatementRecorder")
+@AutoConfigureTestDatabase
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class QueryPlanTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2023, 10, 1, 12, 0);
+
+    private static final Pageable PAGE = PageRequest.of(1, 10);
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10);
+
+    private final BookingRepository bookingRepository;
+
+    private final ItemRepository itemRepository;
+
+    private final CommentRepository commentRepository;
+
+    private final ItemRequestRepository itemRequestRepository;
+
+    private final UserRepository userRepository;
+
+    private final EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    Stream<Arguments> repositoryQueries() {
+        BookingStateRepository phaseRepository = new BookingStateRepositoryImpl(entityManager, true);
+        BookingCursor cursor = BookingCursor.after(Booking.builder().id(100L).start(NOW).build());
+        List<Arguments> queries = new ArrayList<>();
+        for (BookingState state : BookingState.values()) {
+            queries.add(Arguments.of("findAllByState " + state + " booker", (RepositoryCall) () ->
+                    bookingRepository.findAllByState(BookingStateQuery.ofBooker(1L, state), PAGE)));
+            queries.add(Arguments.of("findAllByState " + state + " owner", (RepositoryCall) () ->
+                    bookingRepository.findAllByState(BookingStateQuery.ofOwner(1L, state), PAGE)));
+            queries.add(Arguments.of("findAllByState " + state + " booker after cursor", (RepositoryCall) () ->
+                    bookingRepository.findAllByState(BookingStateQuery.ofBooker(1L, state).after(cursor),
+                            FIRST_PAGE)));
+            queries.add(Arguments.of("findAllByState " + state + " owner after cursor", (RepositoryCall) () ->
+                    bookingRepository.findAllByState(BookingStateQuery.ofOwner(1L, state).after(cursor),
+                            FIRST_PAGE)));
+        }
+        return Stream.concat(queries.stream(), Stream.of(
+                Arguments.of("findAllByState CURRENT booker by phase", (RepositoryCall) () ->
+                        phaseRepository.findAllByState(BookingStateQuery.ofBooker(1L, BookingState.CURRENT)
+                                .after(cursor), FIRST_PAGE)),
+                Arguments.of("findAllByState PAST owner by phase", (RepositoryCall) () ->
+                        phaseRepository.findAllByState(BookingStateQuery.ofOwner(1L, BookingState.PAST)
+                                .after(cursor), FIRST_PAGE)),
+                Arguments.of("advancePhaseToPast", (RepositoryCall) () -> bookingRepository.advancePhaseToPast(NOW)),
+                Arguments.of("advancePhaseToCurrent", (RepositoryCall) () ->
+                        bookingRepository.advancePhaseToCurrent(NOW)),
+                Arguments.of("findLastAndNextByItemIdIn", (RepositoryCall) () ->
+                        bookingRepository.findLastAndNextByItemIdIn(List.of(1L, 2L), NOW, BookingStatus.APPROVED)),
+                Arguments.of("existsByBookerIdAndItemIdAndEndLessThan", (RepositoryCall) () ->
+                        bookingRepository.existsByBookerIdAndItemIdAndEndLessThan(1L, 1L, NOW)),
+                Arguments.of("findByItemIdAndStatusInAndEndAfter", (RepositoryCall) () ->
+                        bookingRepository.findByItemIdAndStatusInAndEndAfter(1L,
+                                List.of(BookingStatus.WAITING, BookingStatus.APPROVED), NOW)),
+                Arguments.of("updateStatusByOwner", (RepositoryCall) () ->
+                        bookingRepository.updateStatusByOwner(1L, 1L, BookingStatus.APPROVED)),
+                Arguments.of("updateStatusByOwnerAndVersion", (RepositoryCall) () ->
+                        bookingRepository.updateStatusByOwnerAndVersion(1L, 1L, BookingStatus.APPROVED, 1L)),
+                Arguments.of("findItemIdById", (RepositoryCall) () -> bookingRepository.findItemIdById(1L)),
+                Arguments.of("findWithItemAndBookerById", (RepositoryCall) () ->
+                        bookingRepository.findWithItemAndBookerById(1L)),
+                Arguments.of("streamByBookerId", (RepositoryCall) () -> {
+                    try (Stream<Booking> bookings = bookingRepository.streamByBookerId(1L)) {
+                        bookings.count();
+                    }
+                }),
+                Arguments.of("streamByOwnerId", (RepositoryCall) () -> {
+                    try (Stream<Booking> bookings = bookingRepository.streamByOwnerId(1L)) {
+                        bookings.count();
+                    }
+                }),
+                Arguments.of("findByOwnerIdOrderByIdAsc", (RepositoryCall) () ->
+                        itemRepository.findByOwnerIdOrderByIdAsc(1L, FIRST_PAGE)),
+                Arguments.of("findAllWithRequestAfter", (RepositoryCall) () ->
+                        itemRepository.findAllWithRequestAfter(1L, FIRST_PAGE)),
+                Arguments.of("findByRequestId", (RepositoryCall) () -> itemRepository.findByRequestId(1L)),
+                Arguments.of("findByRequestIdIn", (RepositoryCall) () ->
+                        itemRepository.findByRequestIdIn(List.of(1L, 2L))),
+                Arguments.of("findByItemId", (RepositoryCall) () -> commentRepository.findByItemId(1L)),
+                Arguments.of("findByItemIdIn", (RepositoryCall) () ->
+                        commentRepository.findByItemIdIn(List.of(1L, 2L))),
+                Arguments.of("findByRequestorIdOrderByCreationDateDesc", (RepositoryCall) () ->
+                        itemRequestRepository.findByRequestorIdOrderByCreationDateDesc(1L)),
+                Arguments.of("findByEmail", (RepositoryCall) () -> userRepository.findByEmail("sparrow@gmail.com"))
+        ));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void explain_whenRepositoryQueryPlanned_thenNoTableScan(String query, RepositoryCall call) throws Throwable {
+        List<String> statements = QueryCounts.record(call::execute);
+
+        assertThat(statements, not(empty()));
+        for (String sql : statements) {
+            assertThat(sql, explain(sql), not(containsString("tableScan")));
+        }
+    }
+
+    /**
+     * План запроса с параметрами: значения подставляются по типам параметров, так как H2 выбирает индекс
+     * по условиям запроса, а не по конкретным значениям.
+     */
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("explain " + sql)) {
+                ParameterMetaData parameters = statement.getParameterMetaData();
+                for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                    statement.setObject(i, sampleValue(parameters.getParameterType(i)));
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+
+    private static Object sampleValue(int type) {
+        switch (type) {
+            case Types.TIMESTAMP:
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                return Timestamp.valueOf(NOW);
+            case Types.VARCHAR:
+            case Types.CHAR:
+                return "WAITING";
+            case Types.BOOLEAN:
+                return true;
+            default:
+                return 1L;
+        }
+    }
+
+    @FunctionalInterface
+    interface RepositoryCall {
+        void execute() throws Throwable;
+    }
+}
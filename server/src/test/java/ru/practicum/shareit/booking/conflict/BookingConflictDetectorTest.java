@@ -0,0 +1,163 @@
+package ru.practicum.shareit.booking.conflict;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.item.model.Item;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тесты для {@link BookingConflictDetector}
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingConflictDetectorTest {
+    private static final Long ITEM_ID = 1L;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingConflictDetector detector;
+
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        detector = new BookingConflictDetector(bookingRepository, Duration.ofHours(1));
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusDays(1);
+    }
+
+    @Test
+    void reserve_whenPeriodOverlapsActiveBooking_thenBookingOverlapExceptionThrown() {
+        load(booking(1L, 0, 10, BookingStatus.APPROVED));
+
+        assertThrows(BookingOverlapException.class, () -> detector.reserve(booking(2L, 5, 15, BookingStatus.WAITING)));
+        assertThrows(BookingOverlapException.class, () -> detector.reserve(booking(3L, -5, 1, BookingStatus.WAITING)));
+        assertThrows(BookingOverlapException.class, () -> detector.reserve(booking(4L, 2, 3, BookingStatus.WAITING)));
+    }
+
+    @Test
+    void reserve_whenPeriodAdjacent_thenBookingReserved() {
+        load(booking(1L, 10, 20, BookingStatus.APPROVED));
+
+        assertDoesNotThrow(() -> detector.reserve(booking(2L, 0, 10, BookingStatus.WAITING)));
+        assertDoesNotThrow(() -> detector.reserve(booking(3L, 20, 30, BookingStatus.WAITING)));
+        assertThrows(BookingOverlapException.class, () -> detector.check(booking(null, 25, 26, BookingStatus.WAITING)));
+    }
+
+    @Test
+    void reserve_whenBookingRejected_thenPeriodNotBlocked() {
+        load();
+
+        detector.reserve(booking(1L, 0, 10, BookingStatus.REJECTED));
+
+        assertDoesNotThrow(() -> detector.check(booking(null, 0, 10, BookingStatus.WAITING)));
+    }
+
+    @Test
+    void reserve_whenApproveRolledBack_thenWaitingBookingStillBlocksPeriod() {
+        Booking waiting = booking(1L, 0, 10, BookingStatus.WAITING);
+        load(waiting);
+        detector.check(booking(null, 20, 30, BookingStatus.WAITING));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            detector.reserve(booking(1L, 0, 10, BookingStatus.APPROVED));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThrows(BookingOverlapException.class, () -> detector.reserve(booking(2L, 5, 15, BookingStatus.WAITING)));
+    }
+
+    @Test
+    void reserve_whenCreateRolledBack_thenPeriodAvailable() {
+        load();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            detector.reserve(booking(1L, 0, 10, BookingStatus.WAITING));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertDoesNotThrow(() -> detector.reserve(booking(2L, 0, 10, BookingStatus.WAITING)));
+    }
+
+    @Test
+    void release_whenBookingReleased_thenPeriodAvailable() {
+        Booking booking = booking(1L, 0, 10, BookingStatus.WAITING);
+        load(booking);
+        detector.check(booking);
+
+        detector.release(booking);
+
+        assertDoesNotThrow(() -> detector.reserve(booking(2L, 0, 10, BookingStatus.WAITING)));
+    }
+
+    @Test
+    void check_whenBookingChecksItself_thenNoConflict() {
+        Booking booking = booking(1L, 0, 10, BookingStatus.WAITING);
+        load(booking(2L, -10, 0, BookingStatus.APPROVED), booking);
+
+        assertDoesNotThrow(() -> detector.check(booking));
+    }
+
+    @Test
+    void check_whenLoadedBookingsOverlapEachOther_thenEveryOverlapDetected() {
+        Booking approved = booking(1L, 0, 100, BookingStatus.APPROVED);
+        Booking waiting = booking(2L, 10, 20, BookingStatus.WAITING);
+        load(waiting, approved);
+
+        assertThrows(BookingOverlapException.class, () -> detector.check(waiting));
+        assertThrows(BookingOverlapException.class, () -> detector.check(booking(null, 50, 60, BookingStatus.WAITING)));
+    }
+
+    @Test
+    void check_whenCalledTwice_thenBookingsLoadedOnce() {
+        load();
+
+        detector.check(booking(null, 0, 10, BookingStatus.WAITING));
+        detector.check(booking(null, 20, 30, BookingStatus.WAITING));
+
+        verify(bookingRepository, times(1)).findByItemIdAndStatusInAndEndAfter(anyLong(), any(), any());
+    }
+
+    private void load(Booking... bookings) {
+        when(bookingRepository.findByItemIdAndStatusInAndEndAfter(eq(ITEM_ID),
+                eq(BookingConflictDetector.ACTIVE_STATUSES), any())).thenReturn(List.of(bookings));
+    }
+
+    private Booking booking(Long id, int startHours, int endHours, BookingStatus status) {
+        return Booking.builder()
+                .id(id)
+                .start(now.plusHours(startHours))
+                .end(now.plusHours(endHours))
+                .item(Item.builder().id(ITEM_ID).build())
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.booking.conflict;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тесты для {@link BookingOverlapConstraintCheck}
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingOverlapConstraintCheckTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void check_whenConstraintMissingInAdvisoryMode_thenIllegalStateExceptionThrown() {
+        database("PostgreSQL", 0L);
+
+        assertThrows(IllegalStateException.class,
+                () -> new BookingOverlapConstraintCheck(jdbcTemplate, "advisory").check());
+    }
+
+    @Test
+    void check_whenConstraintMissingInLocalMode_thenStartupContinues() {
+        database("PostgreSQL", 0L);
+
+        assertDoesNotThrow(() -> new BookingOverlapConstraintCheck(jdbcTemplate, "local").check());
+    }
+
+    @Test
+    void check_whenConstraintPresentInAdvisoryMode_thenStartupContinues() {
+        database("PostgreSQL", 1L);
+
+        assertDoesNotThrow(() -> new BookingOverlapConstraintCheck(jdbcTemplate, "advisory").check());
+    }
+
+    @Test
+    void check_whenDatabaseIsNotPostgreSql_thenConstraintNotQueried() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+
+        new BookingOverlapConstraintCheck(jdbcTemplate, "advisory").check();
+
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Long.class), any());
+    }
+
+    private void database(String productName, Long constraints) {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(productName);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(BookingConflictDetector.OVERLAP_CONSTRAINT)))
+                .thenReturn(constraints);
+    }
+}
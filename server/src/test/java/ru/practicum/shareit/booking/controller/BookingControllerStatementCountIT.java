@@ -0,0 +1,126 @@
+package ru.practicum.shareit.booking.controller;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.support.QueryCountTest;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.empty;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.support.QueryCounts.assertQueryCount;
+
+/**
+ * Число SQL-запросов на одну страницу списков {@link BookingController}: вещь и арендатор загружаются
+ * тем же запросом, что и бронирования.
+ */
+@QueryCountTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingControllerStatementCountIT {
+    private static final String HEADER = "X-Sharer-User-Id";
+
+    private static final int ITEMS = 3;
+
+    private final MockMvc mockMvc;
+
+    private final UserService userService;
+
+    private final ItemService itemService;
+
+    private final BookingService bookingService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private User owner;
+
+    private User booker;
+
+    static Stream<Arguments> listRequests() {
+        List<Arguments> arguments = new ArrayList<>();
+        for (String path : List.of("/bookings", "/bookings/owner")) {
+            for (String state : List.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED")) {
+                arguments.add(Arguments.of(path, state, false));
+                arguments.add(Arguments.of(path, state, true));
+            }
+        }
+        return arguments.stream();
+    }
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(User.builder()
+                .name("Jack Sparrow")
+                .email("sparrow@gmail.com")
+                .build());
+        booker = userService.create(User.builder()
+                .name("William Turner")
+                .email("bootstrap@gmail.com")
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = itemService.create(owner.getId(), Item.builder()
+                    .name("thing " + i)
+                    .description("description")
+                    .available(true)
+                    .build());
+            create(item, now.minusDays(1), now.plusDays(1), BookingStatus.APPROVED);
+            create(item, now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED);
+            create(item, now.plusDays(2), now.plusDays(3), BookingStatus.APPROVED);
+            create(item, now.plusDays(4), now.plusDays(5), BookingStatus.WAITING);
+            create(item, now.plusDays(6), now.plusDays(7), BookingStatus.REJECTED);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from bookings");
+        jdbcTemplate.update("delete from items");
+        jdbcTemplate.update("delete from users");
+    }
+
+    @ParameterizedTest(name = "{0} state={1} cursor={2}")
+    @MethodSource("listRequests")
+    void getAll_whenPageRequested_thenSingleStatementExecuted(String path, String state, boolean cursor)
+            throws Throwable {
+        Long userId = path.endsWith("/owner") ? owner.getId() : booker.getId();
+        MockHttpServletRequestBuilder request = get(path)
+                .header(HEADER, userId)
+                .param("state", state);
+        if (cursor) {
+            request.param("cursor", "");
+        }
+
+        assertQueryCount(1, () -> mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", not(empty()))));
+    }
+
+    private void create(Item item, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        bookingService.create(booker.getId(), Booking.builder()
+                .item(Item.builder().id(item.getId()).build())
+                .start(start)
+                .end(end)
+                .status(status)
+                .build());
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
@@ -12,36 +13,54 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.booking.dto.BookingCreateRequest;
+import ru.practicum.shareit.booking.export.BookingExportFormat;
+import ru.practicum.shareit.booking.export.BookingExporter;
+import ru.practicum.shareit.booking.internal.BookingBatchEntry;
+import ru.practicum.shareit.booking.internal.BookingCursor;
 import ru.practicum.shareit.booking.mapper.BookingConverter;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.ResourceVersions;
+import ru.practicum.shareit.exception.BookingOverlapException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.cache.UserPresenceCache;
 import ru.practicum.shareit.user.model.User;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
  * Тесты для {@link BookingController}
  */
-@WebMvcTest(controllers = {BookingController.class, BookingConverter.class})
+@WebMvcTest(controllers = {BookingController.class, BookingConverter.class, ResourceVersions.class})
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class BookingControllerTest {
     private static final String URL = "/bookings";
@@ -55,6 +74,12 @@ class BookingControllerTest {
     @MockBean
     private BookingService bookingService;
 
+    @MockBean
+    private BookingExporter bookingExporter;
+
+    @MockBean
+    private UserPresenceCache userPresenceCache;
+
     private final ObjectMapper objectMapper;
 
     private final MockMvc mockMvc;
@@ -108,6 +133,31 @@ class BookingControllerTest {
         verify(bookingService).create(anyLong(), any());
     }
 
+    @Test
+    @SneakyThrows
+    void createAll_whenBatchPosted_thenResultPerEntryReturned() {
+        createRequest = BookingCreateRequest.builder()
+                .start(LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS))
+                .end(LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.SECONDS))
+                .itemId(1L)
+                .build();
+        when(bookingService.createAll(anyLong(), any())).thenReturn(List.of(BookingBatchEntry.created(booking),
+                BookingBatchEntry.rejected("Не найдена вещь по id = 2")));
+
+        mockMvc.perform(post(URL + "/batch")
+                        .header(HEADER, userId)
+                        .content(objectMapper.writeValueAsString(List.of(createRequest, createRequest)))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].index", is(0)))
+                .andExpect(jsonPath("$[0].booking.id", is(booking.getId()), Long.class))
+                .andExpect(jsonPath("$[0].booking.item.name", is(booking.getItem().getName())))
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].error", is("Не найдена вещь по id = 2")));
+        verify(bookingService).createAll(eq(userId), any());
+    }
+
     @Test
     @SneakyThrows
     void create_whenUserOrItemNotFound_thenNotFoundReturned() {
@@ -142,15 +192,35 @@ class BookingControllerTest {
         verify(bookingService).create(anyLong(), any());
     }
 
+    @Test
+    @SneakyThrows
+    void create_whenBookingOverlapsExisting_thenConflictReturned() {
+        createRequest = BookingCreateRequest.builder()
+                .start(LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS))
+                .end(LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.SECONDS))
+                .itemId(1L)
+                .build();
+        when(bookingService.create(anyLong(), any())).thenThrow(BookingOverlapException.class);
+        mockMvc.perform(post(URL)
+                        .header(HEADER, userId)
+                        .content(objectMapper.writeValueAsString(createRequest))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict());
+        verify(bookingService).create(anyLong(), any());
+    }
+
     @Test
     @SneakyThrows
     void patch_whenBookingIsValid_thenBookingUpdated() {
         booking.setStatus(BookingStatus.APPROVED);
-        when(bookingService.patch(userId, booking.getId(), true)).thenReturn(booking);
+        booking.setVersion(4L);
+        when(bookingService.patch(userId, booking.getId(), true, 3L)).thenReturn(booking);
         mockMvc.perform(patch(URL + "/{bookingId}", booking.getId())
                 .header(HEADER, userId)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
                 .param("approved", "true"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
                 .andExpect(jsonPath("$.id", is(booking.getId()), Long.class))
                 .andExpect(jsonPath("$.start", is(booking.getStart().toString())))
                 .andExpect(jsonPath("$.end", is(booking.getEnd().toString())))
@@ -158,38 +228,64 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.booker.id", is(booking.getBooker().getId()), Long.class))
                 .andExpect(jsonPath("$.item.id", is(booking.getItem().getId()), Long.class))
                 .andExpect(jsonPath("$.item.name", is(booking.getItem().getName())));
-        verify(bookingService).patch(anyLong(), anyLong(), any());
+        verify(bookingService).patch(anyLong(), anyLong(), any(), any());
     }
 
     @Test
     @SneakyThrows
     void patch_whenUserOrBookingNotFound_thenNotFoundReturned() {
-        when(bookingService.patch(userId, booking.getId(), true)).thenThrow(EntityNotFoundException.class);
+        when(bookingService.patch(userId, booking.getId(), true, null)).thenThrow(EntityNotFoundException.class);
         mockMvc.perform(patch(URL + "/{bookingId}", booking.getId())
                         .header(HEADER, userId)
                         .param("approved", "true"))
                 .andExpect(status().isNotFound());
-        verify(bookingService).patch(anyLong(), anyLong(), any());
+        verify(bookingService).patch(anyLong(), anyLong(), any(), any());
     }
 
     @Test
     @SneakyThrows
     void patch_whenStatusIsApprovedOrOwnerIsWrong_thenBadRequestReturned() {
-        when(bookingService.patch(userId, booking.getId(), true)).thenThrow(ValidationException.class);
+        when(bookingService.patch(userId, booking.getId(), true, null)).thenThrow(ValidationException.class);
+        mockMvc.perform(patch(URL + "/{bookingId}", booking.getId())
+                        .header(HEADER, userId)
+                        .param("approved", "true"))
+                .andExpect(status().isBadRequest());
+        verify(bookingService).patch(anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void patch_whenVersionOutdated_thenConflictReturned() {
+        when(bookingService.patch(userId, booking.getId(), true, 3L))
+                .thenThrow(new OptimisticLockingFailureException("Бронирование изменено другим запросом"));
         mockMvc.perform(patch(URL + "/{bookingId}", booking.getId())
                         .header(HEADER, userId)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .param("approved", "true"))
+                .andExpect(status().isConflict());
+        verify(bookingService).patch(anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void patch_whenIfMatchMalformed_thenBadRequestReturned() {
+        mockMvc.perform(patch(URL + "/{bookingId}", booking.getId())
+                        .header(HEADER, userId)
+                        .header(HttpHeaders.IF_MATCH, "\"abc\"")
                         .param("approved", "true"))
                 .andExpect(status().isBadRequest());
-        verify(bookingService).patch(anyLong(), anyLong(), any());
+        verify(bookingService, never()).patch(anyLong(), anyLong(), any(), any());
     }
 
     @Test
     @SneakyThrows
     void getById_whenBookingFound_thenBookingReturned() {
+        booking.setVersion(1L);
         when(bookingService.getById(userId, booking.getId())).thenReturn(booking);
         mockMvc.perform(get(URL + "/{bookingId}", booking.getId())
                 .header(HEADER, userId))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
                 .andExpect(jsonPath("$.id", is(booking.getId()), Long.class))
                 .andExpect(jsonPath("$.start", is(booking.getStart().toString())))
                 .andExpect(jsonPath("$.end", is(booking.getEnd().toString())))
@@ -230,6 +326,74 @@ class BookingControllerTest {
         verify(bookingService).getAllByBookerId(userId, "WAITING", DEFAULT_PAGE_START, DEFAULT_PAGE_SIZE);
     }
 
+    @Test
+    @SneakyThrows
+    void getAllByBookerId_whenETagMatches_thenNotModifiedReturnedWithoutQuery() {
+        when(bookingService.getAllByBookerId(userId, "WAITING", DEFAULT_PAGE_START, DEFAULT_PAGE_SIZE))
+                .thenReturn(List.of(booking));
+        String eTag = mockMvc.perform(get(URL)
+                        .header(HEADER, userId)
+                        .param("state", "WAITING"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, HEADER))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(URL)
+                        .header(HEADER, userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .param("state", "WAITING"))
+                .andExpect(status().isNotModified());
+        verify(bookingService).getAllByBookerId(userId, "WAITING", DEFAULT_PAGE_START, DEFAULT_PAGE_SIZE);
+    }
+
+    @Test
+    @SneakyThrows
+    void getAllByBookerId_whenOtherUserSendsETag_thenBookingsReturned() {
+        when(bookingService.getAllByBookerId(anyLong(), eq("WAITING"), eq(DEFAULT_PAGE_START), eq(DEFAULT_PAGE_SIZE)))
+                .thenReturn(List.of(booking));
+        String eTag = mockMvc.perform(get(URL)
+                        .header(HEADER, userId)
+                        .param("state", "WAITING"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(URL)
+                        .header(HEADER, userId + 1)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .param("state", "WAITING"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+        verify(bookingService).getAllByBookerId(userId + 1, "WAITING", DEFAULT_PAGE_START, DEFAULT_PAGE_SIZE);
+    }
+
+    @Test
+    @SneakyThrows
+    void getAllByBookerId_whenUserNotFoundAndETagSent_thenNotFoundReturned() {
+        doThrow(new EntityNotFoundException("Не найден пользователь по id = " + userId))
+                .when(userPresenceCache).checkExists(userId);
+
+        mockMvc.perform(get(URL)
+                        .header(HEADER, userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "*")
+                        .param("state", "WAITING"))
+                .andExpect(status().isNotFound());
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    @SneakyThrows
+    void getAllByBookerId_whenStateDependsOnTime_thenETagNotUsed() {
+        when(bookingService.getAllByBookerId(userId, "FUTURE", DEFAULT_PAGE_START, DEFAULT_PAGE_SIZE))
+                .thenReturn(List.of(booking));
+        mockMvc.perform(get(URL)
+                        .header(HEADER, userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "*")
+                        .param("state", "FUTURE"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$", hasSize(1)));
+        verify(bookingService).getAllByBookerId(userId, "FUTURE", DEFAULT_PAGE_START, DEFAULT_PAGE_SIZE);
+    }
+
     @Test
     @SneakyThrows
     void getAllByBookerId_whenBookingFoundWithPagination_thenBookingReturned() {
@@ -367,4 +531,83 @@ class BookingControllerTest {
                 .andExpect(status().isNotFound());
         verify(bookingService).getAllByOwnerId(anyLong(), anyString(), anyInt(), anyInt());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void getAllByBookerId_whenFullPageFoundByCursor_thenNextCursorReturned() {
+        when(bookingService.getAllByBookerIdAfter(eq(userId), eq("ALL"), any(), eq(1)))
+                .thenReturn(List.of(booking));
+        mockMvc.perform(get(URL)
+                        .header(HEADER, userId)
+                        .param("cursor", "")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(booking.getId()), Long.class))
+                .andExpect(header().string("X-Next-Cursor", BookingCursor.after(booking).encode()));
+        verify(bookingService).getAllByBookerIdAfter(eq(userId), eq("ALL"), any(), eq(1));
+    }
+
+    @Test
+    @SneakyThrows
+    void getAllByOwnerId_whenLastPageFoundByCursor_thenNextCursorNotReturned() {
+        String cursor = BookingCursor.after(booking).encode();
+        when(bookingService.getAllByOwnerIdAfter(eq(userId), eq("ALL"), any(), eq(DEFAULT_PAGE_SIZE)))
+                .thenReturn(Collections.emptyList());
+        mockMvc.perform(get(URL + "/owner")
+                        .header(HEADER, userId)
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+        verify(bookingService).getAllByOwnerIdAfter(eq(userId), eq("ALL"), any(), eq(DEFAULT_PAGE_SIZE));
+    }
+
+    @Test
+    @SneakyThrows
+    void getAllByBookerId_whenCursorMalformed_thenBadRequestReturned() {
+        mockMvc.perform(get(URL)
+                        .header(HEADER, userId)
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @SneakyThrows
+    void exportByBookerId_whenFormatPassed_thenExportStreamed() {
+        when(bookingExporter.exportByBookerId(userId, BookingExportFormat.CSV))
+                .thenReturn(out -> out.write("id\n1\n".getBytes(StandardCharsets.UTF_8)));
+
+        MvcResult result = mockMvc.perform(get(URL + "/export")
+                        .header(HEADER, userId)
+                        .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BookingExportFormat.CSV.getMediaType()))
+                .andExpect(content().string("id\n1\n"));
+    }
+
+    @Test
+    @SneakyThrows
+    void exportByOwnerId_whenFormatUnknown_thenBadRequestReturned() {
+        mockMvc.perform(get(URL + "/owner/export")
+                        .header(HEADER, userId)
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+        verify(bookingExporter, never()).exportByOwnerId(anyLong(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void exportByOwnerId_whenUserNotFound_thenNotFoundReturned() {
+        when(bookingExporter.exportByOwnerId(userId, BookingExportFormat.NDJSON))
+                .thenThrow(new EntityNotFoundException("Не найден пользователь по id = " + userId));
+
+        mockMvc.perform(get(URL + "/owner/export")
+                        .header(HEADER, userId))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,190 @@
+package ru.practicum.shareit.booking.dao;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.internal.BookingCursor;
+import ru.practicum.shareit.booking.internal.BookingShort;
+import ru.practicum.shareit.booking.internal.BookingStateQuery;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPhase;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Тесты для {@link BookingRepository}
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingRepositoryTest {
+    private final BookingRepository bookingRepository;
+
+    private final ItemRepository itemRepository;
+
+    private final UserRepository userRepository;
+
+    private final EntityManager entityManager;
+
+    private User owner;
+
+    private User booker;
+
+    private Item firstItem;
+
+    private Item secondItem;
+
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        owner = userRepository.save(User.builder()
+                .name("Jack Sparrow")
+                .email("sparrow@gmail.com")
+                .build());
+        booker = userRepository.save(User.builder()
+                .name("WilliamTurner")
+                .email("bootstrap@gmail.com")
+                .build());
+        firstItem = itemRepository.save(Item.builder()
+                .name("item 1")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+        secondItem = itemRepository.save(Item.builder()
+                .name("item 2")
+                .description("something")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    @Test
+    void findAllLastAndNextBookings() {
+        save(firstItem, now.minusDays(3), BookingStatus.APPROVED);
+        Booking last = save(firstItem, now.minusDays(2), BookingStatus.APPROVED);
+        save(firstItem, now.minusDays(1), BookingStatus.REJECTED);
+        Booking next = save(firstItem, now.plusDays(1), BookingStatus.APPROVED);
+        save(firstItem, now.plusDays(2), BookingStatus.APPROVED);
+        Booking secondNext = save(secondItem, now.plusDays(3), BookingStatus.APPROVED);
+
+        Map<Boolean, Map<Long, BookingShort>> bookings = bookingRepository.findAllLastAndNextBookings(
+                List.of(firstItem.getId(), secondItem.getId()), now, BookingStatus.APPROVED);
+
+        assertThat(bookings.get(false), aMapWithSize(1));
+        assertThat(bookings.get(false).get(firstItem.getId()).getId(), equalTo(last.getId()));
+        assertThat(bookings.get(false).get(firstItem.getId()).getBookerId(), equalTo(booker.getId()));
+        assertThat(bookings.get(false).get(firstItem.getId()).getStart(), equalTo(last.getStart()));
+        assertThat(bookings.get(false).get(firstItem.getId()).getEnd(), equalTo(last.getEnd()));
+        assertThat(bookings.get(true), aMapWithSize(2));
+        assertThat(bookings.get(true).get(firstItem.getId()).getId(), equalTo(next.getId()));
+        assertThat(bookings.get(true).get(secondItem.getId()).getId(), equalTo(secondNext.getId()));
+    }
+
+    @Test
+    void findAllLastAndNextBookings_whenNoItems_thenEmptyMapsReturned() {
+        Map<Boolean, Map<Long, BookingShort>> bookings = bookingRepository.findAllLastAndNextBookings(
+                List.of(), now, BookingStatus.APPROVED);
+
+        assertThat(bookings.get(false), anEmptyMap());
+        assertThat(bookings.get(true), anEmptyMap());
+    }
+
+    @Test
+    void findAllByState_whenBookerStatesSearched_thenMatchingBookingsReturned() {
+        Booking past = save(firstItem, now.minusDays(2), BookingStatus.APPROVED);
+        Booking current = save(firstItem, now.minusHours(1), BookingStatus.APPROVED);
+        Booking future = save(secondItem, now.plusDays(1), BookingStatus.WAITING);
+
+        assertThat(findByBooker(BookingState.ALL), contains(future.getId(), current.getId(), past.getId()));
+        assertThat(findByBooker(BookingState.CURRENT), contains(current.getId()));
+        assertThat(findByBooker(BookingState.PAST), contains(past.getId()));
+        assertThat(findByBooker(BookingState.FUTURE), contains(future.getId()));
+        assertThat(findByBooker(BookingState.WAITING), contains(future.getId()));
+        assertThat(findByBooker(BookingState.REJECTED), empty());
+    }
+
+    @Test
+    void findAllByState_whenOwnerSearchedAfterCursor_thenNextPageReturned() {
+        Booking past = save(firstItem, now.minusDays(2), BookingStatus.APPROVED);
+        Booking current = save(firstItem, now.minusHours(1), BookingStatus.APPROVED);
+        save(secondItem, now.plusDays(1), BookingStatus.WAITING);
+
+        List<Booking> bookings = bookingRepository.findAllByState(BookingStateQuery.ofOwner(owner.getId(),
+                BookingState.ALL).after(BookingCursor.after(current)), PageRequest.of(0, 10));
+
+        assertThat(ids(bookings), contains(past.getId()));
+        assertThat(bookings.get(0).getItem().getOwner().getId(), equalTo(owner.getId()));
+    }
+
+    @Test
+    void findAllByState_whenPhaseEnabled_thenBookingsSelectedByAdvancedPhase() {
+        BookingStateRepository phaseRepository = new BookingStateRepositoryImpl(entityManager, true);
+        Booking ended = save(firstItem, now.minusDays(2), now.minusDays(1), BookingPhase.CURRENT);
+        Booking started = save(secondItem, now.minusHours(1), now.plusHours(1), BookingPhase.FUTURE);
+        BookingStateQuery current = BookingStateQuery.ofBooker(booker.getId(), BookingState.CURRENT);
+
+        assertThat(ids(phaseRepository.findAllByState(current, Pageable.unpaged())), contains(ended.getId()));
+
+        assertThat(bookingRepository.advancePhaseToPast(now), equalTo(1));
+        assertThat(bookingRepository.advancePhaseToCurrent(now), equalTo(1));
+
+        assertThat(ids(phaseRepository.findAllByState(current, Pageable.unpaged())), contains(started.getId()));
+        assertThat(ids(phaseRepository.findAllByState(BookingStateQuery.ofBooker(booker.getId(), BookingState.PAST),
+                Pageable.unpaged())), contains(ended.getId()));
+    }
+
+    private List<Long> findByBooker(BookingState state) {
+        return ids(bookingRepository.findAllByState(BookingStateQuery.ofBooker(booker.getId(), state),
+                PageRequest.of(0, 10)));
+    }
+
+    private List<Long> ids(List<Booking> bookings) {
+        return bookings.stream().map(Booking::getId).collect(Collectors.toList());
+    }
+
+    private Booking save(Item item, LocalDateTime start, BookingStatus status) {
+        return bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(start.plusHours(12))
+                .status(status)
+                .build());
+    }
+
+    private Booking save(Item item, LocalDateTime start, LocalDateTime end, BookingPhase phase) {
+        return bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(BookingStatus.APPROVED)
+                .phase(phase)
+                .build());
+    }
+}
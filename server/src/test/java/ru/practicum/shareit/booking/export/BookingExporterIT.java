@@ -0,0 +1,148 @@
+package ru.practicum.shareit.booking.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Интеграционные тесты для {@link BookingExporter}
+ */
+@AutoConfigureTestDatabase
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingExporterIT {
+    private final BookingExporter bookingExporter;
+
+    private final BookingService bookingService;
+
+    private final ItemService itemService;
+
+    private final UserService userService;
+
+    private final ObjectMapper objectMapper;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private User owner;
+
+    private User booker;
+
+    private Item item;
+
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(User.builder()
+                .name("Jack Sparrow")
+                .email("sparrow@gmail.com")
+                .build());
+        booker = userService.create(User.builder()
+                .name("William Turner")
+                .email("bootstrap@gmail.com")
+                .build());
+        item = itemService.create(owner.getId(), Item.builder()
+                .name("compass, magic")
+                .description("points to what you want most")
+                .available(true)
+                .build());
+        start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from bookings");
+        jdbcTemplate.update("delete from items");
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void exportByBookerId_whenMoreRowsThanFetchSize_thenEveryBookingWrittenNewestFirst() {
+        int count = BookingRepository.EXPORT_FETCH_SIZE + 10;
+        createBookings(count);
+
+        List<String> lines = export(bookingExporter.exportByBookerId(booker.getId(), BookingExportFormat.NDJSON));
+
+        assertThat(lines, hasSize(count));
+        JsonNode first = read(lines.get(0));
+        JsonNode last = read(lines.get(count - 1));
+        assertThat(first.get("start").asText(), equalTo(start.plusDays(count - 1).toString()));
+        assertThat(first.get("item").get("name").asText(), equalTo(item.getName()));
+        assertThat(first.get("booker").get("id").asLong(), equalTo(booker.getId()));
+        assertThat(last.get("start").asText(), equalTo(start.toString()));
+    }
+
+    @Test
+    void exportByOwnerId_whenCsvRequested_thenHeaderAndEscapedRowsWritten() {
+        Booking booking = createBookings(1).get(0);
+
+        List<String> lines = export(bookingExporter.exportByOwnerId(owner.getId(), BookingExportFormat.CSV));
+
+        assertThat(lines, contains("id,start,end,status,itemId,itemName,bookerId",
+                booking.getId() + "," + booking.getStart() + "," + booking.getEnd() + ",WAITING," + item.getId() +
+                        ",\"compass, magic\"," + booker.getId()));
+    }
+
+    @Test
+    void exportByOwnerId_whenUserNotFound_thenEntityNotFoundExceptionThrown() {
+        assertThrows(EntityNotFoundException.class,
+                () -> bookingExporter.exportByOwnerId(-1L, BookingExportFormat.NDJSON));
+    }
+
+    private List<Booking> createBookings(int count) {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            bookings.add(Booking.builder()
+                    .item(Item.builder().id(item.getId()).build())
+                    .start(start.plusDays(i))
+                    .end(start.plusDays(i).plusHours(12))
+                    .status(BookingStatus.WAITING)
+                    .build());
+        }
+        List<Booking> created = new ArrayList<>();
+        bookingService.createAll(booker.getId(), bookings).forEach(entry -> created.add(entry.getBooking()));
+        return created;
+    }
+
+    @SneakyThrows
+    private List<String> export(StreamingResponseBody body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return List.of(out.toString(StandardCharsets.UTF_8).split("\n"));
+    }
+
+    @SneakyThrows
+    private JsonNode read(String line) {
+        return objectMapper.readTree(line);
+    }
+}
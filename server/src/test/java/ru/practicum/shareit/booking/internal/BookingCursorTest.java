@@ -0,0 +1,41 @@
+package ru.practicum.shareit.booking.internal;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exception.ValidationException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Тесты для {@link BookingCursor}.
+ */
+class BookingCursorTest {
+
+    @Test
+    void decode_whenCursorEncoded_thenSameKeyReturned() {
+        Booking booking = Booking.builder()
+                .id(42L)
+                .start(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
+                .build();
+
+        BookingCursor actual = BookingCursor.decode(BookingCursor.after(booking).encode());
+
+        assertThat(actual.getStart(), equalTo(booking.getStart()));
+        assertThat(actual.getId(), equalTo(booking.getId()));
+    }
+
+    @Test
+    void decode_whenCursorBlank_thenFirstPageCursorReturned() {
+        assertThat(BookingCursor.decode(""), sameInstance(BookingCursor.first()));
+    }
+
+    @Test
+    void decode_whenCursorMalformed_thenValidationExceptionThrown() {
+        assertThrows(ValidationException.class, () -> BookingCursor.decode("not-a-cursor"));
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.booking.lock;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Тесты для {@link AdvisoryItemLockManager}.
+ */
+@ExtendWith(MockitoExtension.class)
+class AdvisoryItemLockManagerTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private AdvisoryItemLockManager lockManager;
+
+    @Test
+    void lock_whenItemLocked_thenTransactionAdvisoryLockTaken() {
+        lockManager.lock(1L);
+
+        verify(jdbcTemplate).query(eq("select pg_advisory_xact_lock(?)"), any(ResultSetExtractor.class), eq(1L));
+    }
+
+    @Test
+    void lockAll_whenItemsRepeatedAndUnordered_thenEachItemLockedOnceInAscendingOrder() {
+        lockManager.lockAll(List.of(3L, 1L, 3L, 2L));
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).query(anyString(), any(ResultSetExtractor.class), eq(1L));
+        order.verify(jdbcTemplate).query(anyString(), any(ResultSetExtractor.class), eq(2L));
+        order.verify(jdbcTemplate).query(anyString(), any(ResultSetExtractor.class), eq(3L));
+        order.verifyNoMoreInteractions();
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.booking.lock;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Тесты для {@link StripedItemLockManager}.
+ */
+class StripedItemLockManagerTest {
+    private static final long WAIT_MILLIS = 200;
+
+    private StripedItemLockManager lockManager;
+
+    @BeforeEach
+    void setUp() {
+        lockManager = new StripedItemLockManager(1024);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete();
+        }
+    }
+
+    @Test
+    void lock_whenNoTransaction_thenIllegalStateExceptionThrown() {
+        complete();
+
+        assertThrows(IllegalStateException.class, () -> lockManager.lock(1L));
+    }
+
+    @Test
+    void lock_whenSameItemLocked_thenWaitsForTransactionCompletion() {
+        lockManager.lock(1L);
+
+        CompletableFuture<Void> other = lockInOtherTransaction(List.of(1L));
+
+        assertThrows(TimeoutException.class, () -> other.get(WAIT_MILLIS, TimeUnit.MILLISECONDS));
+        complete();
+        assertDoesNotThrow(() -> other.get(WAIT_MILLIS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void lock_whenOtherItemLocked_thenNotBlocked() {
+        lockManager.lock(1L);
+
+        CompletableFuture<Void> other = lockInOtherTransaction(List.of(2L));
+
+        assertDoesNotThrow(() -> other.get(WAIT_MILLIS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void lockAll_whenItemsLockedInReverseOrder_thenNoDeadlock() {
+        lockManager.lockAll(List.of(1L, 2L, 3L));
+
+        CompletableFuture<Void> other = lockInOtherTransaction(List.of(3L, 2L, 1L));
+
+        complete();
+        assertDoesNotThrow(() -> other.get(WAIT_MILLIS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void lock_whenSameItemLockedTwiceInTransaction_thenReentered() {
+        lockManager.lock(1L);
+
+        assertDoesNotThrow(() -> lockManager.lock(1L));
+    }
+
+    private CompletableFuture<Void> lockInOtherTransaction(List<Long> itemIds) {
+        return CompletableFuture.runAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                lockManager.lockAll(itemIds);
+            } finally {
+                complete();
+            }
+        });
+    }
+
+    private static void complete() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Тесты для {@link BookingMetrics}
+ */
+class BookingMetricsTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final BookingMetrics bookingMetrics = new BookingMetrics(meterRegistry);
+
+    @Test
+    void transitioned_whenStatusChanged_thenCounterOfStatusIncremented() {
+        bookingMetrics.transitioned(BookingStatus.WAITING, 3);
+        bookingMetrics.transitioned(BookingStatus.APPROVED);
+
+        assertThat(count(BookingStatus.WAITING), equalTo(3.0));
+        assertThat(count(BookingStatus.APPROVED), equalTo(1.0));
+        assertThat(count(BookingStatus.REJECTED), equalTo(0.0));
+    }
+
+    private double count(BookingStatus status) {
+        return meterRegistry.get("shareit.booking.transitions")
+                .tag("status", status.name())
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.booking.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+
+/**
+ * Интеграционные тесты для {@link BookingServiceImpl} при параллельном бронировании одной вещи.
+ */
+@AutoConfigureTestDatabase
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingServiceImplConcurrencyIT {
+    private static final int THREADS = 8;
+
+    private final BookingService bookingService;
+
+    private final ItemService itemService;
+
+    private final UserService userService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private Item item;
+
+    private List<User> bookers;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userService.create(User.builder()
+                .name("Jack Sparrow")
+                .email("sparrow@gmail.com")
+                .build());
+        item = itemService.create(owner.getId(), Item.builder()
+                .name("thing")
+                .description("description")
+                .available(true)
+                .build());
+        bookers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(userService.create(User.builder()
+                    .name("booker " + i)
+                    .email("booker" + i + "@gmail.com")
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from bookings");
+        jdbcTemplate.update("delete from items");
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void create_whenParallelBookingsOverlap_thenOnlyOneCreated() throws InterruptedException {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<Booking>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            User booker = bookers.get(i);
+            LocalDateTime bookingStart = start.plusHours(i);
+            results.add(executor.submit(() -> {
+                ready.await();
+                return bookingService.create(booker.getId(), Booking.builder()
+                        .start(bookingStart)
+                        .end(bookingStart.plusDays(1))
+                        .item(Item.builder().id(item.getId()).build())
+                        .status(BookingStatus.WAITING)
+                        .build());
+            }));
+        }
+        ready.countDown();
+        executor.shutdown();
+
+        int created = 0;
+        int rejected = 0;
+        for (Future<Booking> result : results) {
+            try {
+                result.get();
+                created++;
+            } catch (ExecutionException exception) {
+                assertThat(exception.getCause(), instanceOf(BookingOverlapException.class));
+                rejected++;
+            }
+        }
+
+        assertThat(created, equalTo(1));
+        assertThat(rejected, equalTo(THREADS - 1));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from bookings where item_id = ?", Integer.class,
+                item.getId()), equalTo(1));
+    }
+}
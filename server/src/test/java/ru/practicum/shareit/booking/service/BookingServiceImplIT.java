@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking.service;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +12,8 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.internal.BookingBatchEntry;
+import ru.practicum.shareit.booking.internal.BookingCursor;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exception.EntityNotFoundException;
@@ -20,8 +24,10 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
@@ -114,6 +120,61 @@ class BookingServiceImplIT {
                 .build();
     }
 
+    @Test
+    void createAll_whenBatchContainsInvalidEntry_thenValidBookingsInserted() {
+        userService.create(booker);
+        userService.create(owner);
+        itemService.create(owner.getId(), item);
+        Booking ownBooking = futureBooking.toBuilder().build();
+
+        List<BookingBatchEntry> entries = bookingService.createAll(booker.getId(),
+                List.of(futureBooking, waitingBooking));
+        List<BookingBatchEntry> rejected = bookingService.createAll(owner.getId(), List.of(ownBooking));
+
+        assertThat(entries, hasSize(2));
+        assertThat(bookingService.getById(booker.getId(), entries.get(0).getBooking().getId()).getStatus(),
+                equalTo(BookingStatus.APPROVED));
+        assertThat(bookingService.getById(booker.getId(), entries.get(1).getBooking().getId()).getStatus(),
+                equalTo(BookingStatus.WAITING));
+        assertThat(rejected.get(0).getBooking(), nullValue());
+        assertThat(bookingService.getAllByBookerId(booker.getId(), "ALL", DEFAULT_PAGE_START, DEFAULT_PAGE_SIZE),
+                hasSize(2));
+    }
+
+    @Test
+    void patch_whenOwnerApproves_thenStatusAndVersionUpdated() {
+        userService.create(booker);
+        userService.create(owner);
+        itemService.create(owner.getId(), item);
+        Booking created = bookingService.create(booker.getId(), waitingBooking);
+
+        Booking approved = bookingService.patch(owner.getId(), created.getId(), true, created.getVersion());
+
+        assertThat(approved.getStatus(), equalTo(BookingStatus.APPROVED));
+        assertThat(approved.getVersion(), equalTo(created.getVersion() + 1));
+        assertThat(approved.getItem().getName(), equalTo(item.getName()));
+        assertThat(approved.getBooker().getId(), equalTo(booker.getId()));
+        assertThrows(ValidationException.class,
+                () -> bookingService.patch(owner.getId(), created.getId(), false, null));
+        assertThrows(EntityNotFoundException.class,
+                () -> bookingService.patch(booker.getId(), created.getId(), true, null));
+    }
+
+    @Test
+    void patch_whenOwnerApprovesRejectedBooking_thenStatusApproved() {
+        userService.create(booker);
+        userService.create(owner);
+        itemService.create(owner.getId(), item);
+        Booking created = bookingService.create(booker.getId(), waitingBooking);
+        Booking rejected = bookingService.patch(owner.getId(), created.getId(), false, created.getVersion());
+
+        Booking approved = bookingService.patch(owner.getId(), created.getId(), true, rejected.getVersion());
+
+        assertThat(rejected.getStatus(), equalTo(BookingStatus.REJECTED));
+        assertThat(approved.getStatus(), equalTo(BookingStatus.APPROVED));
+        assertThat(approved.getVersion(), equalTo(rejected.getVersion() + 1));
+    }
+
     @Test
     void getAllByBookerId_whenAllBookingsSearched_thenAllBookingsReturned() {
         userService.create(booker);
@@ -264,4 +325,48 @@ class BookingServiceImplIT {
 
         assertThat(all, hasSize(0));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllByBookerIdAfter_whenPagedByCursor_thenAllBookingsReturnedInOrder() {
+        List.of(currentBooking, pastBooking, futureBooking, waitingBooking, rejectedBooking)
+                .forEach(booking -> booking.setStart(booking.getStart().truncatedTo(ChronoUnit.MICROS)));
+        userService.create(booker);
+        userService.create(owner);
+        itemService.create(owner.getId(), item);
+        bookingService.create(booker.getId(), currentBooking);
+        bookingService.create(booker.getId(), pastBooking);
+        bookingService.create(booker.getId(), futureBooking);
+        bookingService.create(booker.getId(), waitingBooking);
+        bookingService.create(booker.getId(), rejectedBooking);
+
+        List<Booking> all = new ArrayList<>();
+        BookingCursor cursor = BookingCursor.first();
+        List<Booking> page;
+        do {
+            page = bookingService.getAllByBookerIdAfter(booker.getId(), "ALL", cursor, 2);
+            all.addAll(page);
+            if (!page.isEmpty()) {
+                cursor = BookingCursor.after(page.get(page.size() - 1));
+            }
+        } while (page.size() == 2);
+
+        assertThat(all, contains(rejectedBooking, waitingBooking, futureBooking, currentBooking, pastBooking));
+    }
+
+    @Test
+    void getAllByOwnerIdAfter_whenCursorAfterFirstPage_thenNextPageReturned() {
+        List.of(currentBooking, pastBooking, futureBooking)
+                .forEach(booking -> booking.setStart(booking.getStart().truncatedTo(ChronoUnit.MICROS)));
+        userService.create(booker);
+        userService.create(owner);
+        itemService.create(owner.getId(), item);
+        bookingService.create(booker.getId(), currentBooking);
+        bookingService.create(booker.getId(), pastBooking);
+        bookingService.create(booker.getId(), futureBooking);
+
+        List<Booking> all = bookingService.getAllByOwnerIdAfter(owner.getId(), "ALL",
+                BookingCursor.after(futureBooking), DEFAULT_PAGE_SIZE);
+
+        assertThat(all, contains(currentBooking, pastBooking));
+    }
+}
@@ -4,30 +4,46 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.conflict.BookingConflictDetector;
 import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.booking.internal.BookingBatchEntry;
+import ru.practicum.shareit.booking.internal.BookingCursor;
+import ru.practicum.shareit.booking.internal.BookingStateQuery;
+import ru.practicum.shareit.booking.lock.ItemLockManager;
+import ru.practicum.shareit.booking.metrics.BookingMetrics;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.BookingOverlapException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.logging.AuditLog;
+import ru.practicum.shareit.user.cache.UserPresenceCache;
 import ru.practicum.shareit.user.model.User;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -45,11 +61,26 @@ class BookingServiceImplTest {
     private BookingRepository bookingRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private UserPresenceCache userPresenceCache;
 
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private BookingConflictDetector bookingConflictDetector;
+
+    @Mock
+    private ItemLockManager itemLockManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BookingMetrics bookingMetrics;
+
+    @Mock
+    private AuditLog auditLog;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -140,7 +171,6 @@ class BookingServiceImplTest {
 
     @Test
     void create_whenBookingIsValid_thenBookingSaved() {
-        when(userRepository.existsById(userId)).thenReturn(true);
         item.setOwner(booker);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
         when(bookingRepository.save(waitingBooking)).thenReturn(waitingBooking);
@@ -155,12 +185,32 @@ class BookingServiceImplTest {
         assertThat(actual.getItem().getName(), equalTo(waitingBooking.getItem().getName()));
         assertThat(actual.getStatus(), equalTo(waitingBooking.getStatus()));
 
+        verify(itemLockManager).lock(itemId);
         verify(bookingRepository).save(waitingBooking);
+        verify(bookingConflictDetector).reserve(waitingBooking);
+        verify(bookingRepository).flush();
+        verify(eventPublisher).publishEvent(any(BookingChangedEvent.class));
+        verify(bookingMetrics).transitioned(BookingStatus.WAITING);
+    }
+
+    @Test
+    void create_whenBookingOverlapsExisting_thenBookingOverlapExceptionThrown() {
+        item.setOwner(booker);
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        doThrow(new BookingOverlapException("Вещь с id = 1 уже забронирована"))
+                .when(bookingConflictDetector).check(waitingBooking);
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.create(userId, waitingBooking));
+
+        verify(bookingRepository, never()).save(waitingBooking);
+        verify(eventPublisher, never()).publishEvent(any());
+        verify(bookingMetrics, never()).transitioned(any());
     }
 
     @Test
     void create_whenUserNotFound_thenEntityNotFoundExceptionThrown() {
-        when(userRepository.existsById(userId)).thenReturn(false);
+        doThrow(new EntityNotFoundException("Не найден пользователь по id = " + userId))
+                .when(userPresenceCache).checkExists(userId);
 
         assertThrows(EntityNotFoundException.class, () -> bookingService.create(userId, waitingBooking));
 
@@ -169,7 +219,6 @@ class BookingServiceImplTest {
 
     @Test
     void create_whenItemNotFound_thenEntityNotFoundExceptionThrown() {
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> bookingService.create(userId, waitingBooking));
@@ -179,7 +228,6 @@ class BookingServiceImplTest {
 
     @Test
     void create_whenItemNotAvailable_thenValidationExceptionThrown() {
-        when(userRepository.existsById(userId)).thenReturn(true);
         item.setAvailable(false);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
 
@@ -190,7 +238,6 @@ class BookingServiceImplTest {
 
     @Test
     void create_whenOwnerEqualsBooker_thenEntityNotFoundExceptionThrown() {
-        when(userRepository.existsById(userId)).thenReturn(true);
         item.setOwner(owner);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
 
@@ -199,15 +246,79 @@ class BookingServiceImplTest {
         verify(bookingRepository, never()).save(waitingBooking);
     }
 
+    @Test
+    void createAll_whenSomeEntriesInvalid_thenOnlyValidInsertedAndResultPerEntryReturned() {
+        item.setOwner(booker);
+        Item unavailableItem = Item.builder()
+                .id(2L)
+                .available(false)
+                .owner(booker)
+                .build();
+        Booking unavailableBooking = waitingBooking.toBuilder()
+                .id(null)
+                .item(Item.builder().id(unavailableItem.getId()).build())
+                .build();
+        Booking missingItemBooking = waitingBooking.toBuilder()
+                .id(null)
+                .item(Item.builder().id(3L).build())
+                .build();
+        when(itemRepository.findAllById(any())).thenReturn(List.of(item, unavailableItem));
+        when(bookingRepository.save(waitingBooking)).thenReturn(waitingBooking);
+
+        List<BookingBatchEntry> actual = bookingService.createAll(userId,
+                List.of(waitingBooking, unavailableBooking, missingItemBooking));
+
+        assertThat(actual, hasSize(3));
+        assertThat(actual.get(0).getBooking(), equalTo(waitingBooking));
+        assertThat(actual.get(0).getError(), nullValue());
+        assertThat(actual.get(1).getBooking(), nullValue());
+        assertThat(actual.get(1).getError(), equalTo("Вещь с id = 2 не доступна для бронирования"));
+        assertThat(actual.get(2).getBooking(), nullValue());
+        assertThat(actual.get(2).getError(), equalTo("Не найдена вещь по id = 3"));
+
+        verify(itemLockManager).lockAll(Set.of(itemId, 2L, 3L));
+        verify(itemRepository).findAllById(Set.of(itemId, 2L, 3L));
+        verify(bookingRepository).save(waitingBooking);
+        verify(bookingConflictDetector).reserve(waitingBooking);
+        verify(eventPublisher).publishEvent(any(BookingChangedEvent.class));
+        verify(bookingMetrics).transitioned(BookingStatus.WAITING, 1);
+    }
+
+    @Test
+    void createAll_whenEntryOverlapsExisting_thenEntryRejected() {
+        item.setOwner(owner);
+        when(itemRepository.findAllById(any())).thenReturn(List.of(item));
+        doThrow(new BookingOverlapException("Вещь с id = 1 уже забронирована"))
+                .when(bookingConflictDetector).check(waitingBooking);
+
+        List<BookingBatchEntry> actual = bookingService.createAll(booker.getId(), List.of(waitingBooking));
+
+        assertThat(actual, hasSize(1));
+        assertThat(actual.get(0).getError(), equalTo("Вещь с id = 1 уже забронирована"));
+
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void createAll_whenUserNotFound_thenEntityNotFoundExceptionThrown() {
+        doThrow(new EntityNotFoundException("Не найден пользователь по id = " + userId))
+                .when(userPresenceCache).checkExists(userId);
+
+        assertThrows(EntityNotFoundException.class, () -> bookingService.createAll(userId, List.of(waitingBooking)));
+
+        verify(bookingRepository, never()).save(any());
+    }
+
     @Test
     void patch_whenBookingIsValid_thenBookingUpdated() {
-        when(userRepository.existsById(userId)).thenReturn(true);
-        when(bookingRepository.findById(waitingBooking.getId())).thenReturn(Optional.of(waitingBooking));
         item.setOwner(owner);
         waitingBooking.setStatus(BookingStatus.REJECTED);
-        when(bookingRepository.save(waitingBooking)).thenReturn(waitingBooking);
+        when(bookingRepository.updateStatusByOwner(waitingBooking.getId(), userId, BookingStatus.REJECTED))
+                .thenReturn(1);
+        when(bookingRepository.findWithItemAndBookerById(waitingBooking.getId()))
+                .thenReturn(Optional.of(waitingBooking));
 
-        Booking actual = bookingService.patch(userId, waitingBooking.getId(), false);
+        Booking actual = bookingService.patch(userId, waitingBooking.getId(), false, null);
 
         assertThat(actual.getId(), equalTo(waitingBooking.getId()));
         assertThat(actual.getStart(), equalTo(waitingBooking.getStart()));
@@ -215,37 +326,114 @@ class BookingServiceImplTest {
         assertThat(actual.getBooker().getId(), equalTo(waitingBooking.getBooker().getId()));
         assertThat(actual.getItem().getId(), equalTo(waitingBooking.getItem().getId()));
         assertThat(actual.getItem().getName(), equalTo(waitingBooking.getItem().getName()));
-        assertThat(actual.getStatus(), equalTo(waitingBooking.getStatus()));
+        assertThat(actual.getStatus(), equalTo(BookingStatus.REJECTED));
 
-        verify(bookingRepository).save(waitingBooking);
+        verify(bookingConflictDetector).release(waitingBooking);
+        verify(itemLockManager, never()).lock(anyLong());
+        verify(bookingRepository).findWithItemAndBookerById(waitingBooking.getId());
+        verify(eventPublisher).publishEvent(any(BookingChangedEvent.class));
+        verify(bookingMetrics).transitioned(BookingStatus.REJECTED);
+    }
+
+    @Test
+    void patch_whenBookingApproved_thenPeriodReserved() {
+        item.setOwner(owner);
+        when(bookingRepository.updateStatusByOwnerAndVersion(waitingBooking.getId(), userId,
+                BookingStatus.APPROVED, 1L)).thenReturn(1);
+        when(bookingRepository.findWithItemAndBookerById(waitingBooking.getId()))
+                .thenReturn(Optional.of(waitingBooking));
+
+        when(bookingRepository.findItemIdById(waitingBooking.getId())).thenReturn(Optional.of(item.getId()));
+
+        bookingService.patch(userId, waitingBooking.getId(), true, 1L);
+
+        verify(itemLockManager).lock(item.getId());
+        verify(bookingConflictDetector).reserve(waitingBooking);
+        verify(eventPublisher).publishEvent(any(BookingChangedEvent.class));
+        verify(bookingMetrics).transitioned(BookingStatus.APPROVED);
+    }
+
+    @Test
+    void patch_whenVersionOutdated_thenOptimisticLockingFailureExceptionThrown() {
+        waitingBooking.setVersion(2L);
+        item.setOwner(owner);
+        when(bookingRepository.updateStatusByOwnerAndVersion(waitingBooking.getId(), userId,
+                BookingStatus.APPROVED, 1L)).thenReturn(0);
+        when(bookingRepository.findWithItemAndBookerById(waitingBooking.getId())).thenReturn(Optional.of(waitingBooking));
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> bookingService.patch(userId, waitingBooking.getId(), true, 1L));
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void patch_whenBookingNotFound_thenEntityNotFoundExceptionThrown() {
+        when(bookingRepository.updateStatusByOwner(waitingBooking.getId(), userId, BookingStatus.APPROVED))
+                .thenReturn(0);
+        when(bookingRepository.findWithItemAndBookerById(waitingBooking.getId())).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class,
+                () -> bookingService.patch(userId, waitingBooking.getId(), true, null));
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void patch_whenNotOwner_thenEntityNotFoundExceptionThrown() {
+        item.setOwner(owner);
+        when(bookingRepository.updateStatusByOwner(waitingBooking.getId(), booker.getId(), BookingStatus.APPROVED))
+                .thenReturn(0);
+        when(bookingRepository.findWithItemAndBookerById(waitingBooking.getId())).thenReturn(Optional.of(waitingBooking));
+
+        assertThrows(EntityNotFoundException.class,
+                () -> bookingService.patch(booker.getId(), waitingBooking.getId(), true, null));
+
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     void patch_whenUserNotFound_thenEntityNotFoundExceptionThrown() {
-        when(userRepository.existsById(userId)).thenReturn(false);
+        doThrow(new EntityNotFoundException("Не найден пользователь по id = " + userId))
+                .when(userPresenceCache).checkExists(userId);
 
         assertThrows(EntityNotFoundException.class,
-                () -> bookingService.patch(userId, waitingBooking.getId(), true));
+                () -> bookingService.patch(userId, waitingBooking.getId(), true, null));
 
-        verify(bookingRepository, never()).save(waitingBooking);
+        verify(bookingRepository, never()).updateStatusByOwner(anyLong(), anyLong(), any());
     }
 
     @Test
     void patch_whenBookingStatusApproved_thenValidationExceptionThrown() {
-        when(userRepository.existsById(userId)).thenReturn(true);
         waitingBooking.setStatus(BookingStatus.APPROVED);
-        when(bookingRepository.findById(waitingBooking.getId())).thenReturn(Optional.of(waitingBooking));
         item.setOwner(owner);
+        when(bookingRepository.updateStatusByOwner(waitingBooking.getId(), userId, BookingStatus.APPROVED))
+                .thenReturn(0);
+        when(bookingRepository.findWithItemAndBookerById(waitingBooking.getId())).thenReturn(Optional.of(waitingBooking));
 
         assertThrows(ValidationException.class,
-                () -> bookingService.patch(userId, waitingBooking.getId(), true));
+                () -> bookingService.patch(userId, waitingBooking.getId(), true, null));
 
-        verify(bookingRepository, never()).save(waitingBooking);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void patch_whenOverlapConstraintViolated_thenBookingOverlapExceptionThrown() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("ex_bookings_item_period");
+        when(bookingRepository.updateStatusByOwner(waitingBooking.getId(), userId, BookingStatus.APPROVED))
+                .thenThrow(violation);
+        when(bookingConflictDetector.translate(violation))
+                .thenReturn(new BookingOverlapException("Бронирование пересекается"));
+
+        assertThrows(BookingOverlapException.class,
+                () -> bookingService.patch(userId, waitingBooking.getId(), true, null));
+
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     void getById_whenBookingFound_thenBookingReturned() {
-        when(bookingRepository.findById(currentBooking.getId())).thenReturn(Optional.of(currentBooking));
+        when(bookingRepository.findWithItemAndBookerById(currentBooking.getId())).thenReturn(Optional.of(currentBooking));
 
         item.setOwner(owner);
         Booking actual = bookingService.getById(userId, currentBooking.getId());
@@ -258,20 +446,20 @@ class BookingServiceImplTest {
         assertThat(actual.getItem().getName(), equalTo(currentBooking.getItem().getName()));
         assertThat(actual.getStatus(), equalTo(currentBooking.getStatus()));
 
-        verify(bookingRepository).findById(currentBooking.getId());
+        verify(bookingRepository).findWithItemAndBookerById(currentBooking.getId());
 
     }
 
     @Test
     void getById_whenBookingNotFound_thenEntityNotFoundExceptionThrown() {
-        when(bookingRepository.findById(currentBooking.getId())).thenReturn(Optional.empty());
+        when(bookingRepository.findWithItemAndBookerById(currentBooking.getId())).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> bookingService.getById(userId, currentBooking.getId()));
     }
 
     @Test
     void getById_whenNotBookerAndNotOwner_thenEntityNotFoundExceptionThrown() {
-        when(bookingRepository.findById(currentBooking.getId())).thenReturn(Optional.of(currentBooking));
+        when(bookingRepository.findWithItemAndBookerById(currentBooking.getId())).thenReturn(Optional.of(currentBooking));
         item.setOwner(owner);
 
         assertThrows(EntityNotFoundException.class, () -> bookingService.getById(3L, currentBooking.getId()));
@@ -279,8 +467,7 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByBookerId_whenAllBookingsSearched_thenAllBookingsReturned() {
-        when(userRepository.existsById(booker.getId())).thenReturn(true);
-        when(bookingRepository.findByBookerIdOrderByStartDesc(booker.getId(), pageable))
+        when(bookingRepository.findAllByState(BookingStateQuery.ofBooker(booker.getId(), BookingState.ALL), pageable))
                 .thenReturn(List.of(currentBooking, pastBooking, futureBooking, waitingBooking, rejectedBooking));
 
         List<Booking> all = bookingService.getAllByBookerId(booker.getId(), "ALL",
@@ -291,9 +478,8 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByBookerId_whenCurrentBookingsSearched_thenCurrentBookingsReturned() {
-        when(userRepository.existsById(booker.getId())).thenReturn(true);
-        when(bookingRepository.findByBookerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(anyLong(),
-                any(), any(), any()))
+        when(bookingRepository.findAllByState(BookingStateQuery.ofBooker(booker.getId(), BookingState.CURRENT),
+                pageable))
                 .thenReturn(List.of(currentBooking));
 
         List<Booking> all = bookingService.getAllByBookerId(booker.getId(), "CURRENT",
@@ -305,8 +491,7 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByBookerId_whenPastBookingsSearched_thenPastBookingsReturned() {
-        when(userRepository.existsById(booker.getId())).thenReturn(true);
-        when(bookingRepository.findByBookerIdAndEndLessThanOrderByStartDesc(anyLong(), any(), any()))
+        when(bookingRepository.findAllByState(BookingStateQuery.ofBooker(booker.getId(), BookingState.PAST), pageable))
                 .thenReturn(List.of(pastBooking));
 
         List<Booking> all = bookingService.getAllByBookerId(booker.getId(), "PAST",
@@ -318,8 +503,8 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByBookerId_whenFutureBookingsSearched_thenFutureBookingsReturned() {
-        when(userRepository.existsById(booker.getId())).thenReturn(true);
-        when(bookingRepository.findByBookerIdAndStartGreaterThanOrderByStartDesc(anyLong(), any(), any()))
+        when(bookingRepository.findAllByState(BookingStateQuery.ofBooker(booker.getId(), BookingState.FUTURE),
+                pageable))
                 .thenReturn(List.of(futureBooking));
 
         List<Booking> all = bookingService.getAllByBookerId(booker.getId(), "FUTURE",
@@ -331,8 +516,8 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByBookerId_whenWaitingBookingsSearched_thenWaitingBookingsReturned() {
-        when(userRepository.existsById(booker.getId())).thenReturn(true);
-        when(bookingRepository.findByBookerIdAndStatusIsOrderByStartDesc(booker.getId(), BookingStatus.WAITING, pageable))
+        when(bookingRepository.findAllByState(BookingStateQuery.ofBooker(booker.getId(), BookingState.WAITING),
+                pageable))
                 .thenReturn(List.of(waitingBooking));
 
         List<Booking> all = bookingService.getAllByBookerId(booker.getId(), "WAITING",
@@ -344,8 +529,8 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByBookerId_whenRejectedBookingsSearched_thenRejectedBookingsReturned() {
-        when(userRepository.existsById(booker.getId())).thenReturn(true);
-        when(bookingRepository.findByBookerIdAndStatusIsOrderByStartDesc(booker.getId(), BookingStatus.REJECTED, pageable))
+        when(bookingRepository.findAllByState(BookingStateQuery.ofBooker(booker.getId(), BookingState.REJECTED),
+                pageable))
                 .thenReturn(List.of(rejectedBooking));
 
         List<Booking> all = bookingService.getAllByBookerId(booker.getId(), "REJECTED",
@@ -357,7 +542,6 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByBookerId_whenWrongStateSearched_thenValidationExceptionThrown() {
-        when(userRepository.existsById(booker.getId())).thenReturn(true);
 
         assertThrows(ValidationException.class, () -> bookingService.getAllByBookerId(booker.getId(),
                 "other", DEFAULT_PAGE_START, DEFAULT_PAGE_SIZE));
@@ -365,18 +549,19 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByBookerId_whenUserNotFound_thenEntityNotFoundExceptionThrown() {
-        when(userRepository.existsById(booker.getId())).thenReturn(false);
+        doThrow(new EntityNotFoundException("Не найден пользователь по id = " + booker.getId()))
+                .when(userPresenceCache).checkExists(booker.getId());
 
         assertThrows(EntityNotFoundException.class, () -> bookingService.getAllByBookerId(booker.getId(), "ALL",
                 DEFAULT_PAGE_START, DEFAULT_PAGE_SIZE));
 
-        verify(bookingRepository, never()).findByBookerIdOrderByStartDesc(booker.getId(), pageable);
+        verify(bookingRepository, never()).findAllByState(any(), any());
     }
 
     @Test
     void getAllByBookerId_whenAllBookingsWithPaginationSearched_thenNotAllBookingsReturned() {
-        when(userRepository.existsById(booker.getId())).thenReturn(true);
-        when(bookingRepository.findByBookerIdOrderByStartDesc(booker.getId(), PageRequest.of(0, 1)))
+        when(bookingRepository.findAllByState(BookingStateQuery.ofBooker(booker.getId(), BookingState.ALL),
+                PageRequest.of(0, 1)))
                 .thenReturn(List.of(currentBooking));
 
         List<Booking> all = bookingService.getAllByBookerId(booker.getId(), "ALL",
@@ -384,26 +569,27 @@ class BookingServiceImplTest {
 
         assertThat(all, hasSize(1));
 
-        verify(bookingRepository).findByBookerIdOrderByStartDesc(booker.getId(), PageRequest.of(0, 1));
+        verify(bookingRepository).findAllByState(BookingStateQuery.ofBooker(booker.getId(), BookingState.ALL),
+                PageRequest.of(0, 1));
     }
 
     @Test
     void getAllByBookerId_whenBookingsNotFoundSearched_thenEmptyListReturned() {
-        when(userRepository.existsById(booker.getId())).thenReturn(true);
-        when(bookingRepository.findByBookerIdOrderByStartDesc(booker.getId(), pageable)).thenReturn(Collections.emptyList());
+        when(bookingRepository.findAllByState(BookingStateQuery.ofBooker(booker.getId(), BookingState.ALL), pageable))
+                .thenReturn(Collections.emptyList());
 
         List<Booking> all = bookingService.getAllByBookerId(booker.getId(), "ALL",
                 DEFAULT_PAGE_START, DEFAULT_PAGE_SIZE);
 
         assertThat(all, hasSize(0));
 
-        verify(bookingRepository).findByBookerIdOrderByStartDesc(booker.getId(), pageable);
+        verify(bookingRepository).findAllByState(BookingStateQuery.ofBooker(booker.getId(), BookingState.ALL),
+                pageable);
     }
 
     @Test
     void getAllByOwnerId_whenAllBookingsSearched_thenAllBookingsReturned() {
-        when(userRepository.existsById(booker.getId())).thenReturn(true);
-        when(bookingRepository.findByItemOwnerIdOrderByStartDesc(booker.getId(), pageable))
+        when(bookingRepository.findAllByState(BookingStateQuery.ofOwner(booker.getId(), BookingState.ALL), pageable))
                 .thenReturn(List.of(currentBooking, pastBooking, futureBooking, waitingBooking, rejectedBooking));
 
         List<Booking> all = bookingService.getAllByOwnerId(booker.getId(), "ALL",
@@ -414,9 +600,8 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByOwnerId_whenCurrentBookingsSearched_thenCurrentBookingsReturned() {
-        when(userRepository.existsById(booker.getId())).thenReturn(true);
-        when(bookingRepository.findByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(anyLong(),
-                any(), any(), any()))
+        when(bookingRepository.findAllByState(BookingStateQuery.ofOwner(booker.getId(), BookingState.CURRENT),
+                pageable))
                 .thenReturn(List.of(currentBooking));
 
         List<Booking> all = bookingService.getAllByOwnerId(booker.getId(), "CURRENT",
@@ -428,8 +613,7 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByOwnerId_whenPastBookingsSearched_thenPastBookingsReturned() {
-        when(userRepository.existsById(booker.getId())).thenReturn(true);
-        when(bookingRepository.findByItemOwnerIdAndEndLessThanOrderByStartDesc(anyLong(), any(), any()))
+        when(bookingRepository.findAllByState(BookingStateQuery.ofOwner(booker.getId(), BookingState.PAST), pageable))
                 .thenReturn(List.of(pastBooking));
 
         List<Booking> all = bookingService.getAllByOwnerId(booker.getId(), "PAST",
@@ -441,8 +625,8 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByOwnerId_whenFutureBookingsSearched_thenFutureBookingsReturned() {
-        when(userRepository.existsById(booker.getId())).thenReturn(true);
-        when(bookingRepository.findByItemOwnerIdAndStartGreaterThanOrderByStartDesc(anyLong(), any(), any()))
+        when(bookingRepository.findAllByState(BookingStateQuery.ofOwner(booker.getId(), BookingState.FUTURE),
+                pageable))
                 .thenReturn(List.of(futureBooking));
 
         List<Booking> all = bookingService.getAllByOwnerId(booker.getId(), "FUTURE",
@@ -454,8 +638,8 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByOwnerId_whenWaitingBookingsSearched_thenWaitingBookingsReturned() {
-        when(userRepository.existsById(booker.getId())).thenReturn(true);
-        when(bookingRepository.findByItemOwnerIdAndStatusIsOrderByStartDesc(booker.getId(), BookingStatus.WAITING, pageable))
+        when(bookingRepository.findAllByState(BookingStateQuery.ofOwner(booker.getId(), BookingState.WAITING),
+                pageable))
                 .thenReturn(List.of(waitingBooking));
 
         List<Booking> all = bookingService.getAllByOwnerId(booker.getId(), "WAITING",
@@ -467,8 +651,8 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByOwnerId_whenRejectedBookingsSearched_thenRejectedBookingsReturned() {
-        when(userRepository.existsById(booker.getId())).thenReturn(true);
-        when(bookingRepository.findByItemOwnerIdAndStatusIsOrderByStartDesc(booker.getId(), BookingStatus.REJECTED, pageable))
+        when(bookingRepository.findAllByState(BookingStateQuery.ofOwner(booker.getId(), BookingState.REJECTED),
+                pageable))
                 .thenReturn(List.of(rejectedBooking));
 
         List<Booking> all = bookingService.getAllByOwnerId(booker.getId(), "REJECTED",
@@ -480,7 +664,6 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByOwnerId_whenWrongStateSearched_thenValidationExceptionThrown() {
-        when(userRepository.existsById(booker.getId())).thenReturn(true);
 
         assertThrows(ValidationException.class, () -> bookingService.getAllByOwnerId(booker.getId(),
                 "other", DEFAULT_PAGE_START, DEFAULT_PAGE_SIZE));
@@ -488,18 +671,19 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByOwnerId_whenUserNotFound_thenEntityNotFoundExceptionThrown() {
-        when(userRepository.existsById(booker.getId())).thenReturn(false);
+        doThrow(new EntityNotFoundException("Не найден пользователь по id = " + booker.getId()))
+                .when(userPresenceCache).checkExists(booker.getId());
 
         assertThrows(EntityNotFoundException.class, () -> bookingService.getAllByOwnerId(booker.getId(), "ALL",
                 DEFAULT_PAGE_START, DEFAULT_PAGE_SIZE));
 
-        verify(bookingRepository, never()).findByItemOwnerIdOrderByStartDesc(booker.getId(), pageable);
+        verify(bookingRepository, never()).findAllByState(any(), any());
     }
 
     @Test
     void getAllByOwnerId_whenAllBookingsWithPaginationSearched_thenNotAllBookingsReturned() {
-        when(userRepository.existsById(booker.getId())).thenReturn(true);
-        when(bookingRepository.findByItemOwnerIdOrderByStartDesc(booker.getId(), PageRequest.of(0, 1)))
+        when(bookingRepository.findAllByState(BookingStateQuery.ofOwner(booker.getId(), BookingState.ALL),
+                PageRequest.of(0, 1)))
                 .thenReturn(List.of(currentBooking));
 
         List<Booking> all = bookingService.getAllByOwnerId(booker.getId(), "ALL",
@@ -507,19 +691,91 @@ class BookingServiceImplTest {
 
         assertThat(all, hasSize(1));
 
-        verify(bookingRepository).findByItemOwnerIdOrderByStartDesc(booker.getId(), PageRequest.of(0, 1));
+        verify(bookingRepository).findAllByState(BookingStateQuery.ofOwner(booker.getId(), BookingState.ALL),
+                PageRequest.of(0, 1));
     }
 
     @Test
     void getAllByOwnerId_whenBookingsNotFoundSearched_thenEmptyListReturned() {
-        when(userRepository.existsById(booker.getId())).thenReturn(true);
-        when(bookingRepository.findByItemOwnerIdOrderByStartDesc(booker.getId(), pageable)).thenReturn(Collections.emptyList());
+        when(bookingRepository.findAllByState(BookingStateQuery.ofOwner(booker.getId(), BookingState.ALL), pageable))
+                .thenReturn(Collections.emptyList());
 
         List<Booking> all = bookingService.getAllByOwnerId(booker.getId(), "ALL",
                 DEFAULT_PAGE_START, DEFAULT_PAGE_SIZE);
 
         assertThat(all, hasSize(0));
 
-        verify(bookingRepository).findByItemOwnerIdOrderByStartDesc(booker.getId(), pageable);
+        verify(bookingRepository).findAllByState(BookingStateQuery.ofOwner(booker.getId(), BookingState.ALL), pageable);
+    }
+
+    @Test
+    void getAllByBookerIdAfter_whenFirstPageSearched_thenBookingsReturned() {
+        BookingCursor cursor = BookingCursor.first();
+        when(bookingRepository.findAllByState(
+                BookingStateQuery.ofBooker(booker.getId(), BookingState.ALL).after(cursor), PageRequest.of(0, DEFAULT_PAGE_SIZE)))
+                .thenReturn(List.of(futureBooking, currentBooking));
+
+        List<Booking> all = bookingService.getAllByBookerIdAfter(booker.getId(), "ALL", cursor, DEFAULT_PAGE_SIZE);
+
+        assertThat(all, hasSize(2));
+    }
+
+    @Test
+    void getAllByBookerIdAfter_whenWaitingBookingsSearched_thenWaitingBookingsReturned() {
+        BookingCursor cursor = BookingCursor.after(futureBooking);
+        when(bookingRepository.findAllByState(
+                BookingStateQuery.ofBooker(booker.getId(), BookingState.WAITING).after(cursor),
+                PageRequest.of(0, DEFAULT_PAGE_SIZE)))
+                .thenReturn(List.of(waitingBooking));
+
+        List<Booking> all = bookingService.getAllByBookerIdAfter(booker.getId(), "WAITING", cursor,
+                DEFAULT_PAGE_SIZE);
+
+        assertThat(all, hasSize(1));
+        assertThat(all.get(0), equalTo(waitingBooking));
+    }
+
+    @Test
+    void getAllByBookerIdAfter_whenCurrentBookingsSearched_thenCurrentBookingsReturned() {
+        BookingCursor cursor = BookingCursor.first();
+        when(bookingRepository.findAllByState(
+                BookingStateQuery.ofBooker(booker.getId(), BookingState.CURRENT).after(cursor),
+                PageRequest.of(0, DEFAULT_PAGE_SIZE)))
+                .thenReturn(List.of(currentBooking));
+
+        List<Booking> all = bookingService.getAllByBookerIdAfter(booker.getId(), "CURRENT", cursor,
+                DEFAULT_PAGE_SIZE);
+
+        assertThat(all, hasSize(1));
+        assertThat(all.get(0), equalTo(currentBooking));
+    }
+
+    @Test
+    void getAllByBookerIdAfter_whenUserNotFound_thenEntityNotFoundExceptionThrown() {
+        doThrow(new EntityNotFoundException("Не найден пользователь по id = " + booker.getId()))
+                .when(userPresenceCache).checkExists(booker.getId());
+
+        assertThrows(EntityNotFoundException.class, () -> bookingService.getAllByBookerIdAfter(booker.getId(),
+                "ALL", BookingCursor.first(), DEFAULT_PAGE_SIZE));
+    }
+
+    @Test
+    void getAllByOwnerIdAfter_whenPastBookingsSearched_thenPastBookingsReturned() {
+        BookingCursor cursor = BookingCursor.first();
+        when(bookingRepository.findAllByState(BookingStateQuery.ofOwner(owner.getId(), BookingState.PAST).after(cursor),
+                PageRequest.of(0, DEFAULT_PAGE_SIZE)))
+                .thenReturn(List.of(pastBooking));
+
+        List<Booking> all = bookingService.getAllByOwnerIdAfter(owner.getId(), "PAST", cursor, DEFAULT_PAGE_SIZE);
+
+        assertThat(all, hasSize(1));
+        assertThat(all.get(0), equalTo(pastBooking));
+    }
+
+    @Test
+    void getAllByOwnerIdAfter_whenWrongStateSearched_thenValidationExceptionThrown() {
+
+        assertThrows(ValidationException.class, () -> bookingService.getAllByOwnerIdAfter(owner.getId(),
+                "other", BookingCursor.first(), DEFAULT_PAGE_SIZE));
     }
-}
\ No newline at end of file
+}
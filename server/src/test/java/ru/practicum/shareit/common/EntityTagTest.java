@@ -0,0 +1,36 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ValidationException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Тесты для {@link EntityTag}.
+ */
+class EntityTagTest {
+
+    @Test
+    void parseVersion_whenTagCreatedFromVersion_thenSameVersionReturned() {
+        assertThat(EntityTag.parseVersion(EntityTag.of(7L)), equalTo(7L));
+    }
+
+    @Test
+    void parseVersion_whenWeakTag_thenVersionReturned() {
+        assertThat(EntityTag.parseVersion("W/\"7\""), equalTo(7L));
+    }
+
+    @Test
+    void parseVersion_whenHeaderMissingOrAny_thenNoVersionReturned() {
+        assertThat(EntityTag.parseVersion(null), nullValue());
+        assertThat(EntityTag.parseVersion("*"), nullValue());
+    }
+
+    @Test
+    void parseVersion_whenTagMalformed_thenValidationExceptionThrown() {
+        assertThrows(ValidationException.class, () -> EntityTag.parseVersion("\"abc\""));
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.request.event.ItemRequestCreatedEvent;
+import ru.practicum.shareit.user.event.UserChangedEvent;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+
+/**
+ * Тесты для {@link ResourceVersions}.
+ */
+class ResourceVersionsTest {
+    private static final Long USER_ID = 1L;
+
+    private final ResourceVersions resourceVersions = new ResourceVersions();
+
+    @Test
+    void eTag_whenResourceNotChanged_thenSameWeakTagReturned() {
+        String eTag = resourceVersions.eTag(USER_ID, request(), ResourceVersions.Resource.ITEM);
+
+        assertThat(eTag, startsWith("W/\""));
+        assertThat(resourceVersions.eTag(USER_ID, request(), ResourceVersions.Resource.ITEM), equalTo(eTag));
+    }
+
+    @Test
+    void eTag_whenUserDiffers_thenTagChanged() {
+        assertThat(resourceVersions.eTag(USER_ID, request(), ResourceVersions.Resource.ITEM),
+                not(equalTo(resourceVersions.eTag(2L, request(), ResourceVersions.Resource.ITEM))));
+    }
+
+    @Test
+    void eTag_whenQueryParametersDiffer_thenTagChanged() {
+        assertThat(resourceVersions.eTag(USER_ID, request("from", "0"), ResourceVersions.Resource.ITEM),
+                not(equalTo(resourceVersions.eTag(USER_ID, request("from", "10"), ResourceVersions.Resource.ITEM))));
+    }
+
+    @Test
+    void eTag_whenOtherInstance_thenTagChanged() {
+        assertThat(resourceVersions.eTag(USER_ID, request(), ResourceVersions.Resource.ITEM),
+                not(equalTo(new ResourceVersions().eTag(USER_ID, request(), ResourceVersions.Resource.ITEM))));
+    }
+
+    @Test
+    void eTag_whenListedResourceChanged_thenTagChanged() {
+        String before = resourceVersions.eTag(USER_ID, request(), ResourceVersions.Resource.BOOKING,
+                ResourceVersions.Resource.ITEM);
+
+        resourceVersions.onBookingChanged(new BookingChangedEvent(1L, 1L));
+
+        assertThat(resourceVersions.eTag(USER_ID, request(), ResourceVersions.Resource.BOOKING,
+                ResourceVersions.Resource.ITEM), not(equalTo(before)));
+    }
+
+    @Test
+    void eTag_whenOtherResourceChanged_thenTagNotChanged() {
+        String before = resourceVersions.eTag(USER_ID, request(), ResourceVersions.Resource.ITEM);
+
+        resourceVersions.onItemRequestCreated(new ItemRequestCreatedEvent(1L));
+
+        assertThat(resourceVersions.eTag(USER_ID, request(), ResourceVersions.Resource.ITEM), equalTo(before));
+    }
+
+    @Test
+    void eTag_whenUserChanged_thenItemTagChanged() {
+        String before = resourceVersions.eTag(USER_ID, request(), ResourceVersions.Resource.ITEM);
+
+        resourceVersions.onUserChanged(new UserChangedEvent(2L));
+
+        assertThat(resourceVersions.eTag(USER_ID, request(), ResourceVersions.Resource.ITEM), not(equalTo(before)));
+    }
+
+    @Test
+    void eTag_whenUserDeleted_thenAllTagsChanged() {
+        String before = resourceVersions.eTag(USER_ID, request(), ResourceVersions.Resource.ITEM,
+                ResourceVersions.Resource.BOOKING, ResourceVersions.Resource.REQUEST);
+
+        resourceVersions.onUserDeleted(new UserDeletedEvent(1L));
+
+        assertThat(resourceVersions.eTag(USER_ID, request(), ResourceVersions.Resource.ITEM,
+                ResourceVersions.Resource.BOOKING, ResourceVersions.Resource.REQUEST), not(equalTo(before)));
+    }
+
+    @Test
+    void checkNotModified_whenTagMatches_thenNotModified() {
+        WebRequest request = conditionalRequest(resourceVersions.eTag(USER_ID, request(),
+                ResourceVersions.Resource.ITEM));
+
+        assertThat(resourceVersions.checkNotModified(USER_ID, request, ResourceVersions.Resource.ITEM), is(true));
+    }
+
+    @Test
+    void checkNotModified_whenDisabled_thenAlwaysModified() {
+        ResourceVersions disabled = new ResourceVersions(false);
+        WebRequest request = conditionalRequest(disabled.eTag(USER_ID, request(), ResourceVersions.Resource.ITEM));
+
+        assertThat(disabled.checkNotModified(USER_ID, request, ResourceVersions.Resource.ITEM), is(false));
+    }
+
+    private WebRequest request(String... parameters) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        for (int i = 0; i < parameters.length; i += 2) {
+            request.addParameter(parameters[i], parameters[i + 1]);
+        }
+        return new ServletWebRequest(request);
+    }
+
+    private WebRequest conditionalRequest(String eTag) {
+        MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.GET.name(), "/bookings");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+        return new ServletWebRequest(request);
+    }
+}
@@ -0,0 +1,128 @@
+package ru.practicum.shareit.item.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.booking.internal.BookingModel;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.event.ItemCommentedEvent;
+import ru.practicum.shareit.item.internal.ItemModel;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.event.UserChangedEvent;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Тесты для {@link ItemCache}
+ */
+class ItemCacheTest {
+    private static final Long ITEM_ID = 1L;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ItemCache itemCache;
+
+    private AtomicInteger detailLoads;
+
+    private AtomicInteger bookingLoads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        itemCache = new ItemCache(meterRegistry, 100, Duration.ofMinutes(5));
+        detailLoads = new AtomicInteger();
+        bookingLoads = new AtomicInteger();
+    }
+
+    @Test
+    void getDetails_whenCalledTwice_thenLoadedOnceAndHitCounted() {
+        getDetails();
+        getDetails();
+
+        assertThat(detailLoads.get(), equalTo(1));
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "itemDetails").tag("result", "hit")
+                .functionCounter().count(), equalTo(1.0));
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "itemDetails").tag("result", "miss")
+                .functionCounter().count(), equalTo(1.0));
+    }
+
+    @Test
+    void onItemChanged_whenItemPatched_thenDetailsReloaded() {
+        getDetails();
+        itemCache.onItemChanged(ItemChangedEvent.of(Item.builder().id(ITEM_ID).build()));
+        getDetails();
+
+        assertThat(detailLoads.get(), equalTo(2));
+    }
+
+    @Test
+    void onItemCommented_whenCommentAdded_thenDetailsReloaded() {
+        getDetails();
+        itemCache.onItemCommented(new ItemCommentedEvent(ITEM_ID));
+        getDetails();
+
+        assertThat(detailLoads.get(), equalTo(2));
+    }
+
+    @Test
+    void onItemCommented_whenOtherItemCommented_thenDetailsKept() {
+        getDetails();
+        itemCache.onItemCommented(new ItemCommentedEvent(ITEM_ID + 1));
+        getDetails();
+
+        assertThat(detailLoads.get(), equalTo(1));
+    }
+
+    @Test
+    void onUserChanged_whenCommentAuthorRenamed_thenDetailsReloaded() {
+        getDetails();
+        itemCache.onUserChanged(new UserChangedEvent(2L));
+        getDetails();
+
+        assertThat(detailLoads.get(), equalTo(2));
+    }
+
+    @Test
+    void onBookingChanged_whenBookingOfItemChanged_thenBookingsReloaded() {
+        getBookings(LocalDateTime.now().plusDays(1));
+        itemCache.onBookingChanged(new BookingChangedEvent(1L, ITEM_ID));
+        getBookings(LocalDateTime.now().plusDays(1));
+
+        assertThat(bookingLoads.get(), equalTo(2));
+    }
+
+    @Test
+    void getBookings_whenNextBookingStarted_thenBookingsReloaded() {
+        getBookings(LocalDateTime.now().minusSeconds(1));
+        getBookings(LocalDateTime.now().minusSeconds(1));
+
+        assertThat(bookingLoads.get(), equalTo(2));
+    }
+
+    @Test
+    void getBookings_whenNextBookingInFuture_thenBookingsCached() {
+        getBookings(LocalDateTime.now().plusDays(1));
+        getBookings(LocalDateTime.now().plusDays(1));
+
+        assertThat(bookingLoads.get(), equalTo(1));
+    }
+
+    private void getDetails() {
+        itemCache.getDetails(ITEM_ID, id -> {
+            detailLoads.incrementAndGet();
+            return new ItemDetails(2L, ItemModel.builder().id(id).build());
+        });
+    }
+
+    private void getBookings(LocalDateTime nextStart) {
+        itemCache.getBookings(ITEM_ID, id -> {
+            bookingLoads.incrementAndGet();
+            return new ItemBookings(null, BookingModel.builder().id(1L).start(nextStart).build());
+        });
+    }
+}
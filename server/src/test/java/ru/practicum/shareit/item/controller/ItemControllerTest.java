@@ -12,9 +12,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.internal.BookingModel;
+import ru.practicum.shareit.common.ResourceVersions;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.OperationConstraintException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -37,18 +40,21 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
  * Тесты для {@link ItemController}
  */
-@WebMvcTest(controllers = {ItemController.class, ItemConverter.class, ItemModelConverter.class, CommentConverter.class})
+@WebMvcTest(controllers = {ItemController.class, ItemConverter.class, ItemModelConverter.class, CommentConverter.class,
+        ResourceVersions.class})
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class ItemControllerTest {
     private static final String URL = "/items";
@@ -103,6 +109,7 @@ class ItemControllerTest {
         userId = 1L;
         itemModel = ItemModel.builder()
                 .id(1L)
+                .version(2L)
                 .name("thing")
                 .description("description")
                 .available(true)
@@ -192,14 +199,17 @@ class ItemControllerTest {
                 .request(ItemRequest.builder()
                         .id(1L)
                         .build())
+                .version(6L)
                 .build();
-        when(itemService.patch(anyLong(), anyLong(), any())).thenReturn(item);
+        when(itemService.patch(anyLong(), anyLong(), any(), eq(5L))).thenReturn(item);
 
         mockMvc.perform(patch(URL + "/{itemId}", item.getId())
                 .header(HEADER, userId)
+                .header(HttpHeaders.IF_MATCH, "\"5\"")
                 .content(objectMapper.writeValueAsString(updateRequest))
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"6\""))
                 .andExpect(jsonPath("$.id",
                         is(item.getId()), Long.class))
                 .andExpect(jsonPath("$.name", is(item.getName())))
@@ -210,7 +220,7 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.requestId",
                         is(item.getRequest().getId()), Long.class))
                 .andExpect(jsonPath("$.comments", nullValue()));
-        verify(itemService).patch(anyLong(), anyLong(), any());
+        verify(itemService).patch(anyLong(), anyLong(), any(), any());
     }
 
     @Test
@@ -218,14 +228,14 @@ class ItemControllerTest {
     void patch_whenOwnerIsDifferent_thenForbiddenReturned() {
         updateRequest = ItemUpdateRequest.builder()
                 .build();
-        when(itemService.patch(anyLong(), anyLong(), any())).thenThrow(OperationConstraintException.class);
+        when(itemService.patch(anyLong(), anyLong(), any(), any())).thenThrow(OperationConstraintException.class);
 
         mockMvc.perform(patch(URL + "/{itemId}", item.getId())
                         .header(HEADER, userId)
                         .content(objectMapper.writeValueAsString(updateRequest))
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isForbidden());
-        verify(itemService).patch(anyLong(), anyLong(), any());
+        verify(itemService).patch(anyLong(), anyLong(), any(), any());
     }
 
     @Test
@@ -233,14 +243,31 @@ class ItemControllerTest {
     void patch_whenItemOrUserNotFound_thenNotFoundReturned() {
         updateRequest = ItemUpdateRequest.builder()
                 .build();
-        when(itemService.patch(anyLong(), anyLong(), any())).thenThrow(EntityNotFoundException.class);
+        when(itemService.patch(anyLong(), anyLong(), any(), any())).thenThrow(EntityNotFoundException.class);
 
         mockMvc.perform(patch(URL + "/{itemId}", item.getId())
                         .header(HEADER, userId)
                         .content(objectMapper.writeValueAsString(updateRequest))
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
-        verify(itemService).patch(anyLong(), anyLong(), any());
+        verify(itemService).patch(anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void patch_whenVersionOutdated_thenConflictReturned() {
+        updateRequest = ItemUpdateRequest.builder()
+                .build();
+        when(itemService.patch(anyLong(), anyLong(), any(), any()))
+                .thenThrow(new OptimisticLockingFailureException("Вещь изменена другим запросом"));
+
+        mockMvc.perform(patch(URL + "/{itemId}", item.getId())
+                        .header(HEADER, userId)
+                        .header(HttpHeaders.IF_MATCH, "\"5\"")
+                        .content(objectMapper.writeValueAsString(updateRequest))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict());
+        verify(itemService).patch(anyLong(), anyLong(), any(), eq(5L));
     }
 
     @Test
@@ -251,6 +278,7 @@ class ItemControllerTest {
         mockMvc.perform(get(URL + "/{itemId}", item.getId())
                 .header(HEADER, userId))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
                 .andExpect(jsonPath("$.id",
                         is(itemModel.getId()), Long.class))
                 .andExpect(jsonPath("$.name", is(itemModel.getName())))
@@ -415,6 +443,22 @@ class ItemControllerTest {
         verify(itemService).search("text", DEFAULT_PAGE_START, DEFAULT_PAGE_SIZE);
     }
 
+    @Test
+    @SneakyThrows
+    void search_whenETagMatches_thenNotModifiedReturnedWithoutQuery() {
+        String eTag = mockMvc.perform(get(URL + "/search")
+                        .param("text", "text"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(URL + "/search")
+                        .param("text", "text")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        verify(itemService).search("text", DEFAULT_PAGE_START, DEFAULT_PAGE_SIZE);
+    }
+
     @Test
     @SneakyThrows
     void search_whenItemFoundWithPagination_thenItemReturned() {
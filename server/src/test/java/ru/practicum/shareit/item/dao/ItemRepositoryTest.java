@@ -108,6 +108,20 @@ class ItemRepositoryTest {
         assertThat(resultSize, equalTo(items.size()));
     }
 
+    @Test
+    void search_whenMatchedByNameAndDescription_thenNameMatchFirst() {
+        firstItem.setDescription("old thing");
+        itemRepository.save(firstItem);
+        secondItem.setName("Thing");
+        itemRepository.save(secondItem);
+
+        List<Item> items = itemRepository.search("thing", Pageable.unpaged());
+
+        assertThat(items, hasSize(2));
+        assertThat(items.get(0).getId(), equalTo(secondItem.getId()));
+        assertThat(items.get(1).getId(), equalTo(firstItem.getId()));
+    }
+
     @Test
     void findByRequestId() {
         userRepository.save(firstUser);
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Интеграционные тесты для {@link InvertedIndexItemSearchEngine}
+ */
+@AutoConfigureTestDatabase
+@SpringBootTest(properties = "shareit.search.index.enabled=true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class InvertedIndexItemSearchEngineIT {
+    private final ItemService itemService;
+
+    private final UserService userService;
+
+    @Test
+    void search_whenItemCreatedAndPatched_thenIndexUpdatedAfterCommit() {
+        User user = userService.create(User.builder()
+                .name("Jack Sparrow")
+                .email("sparrow@gmail.com")
+                .build());
+        Item item = itemService.create(user.getId(), Item.builder()
+                .name("Компас")
+                .description("Указывает на то, чего хочешь")
+                .available(true)
+                .build());
+
+        List<Item> found = itemService.search("компас", 0, 10);
+
+        assertThat(found, hasSize(1));
+        assertThat(found.get(0).getId(), equalTo(item.getId()));
+
+        itemService.patch(user.getId(), item.getId(), Item.builder().available(false).build(), null);
+
+        assertThat(itemService.search("компас", 0, 10), empty());
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import ru.practicum.shareit.base.AbstractEntity;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Тесты для {@link ItemSearchIndex}
+ */
+class ItemSearchIndexTest {
+    private ItemSearchIndex index;
+
+    private Item drill;
+
+    private Item screwdriver;
+
+    private Item hammer;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex();
+        drill = Item.builder()
+                .id(1L)
+                .name("Дрель")
+                .description("Простая дрель с аккумулятором")
+                .available(true)
+                .request(ItemRequest.builder().id(7L).build())
+                .build();
+        screwdriver = Item.builder()
+                .id(2L)
+                .name("Аккумуляторная отвертка")
+                .description("Отвертка")
+                .available(true)
+                .build();
+        hammer = Item.builder()
+                .id(3L)
+                .name("Молоток")
+                .description("Для гвоздей")
+                .available(false)
+                .build();
+        index.put(drill);
+        index.put(screwdriver);
+        index.put(hammer);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "дрель, 1",
+            "аККум, 2",
+            "ток, 0",
+            "от, 1",
+            "nothing, 0",
+    })
+    void search(String text, Integer resultSize) {
+        assertThat(index.search(text, 0, 10), hasSize(resultSize));
+    }
+
+    @Test
+    void search_whenMatchedByNameAndDescription_thenNameMatchFirst() {
+        List<Item> items = index.search("аккумулятор", 0, 10);
+
+        assertThat(ids(items), contains(screwdriver.getId(), drill.getId()));
+        assertThat(items.get(1).getName(), equalTo(drill.getName()));
+        assertThat(items.get(1).getRequest().getId(), equalTo(drill.getRequest().getId()));
+    }
+
+    @Test
+    void search_whenPaged_thenPageReturned() {
+        assertThat(ids(index.search("аккумулятор", 1, 1)), contains(drill.getId()));
+    }
+
+    @Test
+    void put_whenAvailabilityChanged_thenSearchResultUpdated() {
+        hammer.setAvailable(true);
+        index.put(hammer);
+        drill.setAvailable(false);
+        index.put(drill);
+
+        assertThat(ids(index.search("молоток", 0, 10)), contains(hammer.getId()));
+        assertThat(index.search("дрель", 0, 10), empty());
+    }
+
+    @Test
+    void put_whenTextChanged_thenOldTermsRemoved() {
+        drill.setName("Перфоратор");
+        drill.setDescription("Мощный");
+        index.put(drill);
+
+        assertThat(index.search("дрель", 0, 10), empty());
+        assertThat(ids(index.search("перфоратор", 0, 10)), contains(drill.getId()));
+        assertThat(index.size(), equalTo(3));
+    }
+
+    private List<Long> ids(List<Item> items) {
+        return items.stream().map(AbstractEntity::getId).collect(Collectors.toList());
+    }
+}
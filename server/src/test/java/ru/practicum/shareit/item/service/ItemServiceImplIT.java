@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.EntityNotFoundException;
@@ -102,4 +103,17 @@ class ItemServiceImplIT {
 
         assertThrows(EntityNotFoundException.class, () -> itemService.create(userId, item));
     }
-}
\ No newline at end of file
+
+    @Test
+    void patch_whenVersionMatches_thenVersionIncrementedAndOutdatedVersionRejected() {
+        userService.create(user);
+        Item savedItem = itemService.create(user.getId(), item);
+
+        Item patchedItem = itemService.patch(user.getId(), savedItem.getId(), Item.builder().name("new thing").build(),
+                savedItem.getVersion());
+
+        assertThat(patchedItem.getVersion(), equalTo(savedItem.getVersion() + 1));
+        assertThrows(OptimisticLockingFailureException.class, () -> itemService.patch(user.getId(),
+                savedItem.getId(), Item.builder().name("other thing").build(), savedItem.getVersion()));
+    }
+}
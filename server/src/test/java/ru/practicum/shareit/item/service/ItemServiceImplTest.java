@@ -1,5 +1,7 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
@@ -14,25 +16,34 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.dao.BookingRepository;
 import ru.practicum.shareit.booking.internal.BookingModel;
+import ru.practicum.shareit.booking.internal.BookingShort;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.OperationConstraintException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.cache.ItemCache;
 import ru.practicum.shareit.item.dao.CommentRepository;
 import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
 import ru.practicum.shareit.item.internal.CommentModel;
 import ru.practicum.shareit.item.internal.ItemModel;
 import ru.practicum.shareit.item.mapper.ItemModelConverter;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.logging.AuditLog;
 import ru.practicum.shareit.request.dao.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.cache.UserPresenceCache;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
@@ -40,12 +51,15 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyLong;
-import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -64,6 +78,9 @@ class ItemServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserPresenceCache userPresenceCache;
+
     @Mock
     private ItemRequestRepository itemRequestRepository;
 
@@ -76,6 +93,24 @@ class ItemServiceImplTest {
     @Mock
     private ItemModelConverter itemModelConverter;
 
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+
+    @Spy
+    private ItemCache itemCache = new ItemCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AuditLog auditLog;
+
+    @Mock
+    private BookingShort lastBookingShort;
+
+    @Mock
+    private BookingShort nextBookingShort;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -186,7 +221,6 @@ class ItemServiceImplTest {
 
     @Test
     void create_whenItemIsValidWithoutRequest_thenItemSaved() {
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRepository.save(firstItem)).thenReturn(firstItem);
 
         Item actual = itemService.create(userId, firstItem);
@@ -199,12 +233,12 @@ class ItemServiceImplTest {
         assertThat(actual.getRequest(), nullValue());
 
         verify(itemRepository).save(firstItem);
+        verify(eventPublisher).publishEvent(any(ItemChangedEvent.class));
     }
 
     @Test
     void create_whenItemIsValidWithRequest_thenItemSaved() {
         firstItem.setRequest(ItemRequest.builder().id(itemRequestId).build());
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRequestRepository.existsById(itemRequestId)).thenReturn(true);
         when(itemRepository.save(firstItem)).thenReturn(firstItem);
 
@@ -222,7 +256,8 @@ class ItemServiceImplTest {
 
     @Test
     void create_whenUserNotFound_thenEntityNotFoundExceptionThrown() {
-        when(userRepository.existsById(userId)).thenReturn(false);
+        doThrow(new EntityNotFoundException("Не найден пользователь по id = " + userId))
+                .when(userPresenceCache).checkExists(userId);
 
         assertThrows(EntityNotFoundException.class, () -> itemService.create(userId, firstItem));
 
@@ -232,7 +267,6 @@ class ItemServiceImplTest {
     @Test
     void create_whenItemRequestNotFound_thenEntityNotFoundExceptionThrown() {
         firstItem.setRequest(ItemRequest.builder().id(itemRequestId).build());
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRequestRepository.existsById(itemRequestId)).thenReturn(false);
 
         assertThrows(EntityNotFoundException.class, () -> itemService.create(userId, firstItem));
@@ -242,14 +276,13 @@ class ItemServiceImplTest {
 
     @Test
     void patch_whenItemIsValid_thenItemUpdated() {
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(firstItem));
         secondItem.setId(itemId);
-        when(itemRepository.save(secondItem)).thenReturn(secondItem);
+        when(itemRepository.saveAndFlush(secondItem)).thenReturn(secondItem);
 
-        Item actual = itemService.patch(userId, itemId, secondItem);
+        Item actual = itemService.patch(userId, itemId, secondItem, null);
 
-        verify(itemRepository).save(itemArgumentCaptor.capture());
+        verify(itemRepository).saveAndFlush(itemArgumentCaptor.capture());
 
         Item updatedItem = itemArgumentCaptor.getValue();
         assertThat(actual.getName(), equalTo(updatedItem.getName()));
@@ -259,44 +292,56 @@ class ItemServiceImplTest {
 
     @Test
     void patch_whenUserNotFound_thenEntityNotFoundExceptionThrown() {
-        when(userRepository.existsById(userId)).thenReturn(false);
+        doThrow(new EntityNotFoundException("Не найден пользователь по id = " + userId))
+                .when(userPresenceCache).checkExists(userId);
 
-        assertThrows(EntityNotFoundException.class, () -> itemService.patch(userId, itemId, secondItem));
+        assertThrows(EntityNotFoundException.class, () -> itemService.patch(userId, itemId, secondItem, null));
 
-        verify(itemRepository, never()).save(itemArgumentCaptor.capture());
+        verify(itemRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void patch_whenItemNotFound_thenEntityNotFoundExceptionThrown() {
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
 
-        assertThrows(EntityNotFoundException.class, () -> itemService.patch(userId, itemId, secondItem));
+        assertThrows(EntityNotFoundException.class, () -> itemService.patch(userId, itemId, secondItem, null));
 
-        verify(itemRepository, never()).save(itemArgumentCaptor.capture());
+        verify(itemRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void patch_whenNotOwner_thenOperationConstraintExceptionThrown() {
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(firstItem));
         secondItem.setId(itemId);
         secondItem.getOwner().setId(2L);
 
-        assertThrows(OperationConstraintException.class, () -> itemService.patch(userId, itemId, secondItem));
+        assertThrows(OperationConstraintException.class, () -> itemService.patch(userId, itemId, secondItem, null));
+
+        verify(itemRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void patch_whenVersionOutdated_thenOptimisticLockingFailureExceptionThrown() {
+        firstItem.setVersion(2L);
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(firstItem));
+        secondItem.setId(itemId);
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> itemService.patch(userId, itemId, secondItem, 1L));
 
-        verify(itemRepository, never()).save(itemArgumentCaptor.capture());
+        verify(itemRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void getById_whenItemFound_thenItemReturned() {
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(firstItem));
-        when(bookingRepository.findFirstByItemIdAndStartLessThanEqualAndStatusIsOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(lastBooking);
-        when(bookingRepository.findFirstByItemIdAndStartGreaterThanAndStatusIsOrderByStartAsc(anyLong(), any(), any()))
-                .thenReturn(nextBooking);
+        when(bookingRepository.findAllLastAndNextBookings(eq(List.of(itemId)), any(), eq(BookingStatus.APPROVED)))
+                .thenReturn(Map.of(false, Map.of(itemId, lastBookingShort), true, Map.of(itemId, nextBookingShort)));
         when(commentRepository.findByItemId(itemId)).thenReturn(List.of(comment));
-        when(itemModelConverter.convert(firstItem, lastBooking, nextBooking, List.of(comment)))
+        when(itemModelConverter.convert(firstItem, List.of(comment))).thenReturn(itemModel);
+        when(itemModelConverter.convert(lastBookingShort)).thenReturn(itemModel.getLastBooking());
+        when(itemModelConverter.convert(nextBookingShort)).thenReturn(itemModel.getNextBooking());
+        when(itemModelConverter.convert(itemModel, itemModel.getLastBooking(), itemModel.getNextBooking()))
                 .thenReturn(itemModel);
         ItemModel actual = itemService.getById(userId, itemId);
         assertThat(actual.getId(), equalTo(firstItem.getId()));
@@ -318,6 +363,31 @@ class ItemServiceImplTest {
         assertThat(actual.getComments().get(0).getText(), equalTo(comment.getText()));
     }
 
+    @Test
+    void getById_whenNotOwner_thenBookingsNotLoaded() {
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(firstItem));
+        when(commentRepository.findByItemId(itemId)).thenReturn(List.of(comment));
+        when(itemModelConverter.convert(firstItem, List.of(comment))).thenReturn(itemModel);
+
+        ItemModel actual = itemService.getById(booker.getId(), itemId);
+
+        assertThat(actual, sameInstance(itemModel));
+        verify(bookingRepository, never()).findAllLastAndNextBookings(anyList(), any(), any());
+    }
+
+    @Test
+    void getById_whenCalledAgain_thenServedFromCache() {
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(firstItem));
+        when(commentRepository.findByItemId(itemId)).thenReturn(List.of(comment));
+        when(itemModelConverter.convert(firstItem, List.of(comment))).thenReturn(itemModel);
+
+        itemService.getById(booker.getId(), itemId);
+        itemService.getById(booker.getId(), itemId);
+
+        verify(itemRepository, times(1)).findById(itemId);
+        verify(commentRepository, times(1)).findByItemId(itemId);
+    }
+
     @Test
     void getById_whenItemNotFound_thenEntityNotFoundExceptionThrown() {
         when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
@@ -327,18 +397,15 @@ class ItemServiceImplTest {
 
     @Test
     void getByUserId_whenItemFound_thenItemReturned() {
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRepository.findByOwnerIdOrderByIdAsc(userId, pageable))
                 .thenReturn(List.of(firstItem));
-        when(bookingRepository.findAllLastBookings(anyList(), any(), any()))
-                .thenReturn(Map.of(itemId, lastBooking));
-        when(bookingRepository.findAllNextBookings(anyList(), any(), any()))
-                .thenReturn(Map.of(itemId, nextBooking));
+        when(bookingRepository.findAllLastAndNextBookings(anyList(), any(), any()))
+                .thenReturn(Map.of(false, Map.of(itemId, lastBookingShort), true, Map.of(itemId, nextBookingShort)));
         when(commentRepository.findByItemIds(List.of(itemId))).thenReturn(Map.of(itemId, List.of(comment)));
 
-        when(itemModelConverter.convert(lastBooking))
+        when(itemModelConverter.convert(lastBookingShort))
                 .thenReturn(itemModel.getLastBooking());
-        when(itemModelConverter.convert(nextBooking))
+        when(itemModelConverter.convert(nextBookingShort))
                 .thenReturn(itemModel.getNextBooking());
         when(itemModelConverter.convertComments(List.of(comment)))
                 .thenReturn(itemModel.getComments());
@@ -365,7 +432,6 @@ class ItemServiceImplTest {
 
     @Test
     void getByUserId_whenItemNotFound_thenEmptyListReturned() {
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRepository.findByOwnerIdOrderByIdAsc(userId, pageable))
                 .thenReturn(Collections.emptyList());
         List<ItemModel> items = itemService.getByUserId(userId, DEFAULT_PAGE_START, DEFAULT_PAGE_SIZE);
@@ -382,7 +448,7 @@ class ItemServiceImplTest {
 
     @Test
     void search_whenItemFound_thenItemReturned() {
-        when(itemRepository.search(anyString(), any())).thenReturn(List.of(firstItem));
+        when(itemSearchEngine.search("th", DEFAULT_PAGE_START, DEFAULT_PAGE_SIZE)).thenReturn(List.of(firstItem));
 
         List<Item> items = itemService.search("th", DEFAULT_PAGE_START, DEFAULT_PAGE_SIZE);
 
@@ -399,8 +465,9 @@ class ItemServiceImplTest {
     void createComment_whenCommentIsValid_thenCommentSaved() {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(itemRepository.existsById(itemId)).thenReturn(true);
-        when(bookingRepository.findFirstByBookerIdAndItemIdAndEndLessThan(anyLong(), anyLong(), any()))
-                .thenReturn(Booking.builder().build());
+        when(bookingRepository.existsByBookerIdAndItemIdAndEndLessThan(anyLong(), anyLong(), any()))
+                .thenReturn(true);
+        when(itemRepository.getReferenceById(itemId)).thenReturn(Item.builder().id(itemId).build());
         when(commentRepository.save(comment)).thenReturn(comment);
 
         Comment actual = itemService.createComment(userId, itemId, comment);
@@ -408,6 +475,7 @@ class ItemServiceImplTest {
         assertThat(comment.getText(), equalTo(actual.getText()));
         assertThat(comment.getAuthor().getName(), equalTo(actual.getAuthor().getName()));
         assertThat(comment.getCreationDate(), equalTo(actual.getCreationDate()));
+        assertThat(actual.getItem().getId(), equalTo(itemId));
 
         verify(commentRepository).save(comment);
     }
@@ -435,8 +503,8 @@ class ItemServiceImplTest {
     void createComment_whenItemNotBooked_thenValidationExceptionThrown() {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(itemRepository.existsById(itemId)).thenReturn(true);
-        when(bookingRepository.findFirstByBookerIdAndItemIdAndEndLessThan(anyLong(), anyLong(), any()))
-                .thenReturn(null);
+        when(bookingRepository.existsByBookerIdAndItemIdAndEndLessThan(anyLong(), anyLong(), any()))
+                .thenReturn(false);
         assertThrows(ValidationException.class, () -> itemService.createComment(userId, itemId, comment));
 
         verify(commentRepository, never()).save(comment);
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.logging;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тесты для {@link AuditLog}
+ */
+class AuditLogTest {
+    private final Logger logger = mock(Logger.class);
+
+    @Test
+    void info_whenEveryRequestSampled_thenMessageWritten() {
+        when(logger.isInfoEnabled()).thenReturn(true);
+        AuditLog auditLog = new AuditLog(logger, 1.0);
+
+        auditLog.info("Получение вещи по id = {}", 1L);
+
+        assertThat(auditLog.isEnabled(), equalTo(true));
+        verify(logger).info("Получение вещи по id = {}", (Object) 1L);
+    }
+
+    @Test
+    void info_whenNoRequestSampled_thenMessageSkipped() {
+        when(logger.isInfoEnabled()).thenReturn(true);
+        AuditLog auditLog = new AuditLog(logger, 0.0);
+
+        auditLog.info("Получение вещи по id = {}", 1L);
+
+        assertThat(auditLog.isEnabled(), equalTo(false));
+        verify(logger, never()).info(anyString(), any(Object.class));
+    }
+
+    @Test
+    void info_whenLevelDisabled_thenMessageSkipped() {
+        AuditLog auditLog = new AuditLog(logger, 1.0);
+
+        auditLog.info("Получение вещи по id = {}", 1L);
+
+        verify(logger, never()).info(anyString(), any(Object.class));
+    }
+}
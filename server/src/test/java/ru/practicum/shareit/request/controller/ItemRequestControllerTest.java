@@ -14,12 +14,14 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.common.ResourceVersions;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.request.dto.ItemRequestCreateRequest;
 import ru.practicum.shareit.request.internal.ItemRequestModel;
 import ru.practicum.shareit.request.mapper.ItemRequestConverter;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.cache.UserPresenceCache;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -35,7 +37,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 /**
  * Тесты для {@link ItemRequestController}
  */
-@WebMvcTest(controllers = {ItemRequestController.class, ItemRequestConverter.class})
+@WebMvcTest(controllers = {ItemRequestController.class, ItemRequestConverter.class, ResourceVersions.class})
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class ItemRequestControllerTest {
     private static final String URL = "/requests";
@@ -49,6 +51,9 @@ class ItemRequestControllerTest {
     @MockBean
     private ItemRequestService itemRequestService;
 
+    @MockBean
+    private UserPresenceCache userPresenceCache;
+
     private final ObjectMapper objectMapper;
 
     private final MockMvc mockMvc;
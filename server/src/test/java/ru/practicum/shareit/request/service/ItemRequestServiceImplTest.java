@@ -11,21 +11,26 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.logging.AuditLog;
 import ru.practicum.shareit.request.dao.ItemRequestRepository;
+import ru.practicum.shareit.request.event.ItemRequestCreatedEvent;
 import ru.practicum.shareit.request.internal.ItemRequestModel;
 import ru.practicum.shareit.request.mapper.ItemRequestConverter;
 import ru.practicum.shareit.request.model.ItemRequest;
-import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.cache.UserPresenceCache;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -43,7 +48,7 @@ class ItemRequestServiceImplTest {
     private ItemRequestRepository itemRequestRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private UserPresenceCache userPresenceCache;
 
     @Mock
     private ItemRepository itemRepository;
@@ -51,6 +56,12 @@ class ItemRequestServiceImplTest {
     @Mock
     private ItemRequestConverter itemRequestConverter;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AuditLog auditLog;
+
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
 
@@ -107,7 +118,6 @@ class ItemRequestServiceImplTest {
     @Test
     void create_whenItemRequestIsValid_thenItemRequestSaved() {
         when(itemRequestRepository.save(firstRequest)).thenReturn(firstRequest);
-        when(userRepository.existsById(userId)).thenReturn(true);
 
         ItemRequest actual = itemRequestService.create(userId, firstRequest);
 
@@ -116,11 +126,13 @@ class ItemRequestServiceImplTest {
         assertThat(firstRequest.getCreationDate(), equalTo(actual.getCreationDate()));
 
         verify(itemRequestRepository).save(firstRequest);
+        verify(eventPublisher).publishEvent(any(ItemRequestCreatedEvent.class));
     }
 
     @Test
     void create_whenUserNotFound_thenEntityNotFoundExceptionThrown() {
-        when(userRepository.existsById(userId)).thenReturn(false);
+        doThrow(new EntityNotFoundException("Не найден пользователь по id = " + userId))
+                .when(userPresenceCache).checkExists(userId);
 
         assertThrows(EntityNotFoundException.class, () -> itemRequestService.create(userId, firstRequest));
 
@@ -131,7 +143,6 @@ class ItemRequestServiceImplTest {
     void getByRequestorId_whenItemRequestFound_thenItemRequestReturned() {
         when(itemRequestRepository.findByRequestorIdOrderByCreationDateDesc(userId))
                 .thenReturn(List.of(firstRequest, secondRequest));
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRepository.findAllItemsByRequestIds(List.of(firstRequest.getId(), secondRequest.getId()))).thenReturn(Collections.emptyMap());
 
         List<ItemRequestModel> requests = itemRequestService.getByRequestorId(userId);
@@ -150,7 +161,6 @@ class ItemRequestServiceImplTest {
     void getByRequestorId_whenItemRequestNotFound_thenEmptyListReturned() {
         when(itemRequestRepository.findByRequestorIdOrderByCreationDateDesc(userId))
                 .thenReturn(Collections.emptyList());
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRepository.findAllItemsByRequestIds(Collections.emptyList()))
                 .thenReturn(Collections.emptyMap());
 
@@ -162,7 +172,8 @@ class ItemRequestServiceImplTest {
 
     @Test
     void getByRequestorId_whenUserNotFound_thenEntityNotFoundExceptionThrown() {
-        when(userRepository.existsById(userId)).thenReturn(false);
+        doThrow(new EntityNotFoundException("Не найден пользователь по id = " + userId))
+                .when(userPresenceCache).checkExists(userId);
 
         assertThrows(EntityNotFoundException.class, () -> itemRequestService.getByRequestorId(userId));
 
@@ -173,7 +184,6 @@ class ItemRequestServiceImplTest {
     void getByRequestorId_whenItemRequestIsValidWithItem_thenItemRequestReturned() {
         when(itemRequestRepository.findByRequestorIdOrderByCreationDateDesc(userId))
                 .thenReturn(List.of(firstRequest));
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRepository.findAllItemsByRequestIds(List.of(firstRequest.getId())))
                 .thenReturn(Map.of(firstRequest.getId(), List.of(item)));
         when(itemRequestConverter.convertItems(List.of(item))).thenReturn(List.of(itemModel));
@@ -197,7 +207,6 @@ class ItemRequestServiceImplTest {
     void getByUserId_whenItemRequestFound_thenItemRequestReturned() {
         when(itemRequestRepository.findByRequestorIdNot(userId, pageable))
                 .thenReturn(List.of(firstRequest, secondRequest));
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRepository.findAllItemsByRequestIds(List.of(firstRequest.getId(), secondRequest.getId())))
                 .thenReturn(Collections.emptyMap());
 
@@ -217,7 +226,6 @@ class ItemRequestServiceImplTest {
     void getByUserId_whenItemRequestNotFound_thenEmptyListReturned() {
         when(itemRequestRepository.findByRequestorIdNot(userId, pageable))
                 .thenReturn(Collections.emptyList());
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRepository.findAllItemsByRequestIds(Collections.emptyList()))
                 .thenReturn(Collections.emptyMap());
 
@@ -229,7 +237,8 @@ class ItemRequestServiceImplTest {
 
     @Test
     void getByUserId_whenUserNotFound_thenEntityNotFoundExceptionThrown() {
-        when(userRepository.existsById(userId)).thenReturn(false);
+        doThrow(new EntityNotFoundException("Не найден пользователь по id = " + userId))
+                .when(userPresenceCache).checkExists(userId);
 
         assertThrows(EntityNotFoundException.class, () -> itemRequestService.getByUserId(userId, DEFAULT_PAGE_START,
                 DEFAULT_PAGE_SIZE));
@@ -241,7 +250,6 @@ class ItemRequestServiceImplTest {
     void getByUserId_whenItemRequestIsValidWithItem_thenItemRequestReturned() {
         when(itemRequestRepository.findByRequestorIdNot(userId, pageable))
                 .thenReturn(List.of(firstRequest));
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRepository.findAllItemsByRequestIds(List.of(firstRequest.getId())))
                 .thenReturn(Map.of(firstRequest.getId(), List.of(item)));
         when(itemRequestConverter.convertItems(List.of(item))).thenReturn(List.of(itemModel));
@@ -265,7 +273,6 @@ class ItemRequestServiceImplTest {
     void getById_whenItemRequestFound_thenItemRequestReturned() {
         when(itemRequestRepository.findById(firstRequest.getId()))
                 .thenReturn(Optional.of(firstRequest));
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRepository.findByRequestId(firstRequest.getId())).thenReturn(Collections.emptyList());
         when(itemRequestConverter.convert(firstRequest, Collections.emptyList())).thenReturn(itemRequestModel);
 
@@ -282,7 +289,6 @@ class ItemRequestServiceImplTest {
     void getById_whenItemRequestNotFound_thenEntityNotFoundExceptionThrown() {
         when(itemRequestRepository.findById(firstRequest.getId()))
                 .thenThrow(EntityNotFoundException.class);
-        when(userRepository.existsById(userId)).thenReturn(true);
 
         assertThrows(EntityNotFoundException.class, () -> itemRequestService.getById(userId, firstRequest.getId()));
 
@@ -291,7 +297,8 @@ class ItemRequestServiceImplTest {
 
     @Test
     void getById_whenUserNotFound_thenEntityNotFoundExceptionThrown() {
-        when(userRepository.existsById(userId)).thenReturn(false);
+        doThrow(new EntityNotFoundException("Не найден пользователь по id = " + userId))
+                .when(userPresenceCache).checkExists(userId);
 
         assertThrows(EntityNotFoundException.class, () -> itemRequestService.getByRequestorId(userId));
 
@@ -302,7 +309,6 @@ class ItemRequestServiceImplTest {
     void getById_whenItemRequestIsValidWithItem_thenItemRequestReturned() {
         when(itemRequestRepository.findById(firstRequest.getId()))
                 .thenReturn(Optional.of(firstRequest));
-        when(userRepository.existsById(userId)).thenReturn(true);
         when(itemRepository.findByRequestId(firstRequest.getId())).thenReturn(List.of(item));
         itemRequestModel.setItems(List.of(itemModel));
         when(itemRequestConverter.convert(firstRequest, List.of(item))).thenReturn(itemRequestModel);
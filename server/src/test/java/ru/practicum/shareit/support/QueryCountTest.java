@@ -0,0 +1,23 @@
+package ru.practicum.shareit.support;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Контекст для тестов числа SQL-запросов на HTTP-запрос: встроенная база, {@code MockMvc} и
+ * {@link SqlStatementRecorder}, подключённый к Hibernate. Тесты не транзакционные, чтобы запросы
+ * выполнялись так же, как при обычном вызове контроллера.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "ru.practicum.shareit.support.SqlStatementRecorder")
+public @interface QueryCountTest {
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.support;
+
+import java.util.List;
+import org.junit.jupiter.api.function.Executable;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Проверки числа SQL-запросов, выполненных Hibernate за время действия.
+ */
+public final class QueryCounts {
+    private QueryCounts() {
+    }
+
+    public static List<String> record(Executable action) throws Throwable {
+        SqlStatementRecorder.start();
+        try {
+            action.execute();
+        } catch (Throwable throwable) {
+            SqlStatementRecorder.stop();
+            throw throwable;
+        }
+        return SqlStatementRecorder.stop();
+    }
+
+    public static void assertQueryCount(int expected, Executable action) throws Throwable {
+        List<String> statements = record(action);
+
+        assertThat("Выполненные запросы:\n" + String.join("\n", statements), statements, hasSize(expected));
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Перехватчик SQL-запросов Hibernate для тестов: пока запись включена, запоминает текст каждого
+ * подготовленного запроса. Выборка значений последовательностей не учитывается, так как её частота
+ * зависит от того, сколько идентификаторов уже выдано из текущего блока.
+ */
+public class SqlStatementRecorder implements StatementInspector {
+    private static final Predicate<String> SEQUENCE_CALL = sql -> {
+        String lower = sql.toLowerCase(Locale.ROOT);
+        return lower.contains("next value for") || lower.contains("nextval");
+    };
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+
+    private static volatile boolean recording;
+
+    @Override
+    public String inspect(String sql) {
+        if (recording && !SEQUENCE_CALL.test(sql)) {
+            synchronized (STATEMENTS) {
+                STATEMENTS.add(sql);
+            }
+        }
+        return sql;
+    }
+
+    public static void start() {
+        synchronized (STATEMENTS) {
+            STATEMENTS.clear();
+        }
+        recording = true;
+    }
+
+    public static List<String> stop() {
+        recording = false;
+        synchronized (STATEMENTS) {
+            return STATEMENTS.stream().collect(Collectors.toUnmodifiableList());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.thread;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Тесты для {@link JdbcConcurrencyFilter}
+ */
+class JdbcConcurrencyFilterTest {
+    private HikariDataSource dataSource;
+
+    private JdbcConcurrencyFilter filter;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(1);
+        filter = new JdbcConcurrencyFilter(dataSource, new ObjectMapper(), Duration.ofMillis(100));
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        dataSource.close();
+    }
+
+    @Test
+    @SneakyThrows
+    void doFilter_whenPermitAvailable_thenRequestPassedAndPermitReleased() {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/users"), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest(), notNullValue());
+        assertThat(filter.availablePermits(), equalTo(1));
+    }
+
+    @Test
+    @SneakyThrows
+    void doFilter_whenRequestAsync_thenPermitHeldUntilCompleted() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings/export");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> req.startAsync());
+
+        assertThat(filter.availablePermits(), equalTo(0));
+        request.getAsyncContext().complete();
+        assertThat(filter.availablePermits(), equalTo(1));
+    }
+
+    @Test
+    @SneakyThrows
+    void doFilter_whenActuatorRequestedWhilePoolBusy_thenRequestPassed() {
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> busy = executor.submit(() -> {
+            filter.doFilter(new MockHttpServletRequest("GET", "/items"), new MockHttpServletResponse(),
+                    (request, response) -> {
+                        inside.countDown();
+                        awaitQuietly(release);
+                    });
+            return null;
+        });
+        inside.await(5, TimeUnit.SECONDS);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(), chain);
+        release.countDown();
+        busy.get(5, TimeUnit.SECONDS);
+
+        assertThat(chain.getRequest(), notNullValue());
+        assertThat(filter.availablePermits(), equalTo(1));
+    }
+
+    @Test
+    void constructor_whenPoolSizeNotSet_thenHikariDefaultUsed() {
+        try (HikariDataSource defaultDataSource = new HikariDataSource()) {
+            filter = new JdbcConcurrencyFilter(defaultDataSource, new ObjectMapper(), Duration.ofMillis(100));
+
+            assertThat(filter.availablePermits(), equalTo(10));
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void doFilter_whenPoolBusyLongerThanTimeout_thenServiceUnavailableReturned() {
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> busy = executor.submit(() -> {
+            filter.doFilter(new MockHttpServletRequest("GET", "/items"), new MockHttpServletResponse(),
+                    (request, response) -> {
+                        inside.countDown();
+                        awaitQuietly(release);
+                    });
+            return null;
+        });
+        inside.await(5, TimeUnit.SECONDS);
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/users"), response, chain);
+        release.countDown();
+        busy.get(5, TimeUnit.SECONDS);
+
+        assertThat(response.getStatus(), equalTo(HttpStatus.SERVICE_UNAVAILABLE.value()));
+        assertThat(response.getContentAsString(), containsString("error"));
+        assertThat(chain.getRequest(), equalTo(null));
+        assertThat(filter.availablePermits(), equalTo(1));
+    }
+
+    @SneakyThrows
+    private static void awaitQuietly(CountDownLatch latch) {
+        latch.await(5, TimeUnit.SECONDS);
+    }
+}
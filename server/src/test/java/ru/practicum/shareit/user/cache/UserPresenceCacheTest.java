@@ -0,0 +1,129 @@
+package ru.practicum.shareit.user.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.event.UserCreatedEvent;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тесты для {@link UserPresenceCache}
+ */
+@ExtendWith(MockitoExtension.class)
+class UserPresenceCacheTest {
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserPresenceCache userPresenceCache;
+
+    @BeforeEach
+    void setUp() {
+        userPresenceCache = new UserPresenceCache(userRepository, new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(1), 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void checkExists_whenUserExists_thenRepositoryQueriedOnce() {
+        when(userRepository.existsById(USER_ID)).thenReturn(true);
+
+        userPresenceCache.checkExists(USER_ID);
+        userPresenceCache.checkExists(USER_ID);
+
+        verify(userRepository, times(1)).existsById(USER_ID);
+    }
+
+    @Test
+    void checkExists_whenUserNotFound_thenAbsenceCached() {
+        when(userRepository.existsById(USER_ID)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> userPresenceCache.checkExists(USER_ID));
+        assertThrows(EntityNotFoundException.class, () -> userPresenceCache.checkExists(USER_ID));
+
+        verify(userRepository, times(1)).existsById(USER_ID);
+    }
+
+    @Test
+    void checkExists_whenUserIdIsNull_thenNothingDone() {
+        userPresenceCache.checkExists(null);
+
+        verify(userRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void onUserCreated_whenAbsenceCached_thenUserFoundWithoutQuery() {
+        when(userRepository.existsById(USER_ID)).thenReturn(false);
+        assertThat(userPresenceCache.exists(USER_ID), equalTo(false));
+
+        userPresenceCache.onUserCreated(new UserCreatedEvent(USER_ID));
+
+        assertThat(userPresenceCache.exists(USER_ID), equalTo(true));
+        verify(userRepository, times(1)).existsById(USER_ID);
+    }
+
+    @Test
+    void onUserDeleted_whenUserCreated_thenUserNotFoundWithoutQuery() {
+        userPresenceCache.onUserCreated(new UserCreatedEvent(USER_ID));
+
+        userPresenceCache.onUserDeleted(new UserDeletedEvent(USER_ID));
+
+        assertThrows(EntityNotFoundException.class, () -> userPresenceCache.checkExists(USER_ID));
+        verify(userRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void exists_whenUserDeletedBeforeReadCommitted_thenPresenceNotCached() {
+        when(userRepository.existsById(USER_ID)).thenReturn(true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThat(userPresenceCache.exists(USER_ID), equalTo(true));
+            userPresenceCache.onUserDeleted(new UserDeletedEvent(USER_ID));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(userPresenceCache.exists(USER_ID), equalTo(false));
+    }
+
+    @Test
+    void exists_whenPresenceExpired_thenRepositoryQueriedAgain() {
+        userPresenceCache = new UserPresenceCache(userRepository, new SimpleMeterRegistry(), 100,
+                Duration.ZERO, 100, Duration.ofMinutes(1));
+        userPresenceCache.onUserCreated(new UserCreatedEvent(USER_ID));
+        when(userRepository.existsById(USER_ID)).thenReturn(false);
+
+        assertThat(userPresenceCache.exists(USER_ID), equalTo(false));
+        verify(userRepository).existsById(USER_ID);
+    }
+
+    @Test
+    void exists_whenUserIdOutsideIntRange_thenPresenceCached() {
+        Long userId = Integer.MAX_VALUE + 1L;
+        when(userRepository.existsById(userId)).thenReturn(true);
+
+        assertThat(userPresenceCache.exists(userId), equalTo(true));
+        assertThat(userPresenceCache.exists(userId), equalTo(true));
+
+        verify(userRepository, times(1)).existsById(userId);
+    }
+}
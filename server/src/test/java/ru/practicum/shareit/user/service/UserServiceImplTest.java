@@ -11,10 +11,15 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import ru.practicum.shareit.exception.EntityAlreadyExistsException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.logging.AuditLog;
 import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.event.UserChangedEvent;
+import ru.practicum.shareit.user.event.UserCreatedEvent;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
 import ru.practicum.shareit.user.model.User;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -34,6 +39,12 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AuditLog auditLog;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -72,6 +83,7 @@ class UserServiceImplTest {
         assertThat(firstUser.getEmail(), equalTo(actual.getEmail()));
 
         verify(userRepository).save(firstUser);
+        verify(eventPublisher).publishEvent(any(UserCreatedEvent.class));
     }
 
     @Test
@@ -81,6 +93,7 @@ class UserServiceImplTest {
         assertThrows(DataIntegrityViolationException.class, () -> userService.create(firstUser));
 
         verify(userRepository).save(firstUser);
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -97,6 +110,7 @@ class UserServiceImplTest {
         assertThat(actual.getId(), equalTo(updatedUser.getId()));
         assertThat(actual.getName(), equalTo(updatedUser.getName()));
         assertThat(actual.getEmail(), equalTo(updatedUser.getEmail()));
+        verify(eventPublisher).publishEvent(any(UserChangedEvent.class));
     }
 
     @Test
@@ -162,17 +176,19 @@ class UserServiceImplTest {
 
     @Test
     void delete_whenUserFound_thenUserDeleted() {
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(firstUser));
         userService.delete(userId);
 
-        verify(userRepository).deleteById(1L);
+        verify(userRepository).delete(firstUser);
+        verify(eventPublisher).publishEvent(any(UserDeletedEvent.class));
     }
 
     @Test
     void delete_whenUserNotFound_thenNothingDone() {
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userRepository.findById(userId)).thenReturn(Optional.empty());
         userService.delete(userId);
 
-        verify(userRepository, never()).deleteById(1L);
+        verify(userRepository, never()).delete(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 }
\ No newline at end of file